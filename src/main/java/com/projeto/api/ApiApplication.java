@@ -1,9 +1,12 @@
 package com.projeto.api;
 
+import com.projeto.api.configs.ApplicationProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties(ApplicationProperties.class)
 public class ApiApplication {
 
 	public static void main(String[] args) {
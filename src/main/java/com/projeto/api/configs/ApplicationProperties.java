@@ -0,0 +1,284 @@
+package com.projeto.api.configs;
+
+import com.projeto.api.service.dto.ModoImportacao;
+import com.projeto.api.service.dto.ModoTotal;
+import com.projeto.api.service.dto.MotorImportacao;
+import com.projeto.api.service.dto.ParserImportacao;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Propriedades específicas da aplicação, configuradas no {@code application.yml} sob o prefixo {@code application}.
+ */
+@ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
+@Getter
+@Setter
+public class ApplicationProperties {
+
+    private final Importacao importacao = new Importacao();
+
+    private final Listagem listagem = new Listagem();
+
+    private final Replica replica = new Replica();
+
+    private final Cache cache = new Cache();
+
+    private final IndiceValorPago indiceValorPago = new IndiceValorPago();
+
+    private final CacheTotalPago cacheTotalPago = new CacheTotalPago();
+
+    private final CadastroLote cadastroLote = new CadastroLote();
+
+    @Getter
+    @Setter
+    public static class Importacao {
+        /**
+         * Modo usado pelo {@code POST /api/v1/conta/import} quando o parametro {@code modo} não é informado.
+         */
+        private ModoImportacao modo = ModoImportacao.MEMORIA;
+
+        /**
+         * Tamanho maximo do arquivo no modo {@code MEMORIA}, que converte o arquivo inteiro em memória antes de gravar.
+         * Arquivos maiores devem usar {@code STREAMING}, {@code ARQUIVO} ou a importação assincrona; o
+         * {@code spring.servlet.multipart.max-file-size} é o limite desses.
+         */
+        private DataSize tamanhoMaximoMemoria = DataSize.ofMegabytes(10);
+
+        /**
+         * Quantidade de linhas gravadas por lote (flush/clear do contexto de persistencia e batch JDBC) no modo streaming.
+         */
+        private int tamanhoLote = 1000;
+
+        /**
+         * Threads usadas para converter e validar os lotes do CSV no modo streaming; {@code 1} converte na mesma thread
+         * que lê o arquivo.
+         */
+        private int paralelismo = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Conversor das linhas do CSV no modo streaming: {@code NATIVO} (sem reflexão) ou {@code OPENCSV}.
+         */
+        private ParserImportacao parser = ParserImportacao.NATIVO;
+
+        /**
+         * Como os lotes do modo streaming são gravados: {@code JPA} (batch JDBC) ou {@code COPY} (somente PostgreSQL).
+         */
+        private MotorImportacao motor = MotorImportacao.JPA;
+
+        /**
+         * Memoria maxima do conjunto de impressões digitais que descarta linhas repetidas no modo streaming. Acima
+         * dela as repetições só são detectadas pelo indice unico, contadas como ja importadas.
+         */
+        private DataSize memoriaDeduplicacao = DataSize.ofMegabytes(64);
+
+        private final Async async = new Async();
+
+        private final Arquivo arquivo = new Arquivo();
+    }
+
+    /**
+     * Executor das importações assincronas. Limitado para não disputar conexões e CPU com o trafego interativo.
+     */
+    @Getter
+    @Setter
+    public static class Async {
+        private int threads = 2;
+
+        /**
+         * Quantidade de importações aguardando uma thread livre; acima disso a submissão é recusada.
+         */
+        private int fila = 10;
+
+        /**
+         * Tempo que o status de uma importação finalizada continua disponivel para consulta.
+         */
+        private Duration retencao = Duration.ofHours(1);
+    }
+
+    /**
+     * Importação pelo modo {@code ARQUIVO} e das importações assincronas, que copiam o upload para o disco.
+     */
+    @Getter
+    @Setter
+    public static class Arquivo {
+        /**
+         * Tamanho maximo do arquivo importado; deve ser no maximo o {@code spring.servlet.multipart.max-file-size}.
+         */
+        private DataSize tamanhoMaximo = DataSize.ofGigabytes(4);
+
+        /**
+         * Diretorio dos arquivos temporarios; se não informado usa o {@code java.io.tmpdir}.
+         */
+        private Path diretorio;
+    }
+
+    @Getter
+    @Setter
+    public static class Listagem {
+        /**
+         * Calculo do {@code X-Total-Count} do {@code /listar} quando o parametro {@code total} não é informado.
+         */
+        private ModoTotal total = ModoTotal.EXATO;
+
+        /**
+         * Tempo maximo de um mesmo ETag do {@code /listar}, que limita a defasagem causada por gravações de outras
+         * instancias; {@code 0} mantém o ETag até a proxima gravação desta instancia.
+         */
+        private Duration validadeEtag = Duration.ofMinutes(1);
+
+        private final CacheContagem cacheContagem = new CacheContagem();
+    }
+
+    /**
+     * Cache das contagens exatas do {@code /listar} por filtro, descartado a cada gravação de contas.
+     */
+    @Getter
+    @Setter
+    public static class CacheContagem {
+        private boolean habilitado = false;
+
+        /**
+         * Validade de cada contagem, para limitar a defasagem causada por gravações de outras instancias.
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+
+        /**
+         * Quantidade maxima de filtros guardados; acima dela os menos usados são descartados.
+         */
+        private int tamanhoMaximo = 10_000;
+    }
+
+    /**
+     * Replica de leitura que recebe as transações {@code readOnly}; as demais continuam no {@code spring.datasource}.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+        private boolean habilitado = false;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Driver JDBC da replica; se não informado usa o mesmo do {@code spring.datasource}.
+         */
+        private String driverClassName;
+
+        private int tamanhoPool = 10;
+
+        /**
+         * Espera maxima por uma conexão da replica antes de ler pelo primario. Curta para que uma replica fora do ar
+         * não atrase as leituras.
+         */
+        private Duration tempoConexao = Duration.ofSeconds(2);
+
+        /**
+         * Tempo que a replica fica sem receber leituras depois de recusar uma conexão.
+         */
+        private Duration esperaAposFalha = Duration.ofSeconds(30);
+
+        /**
+         * Tempo após o commit de uma escrita em que as leituras continuam no primario, cobrindo o atraso da
+         * replicação; {@code 0} desliga.
+         */
+        private Duration janelaLeituraPropriasEscritas = Duration.ZERO;
+    }
+
+    /**
+     * Cache de segundo nivel do Hibernate, em memória (Caffeine via JCache). Cada instancia tem o seu: gravações
+     * feitas por outra instancia ou direto no banco só aparecem depois do {@code ttl} da região.
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean habilitado = false;
+
+        /**
+         * Regiões por nome, o mesmo do {@code @Cache(region = ...)} ou da consulta. Toda região usada precisa estar
+         * aqui.
+         */
+        private Map<String, RegiaoCache> regioes = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class RegiaoCache {
+        /**
+         * Quantidade maxima de itens; se não informado a região não tem limite.
+         */
+        private Long tamanhoMaximo;
+
+        /**
+         * Validade de cada item desde a gravação; se não informado o item só sai por tamanho ou invalidação.
+         */
+        private Duration ttl;
+    }
+
+    /**
+     * Totais de contas pagas por dia de pagamento mantidos em memória, respondendo o {@code total-valor-pago} sem ir
+     * ao banco. Só enxerga as gravações desta instancia: com mais de uma instancia gravando, deixar desligado.
+     */
+    @Getter
+    @Setter
+    public static class IndiceValorPago {
+        private boolean habilitado = false;
+
+        /**
+         * Primeiro dia coberto pelo indice; periodos que começam antes são lidos do banco.
+         */
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate inicio = LocalDate.of(2000, 1, 1);
+
+        /**
+         * Ultimo dia coberto pelo indice; periodos que terminam depois são lidos do banco.
+         */
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate fim = LocalDate.of(2099, 12, 31);
+    }
+
+    /**
+     * Cache do {@code total-valor-pago} por periodo, descartado pelas gravações desta instancia que alteram contas
+     * pagas nos dias do periodo.
+     */
+    @Getter
+    @Setter
+    public static class CacheTotalPago {
+        private boolean habilitado = false;
+
+        /**
+         * Validade de cada total, que limita a defasagem causada por gravações de outras instancias ou pela replica.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        private long tamanhoMaximo = 10_000;
+    }
+
+    /**
+     * Cadastro de varias contas em uma requisição pelo {@code POST /api/v1/conta/batch}.
+     */
+    @Getter
+    @Setter
+    public static class CadastroLote {
+        /**
+         * Quantidade maxima de contas por requisição; acima dela a requisição inteira é recusada.
+         */
+        private int tamanhoMaximo = 10_000;
+
+        /**
+         * Quantidade de contas gravadas por bloco (batch JDBC e flush/clear do contexto de persistencia).
+         */
+        private int tamanhoLote = 500;
+    }
+}
@@ -0,0 +1,45 @@
+package com.projeto.api.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Banco de dados da aplicação, identificado uma vez pelos metadados da conexão. Os recursos só do PostgreSQL
+ * (COPY, {@code ON CONFLICT}, {@code EXPLAIN}) consultam aqui se podem ser usados; nos testes o banco é o H2.
+ * <p>
+ * A conexão vem do {@link JdbcTemplate}: dentro de uma transação é a dela, sem ocupar outra do pool.
+ */
+@Component
+@Slf4j
+public class BancoDados {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    public BancoDados(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return {@code true} se o banco configurado for PostgreSQL; {@code false} também se não for possivel
+     * identificá-lo, caso em que a identificação é tentada de novo na proxima chamada.
+     */
+    public boolean isPostgres() {
+        if (postgres == null) {
+            try {
+                postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                        POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())));
+            } catch (DataAccessException e) {
+                log.warn("Não foi possivel identificar o banco", e);
+                return false;
+            }
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,88 @@
+package com.projeto.api.configs;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Com {@code application.cache.habilitado}, liga o cache de segundo nivel e o cache de consultas do Hibernate sobre
+ * um {@link CacheManager} do Caffeine com as regiões de {@code application.cache.regioes}, cada uma com seu tamanho
+ * e validade. Uma região usada pelo Hibernate e não configurada impede a aplicação de subir.
+ * <p>
+ * Cada região publica as metricas {@code cache.gets} (acertos e faltas), {@code cache.evictions},
+ * {@code cache.size} e {@code cache.hit.ratio}, com a tag {@code cache} igual ao nome da região.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.cache", name = "habilitado", havingValue = "true")
+public class CacheConfig {
+
+    private static final URI URI_CACHE_MANAGER = URI.create("hibernate:regioes");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(ApplicationProperties applicationProperties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI_CACHE_MANAGER, getClass().getClassLoader());
+        for (Map.Entry<String, ApplicationProperties.RegiaoCache> regiao : applicationProperties.getCache().getRegioes().entrySet()) {
+            if (cacheManager.getCache(regiao.getKey()) != null) {
+                cacheManager.destroyCache(regiao.getKey());
+            }
+            cacheManager.createCache(regiao.getKey(), configuracao(regiao.getValue()));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager, ApplicationProperties applicationProperties) {
+        return registry -> {
+            for (String nome : applicationProperties.getCache().getRegioes().keySet()) {
+                com.github.benmanes.caffeine.cache.Cache<?, ?> cache = hibernateCacheManager.getCache(nome)
+                        .unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+                CaffeineCacheMetrics.monitor(registry, cache, nome);
+                Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                        .tag("cache", nome)
+                        .description("Fração das leituras da região atendidas pelo cache")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuracao(ApplicationProperties.RegiaoCache regiao) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        // o Hibernate já guarda uma copia desmontada da entidade, não é preciso serializar de novo
+        configuracao.setStoreByValue(false);
+        configuracao.setNativeStatisticsEnabled(true);
+        if (regiao.getTamanhoMaximo() != null) {
+            configuracao.setMaximumSize(OptionalLong.of(regiao.getTamanhoMaximo()));
+        }
+        if (regiao.getTtl() != null) {
+            configuracao.setExpireAfterWrite(OptionalLong.of(regiao.getTtl().toNanos()));
+        }
+        return configuracao;
+    }
+}
@@ -0,0 +1,95 @@
+package com.projeto.api.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Entrega as conexões das transações {@code readOnly} pela replica e as demais pelo primario.
+ * <p>
+ * Se a replica recusar uma conexão, a leitura segue pelo primario e a replica fica fora por {@code esperaAposFalha}
+ * antes de ser tentada de novo. Com {@code janelaLeituraPropriasEscritas} maior que zero, as leituras dessa janela
+ * após o commit de uma escrita também vão ao primario, para não devolver dados anteriores a ela enquanto a replica
+ * não os recebeu.
+ * <p>
+ * A decisão depende do {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()}, que só é conhecido
+ * depois que a transação começou; por isso deve ser usado atrás de um {@link LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class DataSourceRoteado extends AbstractDataSource {
+
+    public enum Destino {PRIMARIO, REPLICA}
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final Duration esperaAposFalha;
+    private final Duration janelaLeituraPropriasEscritas;
+    private final Clock clock;
+
+    private volatile long replicaIndisponivelAte;
+    private volatile long leiturasNoPrimarioAte;
+
+    public DataSourceRoteado(DataSource primario, DataSource replica, Duration esperaAposFalha,
+                             Duration janelaLeituraPropriasEscritas, Clock clock) {
+        this.primario = primario;
+        this.replica = replica;
+        this.esperaAposFalha = esperaAposFalha;
+        this.janelaLeituraPropriasEscritas = janelaLeituraPropriasEscritas;
+        this.clock = clock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (destino() == Destino.PRIMARIO) {
+            return primario.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicaIndisponivelAte = clock.millis() + esperaAposFalha.toMillis();
+            log.warn("Replica indisponivel, leituras seguem pelo primario por {}: {}", esperaAposFalha, e.getMessage());
+            return primario.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primario.getConnection(username, password);
+    }
+
+    /**
+     * Para onde vai a proxima conexão da transação atual. Em uma transação de escrita, registra o fim da janela de
+     * leitura das proprias escritas para depois do commit.
+     */
+    public Destino destino() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registrarEscrita();
+            return Destino.PRIMARIO;
+        }
+        long agora = clock.millis();
+        if (agora < replicaIndisponivelAte || agora < leiturasNoPrimarioAte) {
+            return Destino.PRIMARIO;
+        }
+        return Destino.REPLICA;
+    }
+
+    private void registrarEscrita() {
+        if (janelaLeituraPropriasEscritas.isZero() || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                leiturasNoPrimarioAte = clock.millis() + janelaLeituraPropriasEscritas.toMillis();
+            }
+        });
+    }
+}
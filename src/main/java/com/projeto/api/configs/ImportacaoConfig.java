@@ -0,0 +1,14 @@
+package com.projeto.api.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Agenda as tarefas periodicas da importação, como o descarte das importações assincronas finalizadas. Os executores
+ * da importação ficam dentro dos serviços e não são beans, para não impedir o {@code applicationTaskExecutor} do
+ * Spring Boot.
+ */
+@Configuration
+@EnableScheduling
+public class ImportacaoConfig {
+}
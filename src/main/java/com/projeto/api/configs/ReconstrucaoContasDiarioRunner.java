@@ -0,0 +1,31 @@
+package com.projeto.api.configs;
+
+import com.projeto.api.service.ContasDiarioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Iniciada com {@code --reconstruir-contas-diario}, a aplicação recalcula o resumo {@code contas_diario} a partir
+ * das contas logo depois de subir: carga inicial de um banco existente ou correção depois de gravações feitas
+ * direto no banco.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ReconstrucaoContasDiarioRunner implements ApplicationRunner {
+
+    static final String OPCAO = "reconstruir-contas-diario";
+
+    private final ContasDiarioService contasDiarioService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPCAO)) {
+            log.info("Reconstruindo o resumo contas_diario");
+            contasDiarioService.reconstruir();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.projeto.api.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * Com {@code application.replica.habilitado}, substitui o {@link DataSource} do Spring Boot por um
+ * {@link DataSourceRoteado} entre o pool do {@code spring.datasource} e o da replica. JPA, Flyway e os
+ * {@code JdbcTemplate} continuam usando o mesmo bean; fora de transações {@code readOnly} tudo vai ao primario.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.replica", name = "habilitado", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource dataSourceReplica(DataSourceProperties dataSourceProperties,
+                                              ApplicationProperties applicationProperties) {
+        ApplicationProperties.Replica replica = applicationProperties.getReplica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(replica.getDriverClassName() != null
+                        ? replica.getDriverClassName()
+                        : dataSourceProperties.determineDriverClassName())
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.getTamanhoPool());
+        dataSource.setConnectionTimeout(replica.getTempoConexao().toMillis());
+        // a aplicação sobe mesmo com a replica fora do ar; as leituras vão ao primario até ela voltar
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                                 @Qualifier("dataSourceReplica") DataSource replica,
+                                 ApplicationProperties applicationProperties) {
+        ApplicationProperties.Replica configuracao = applicationProperties.getReplica();
+        return new LazyConnectionDataSourceProxy(new DataSourceRoteado(primario, replica,
+                configuracao.getEsperaAposFalha(), configuracao.getJanelaLeituraPropriasEscritas(), Clock.systemUTC()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.projeto.api.configs;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * As respostas em streaming ({@code StreamingResponseBody} da exportação, do aging e da validação da importação) são
+ * escritas no {@code applicationTaskExecutor} do Spring Boot, limitado por {@code spring.task.execution.pool}. Sem ele
+ * o Spring MVC usaria uma thread nova por requisição, sem limite.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    public WebConfig(@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                     AsyncTaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+    }
+}
@@ -1,17 +1,27 @@
 package com.projeto.api.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.projeto.api.domain.enumeration.ContaSituacao;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "contas")
+@Table(name = "contas", indexes = {
+        @Index(name = "uk_contas_impressao_digital", columnList = "impressao_digital", unique = true),
+        @Index(name = "idx_contas_situacao_vencimento_id", columnList = "situacao, data_vencimento, id"),
+        @Index(name = "idx_contas_situacao_pagamento", columnList = "situacao, data_pagamento, valor"),
+        @Index(name = "idx_contas_situacao_valor", columnList = "situacao, valor")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "conta")
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,10 +29,14 @@ import java.time.LocalDate;
 public class Conta {
 
     protected static final String SEQUENCIAL = "conta_id_seq";
+    /**
+     * Tamanho do bloco de ids reservado a cada {@code nextval}; deve ser igual ao {@code INCREMENT BY} da sequence.
+     */
+    protected static final int ALLOCATION_SIZE = 50;
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCIAL)
-    @SequenceGenerator(name = SEQUENCIAL, allocationSize = 1)
+    @SequenceGenerator(name = SEQUENCIAL, allocationSize = ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "data_vencimento")
@@ -41,4 +55,22 @@ public class Conta {
     @Enumerated(EnumType.STRING)
     private ContaSituacao situacao = ContaSituacao.PENDENTE;
 
+    /**
+     * Impressão digital da linha do CSV que originou a conta, usada para ignorar a mesma linha em importações
+     * seguintes. Nula para contas cadastradas pela API.
+     */
+    @Column(name = "impressao_digital", updatable = false)
+    @EqualsAndHashCode.Exclude
+    @JsonIgnore
+    private Long impressaoDigital;
+
+    /**
+     * Incrementada pelo Hibernate a cada atualização; é o ETag do {@code GET /conta/{id}}.
+     */
+    @Version
+    @Column(name = "versao", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @JsonIgnore
+    private Long versao;
+
 }
@@ -5,9 +5,12 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "ROLE")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "role")
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -15,10 +18,11 @@ import lombok.Setter;
 public class Role {
 
     protected static final String SEQUENCIAL = "role_id_seq";
+    protected static final int ALLOCATION_SIZE = 50;
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCIAL)
-    @SequenceGenerator(name = SEQUENCIAL, allocationSize = 1)
+    @SequenceGenerator(name = SEQUENCIAL, allocationSize = ALLOCATION_SIZE)
     private Long id;
 
     private String name;
@@ -8,26 +8,31 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
 @Table(name = "usuario")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Usuario {
     protected static final String SEQUENCIAL = "usuario_id_seq";
+    protected static final int ALLOCATION_SIZE = 50;
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCIAL)
-    @SequenceGenerator(name = SEQUENCIAL, allocationSize = 1)
+    @SequenceGenerator(name = SEQUENCIAL, allocationSize = ALLOCATION_SIZE)
     private Long id;
     private String username;
     private String password;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario-roles")
     @NotEmpty(message = "Inseira ao menos uma role para o usuário")
     private List<Role> roles;
 }
@@ -1,46 +1,24 @@
 package com.projeto.api.repository;
 
 import com.projeto.api.domain.Conta;
-import com.projeto.api.domain.enumeration.ContaSituacao;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface ContaRepository extends JpaRepository<Conta, Long> {
+/**
+ * As buscas por filtro ficam em {@link ContaRepositoryCustom}; o {@link JpaSpecificationExecutor} aceita o mesmo
+ * {@link ContaSpecifications#filtro} para buscas de entidades.
+ */
+public interface ContaRepository extends JpaRepository<Conta, Long>, JpaSpecificationExecutor<Conta>, ContaRepositoryCustom {
 
-    @Query("SELECT c FROM Conta c " +
-            "WHERE " +
-            "c.situacao = :situacao " +
-            "AND (:descricao IS NULL OR c.descricao LIKE %:descricao%)" +
-            "AND (:dateVencimento IS NULL OR c.dataVencimento = CAST(:dateVencimento AS java.time.LocalDate))"
-    )
-    Page<Conta> findByFilters(
-            @Param("situacao") ContaSituacao situacao,
-            @Param("dateVencimento") String dateVencimento,
-            @Param("descricao") String descricao,
-            Pageable pageable);
+    @Query("SELECT c.versao FROM Conta c WHERE c.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
 
-    @Query("SELECT c FROM Conta c " +
-            "WHERE " +
-            "c.situacao = :situacao " +
-            "AND (:descricao IS NULL OR c.descricao LIKE %:descricao%)"
-    )
-    Page<Conta> findByFilters(
-            @Param("situacao") ContaSituacao situacao,
-            @Param("descricao") String descricao,
-            Pageable pageable);
-
-    @Query("SELECT SUM(c.valor) FROM Conta c " +
-            "WHERE " +
-            "c.situacao = :situacao " +
-            "AND c.dataPagamento BETWEEN :startDate AND :endDate")
-    BigDecimal findTotalValorBySituacaoAndPeriodo(
-            @Param("situacao") ContaSituacao situacao,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
+    @Query("SELECT c.impressaoDigital FROM Conta c WHERE c.impressaoDigital IN :impressoesDigitais")
+    List<Long> findImpressoesDigitaisExistentes(@Param("impressoesDigitais") Collection<Long> impressoesDigitais);
 }
@@ -0,0 +1,45 @@
+package com.projeto.api.repository;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.CursorConta;
+import com.projeto.api.service.dto.FiltroContas;
+import com.projeto.api.web.rest.dto.ViewContaDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Buscas de contas por {@link FiltroContas}, com o {@code WHERE} de {@link ContaSpecifications#filtro(FiltroContas)}.
+ * As listagens são projetadas direto em {@link ViewContaDTO}: as linhas não viram entidades gerenciadas, sem snapshot
+ * para dirty checking nem mapeamento posterior.
+ */
+public interface ContaRepositoryCustom {
+
+    int FETCH_SIZE_EXPORTACAO = 1000;
+
+    Page<ViewContaDTO> findViewByFilters(FiltroContas filtro, Pageable pageable);
+
+    /**
+     * Mesma busca do {@link #findViewByFilters}, sem a contagem: lê uma conta além da pagina para saber se existe a
+     * seguinte.
+     */
+    Slice<ViewContaDTO> findSliceByFilters(FiltroContas filtro, Pageable pageable);
+
+    long countByFilters(FiltroContas filtro);
+
+    /**
+     * Até {@code limite} contas na ordem {@code (dataVencimento, id)} do indice {@code idx_contas_situacao_vencimento_id},
+     * depois de {@code depois} (ou do inicio, se {@code null}). O {@code dataVencimento >= ultimo} redundante deixa o
+     * inicio da busca no indice explicito, então o custo não cresce com a profundidade da pagina.
+     */
+    List<ViewContaDTO> findByFiltersKeyset(FiltroContas filtro, CursorConta depois, int limite);
+
+    /**
+     * Contas do filtro em ordem de id, lidas do cursor JDBC em blocos de {@value #FETCH_SIZE_EXPORTACAO} linhas e sem
+     * snapshot. Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    Stream<Conta> streamByFilters(FiltroContas filtro);
+}
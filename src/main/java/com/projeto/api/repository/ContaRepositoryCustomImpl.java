@@ -0,0 +1,108 @@
+package com.projeto.api.repository;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.CursorConta;
+import com.projeto.api.service.dto.FiltroContas;
+import com.projeto.api.web.rest.dto.ViewContaDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+class ContaRepositoryCustomImpl implements ContaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ViewContaDTO> findViewByFilters(FiltroContas filtro, Pageable pageable) {
+        List<ViewContaDTO> contas = paginar(consultaView(filtro, pageable), pageable, 0).getResultList();
+        return PageableExecutionUtils.getPage(contas, pageable, () -> countByFilters(filtro));
+    }
+
+    @Override
+    public Slice<ViewContaDTO> findSliceByFilters(FiltroContas filtro, Pageable pageable) {
+        List<ViewContaDTO> contas = paginar(consultaView(filtro, pageable), pageable, 1).getResultList();
+        boolean temProxima = pageable.isPaged() && contas.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProxima ? contas.subList(0, pageable.getPageSize()) : contas, pageable, temProxima);
+    }
+
+    @Override
+    public long countByFilters(FiltroContas filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Conta> conta = query.from(Conta.class);
+        query.select(cb.count(conta)).where(ContaSpecifications.filtro(filtro).toPredicate(conta, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<ViewContaDTO> findByFiltersKeyset(FiltroContas filtro, CursorConta depois, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ViewContaDTO> query = cb.createQuery(ViewContaDTO.class);
+        Root<Conta> conta = query.from(Conta.class);
+        Predicate where = ContaSpecifications.filtro(filtro).toPredicate(conta, query, cb);
+        Path<LocalDate> dataVencimento = conta.get("dataVencimento");
+        Path<Long> id = conta.get("id");
+        if (depois != null) {
+            where = cb.and(where,
+                    cb.greaterThanOrEqualTo(dataVencimento, depois.dataVencimento()),
+                    cb.or(cb.greaterThan(dataVencimento, depois.dataVencimento()), cb.greaterThan(id, depois.id())));
+        }
+        query.select(view(cb, conta)).where(where).orderBy(cb.asc(dataVencimento), cb.asc(id));
+        return entityManager.createQuery(query).setMaxResults(limite).getResultList();
+    }
+
+    @Override
+    public Stream<Conta> streamByFilters(FiltroContas filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Conta> query = cb.createQuery(Conta.class);
+        Root<Conta> conta = query.from(Conta.class);
+        query.select(conta)
+                .where(ContaSpecifications.filtro(filtro).toPredicate(conta, query, cb))
+                .orderBy(cb.asc(conta.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE_EXPORTACAO)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<ViewContaDTO> consultaView(FiltroContas filtro, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ViewContaDTO> query = cb.createQuery(ViewContaDTO.class);
+        Root<Conta> conta = query.from(Conta.class);
+        query.select(view(cb, conta))
+                .where(ContaSpecifications.filtro(filtro).toPredicate(conta, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), conta, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private static <T> TypedQuery<T> paginar(TypedQuery<T> query, Pageable pageable, int extras) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + extras);
+        }
+        return query;
+    }
+
+    private static CompoundSelection<ViewContaDTO> view(CriteriaBuilder cb, Root<Conta> conta) {
+        return cb.construct(ViewContaDTO.class, conta.get("id"), conta.get("dataVencimento"),
+                conta.get("dataPagamento"), conta.get("valor"), conta.get("descricao"), conta.get("situacao"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.projeto.api.repository;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.FiltroContas;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Monta o {@code WHERE} das buscas de contas a partir de um {@link FiltroContas}, só com os predicados dos campos
+ * informados. Cada predicado compara a coluna sem função nem cast ({@code data_vencimento BETWEEN ? AND ?},
+ * {@code situacao = ?}), então os indices de {@code situacao}, {@code data_vencimento} e os compostos
+ * iniciados por {@code situacao} atendem a busca, e cada combinação de filtros gera um SQL proprio, com plano
+ * proprio no cache do banco.
+ * <p>
+ * {@link #sql(FiltroContas, List)} é o mesmo filtro em SQL, para as consultas feitas fora do JPA (a estimativa do
+ * {@code X-Total-Count}); os dois devem continuar equivalentes, o que o {@code ContaRepositoryTest} verifica.
+ */
+public final class ContaSpecifications {
+
+    private ContaSpecifications() {
+    }
+
+    public static Specification<Conta> filtro(FiltroContas filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtro.situacoes().size() == 1) {
+                predicados.add(cb.equal(root.get("situacao"), filtro.situacoes().iterator().next()));
+            } else if (!filtro.situacoes().isEmpty()) {
+                Path<ContaSituacao> situacao = root.get("situacao");
+                predicados.add(situacao.in(filtro.situacoes()));
+            }
+            intervalo(cb, predicados, root.get("dataVencimento"), filtro.vencimentoDe(), filtro.vencimentoAte());
+            intervalo(cb, predicados, root.get("dataPagamento"), filtro.pagamentoDe(), filtro.pagamentoAte());
+            intervalo(cb, predicados, root.get("valor"), filtro.valorMinimo(), filtro.valorMaximo());
+            if (filtro.descricao() != null) {
+                // o lower do trecho é feito aqui, o do banco fica só na coluna (indice de trigramas em lower(descricao))
+                predicados.add(cb.like(cb.lower(root.get("descricao")),
+                        "%" + filtro.descricao().toLowerCase(Locale.ROOT) + "%"));
+            }
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Condição do {@code WHERE} sobre a tabela {@code contas} equivalente ao {@link #filtro(FiltroContas)}, com um
+     * {@code ?} para cada valor acrescentado em {@code parametros}. Sem filtros, {@code true}.
+     */
+    public static String sql(FiltroContas filtro, List<Object> parametros) {
+        List<String> condicoes = new ArrayList<>();
+        if (!filtro.situacoes().isEmpty()) {
+            condicoes.add("situacao IN (" + String.join(", ", Collections.nCopies(filtro.situacoes().size(), "?")) + ")");
+            filtro.situacoes().forEach(situacao -> parametros.add(situacao.name()));
+        }
+        intervalo(condicoes, parametros, "data_vencimento", filtro.vencimentoDe(), filtro.vencimentoAte());
+        intervalo(condicoes, parametros, "data_pagamento", filtro.pagamentoDe(), filtro.pagamentoAte());
+        intervalo(condicoes, parametros, "valor", filtro.valorMinimo(), filtro.valorMaximo());
+        if (filtro.descricao() != null) {
+            condicoes.add("lower(descricao) LIKE ?");
+            parametros.add("%" + filtro.descricao().toLowerCase(Locale.ROOT) + "%");
+        }
+        return condicoes.isEmpty() ? "true" : String.join(" AND ", condicoes);
+    }
+
+    private static void intervalo(List<String> condicoes, List<Object> parametros, String coluna, Object de, Object ate) {
+        if (de != null) {
+            condicoes.add(coluna + " >= ?");
+            parametros.add(de instanceof LocalDate data ? Date.valueOf(data) : de);
+        }
+        if (ate != null) {
+            condicoes.add(coluna + " <= ?");
+            parametros.add(ate instanceof LocalDate data ? Date.valueOf(data) : ate);
+        }
+    }
+
+    private static <T extends Comparable<? super T>> void intervalo(CriteriaBuilder cb, List<Predicate> predicados,
+                                                                    Path<T> caminho, T de, T ate) {
+        if (de != null && ate != null && de.compareTo(ate) == 0) {
+            predicados.add(cb.equal(caminho, de));
+        } else if (de != null && ate != null) {
+            predicados.add(cb.between(caminho, de, ate));
+        } else if (de != null) {
+            predicados.add(cb.greaterThanOrEqualTo(caminho, de));
+        } else if (ate != null) {
+            predicados.add(cb.lessThanOrEqualTo(caminho, ate));
+        }
+    }
+}
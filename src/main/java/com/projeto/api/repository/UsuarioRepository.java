@@ -2,13 +2,24 @@ package com.projeto.api.repository;
 
 
 import com.projeto.api.domain.Usuario;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Usuario findByUsername(String username);
 
+    /**
+     * Consultada a cada requisição autenticada; com o cache do Hibernate habilitado o resultado fica na região
+     * {@code usuario-por-username} até uma gravação em {@code usuario} ou {@code role}.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "usuario-por-username")
+    })
     @Query("SELECT u FROM Usuario u JOIN FETCH u.roles where u.username = :username")
     Usuario findByUsernameFetchRoles(@Param("username") String username);
 }
@@ -0,0 +1,131 @@
+package com.projeto.api.service;
+
+import com.projeto.api.repository.ContaRepositoryCustom;
+import com.projeto.api.service.dto.ContaEmAtraso;
+import com.projeto.api.service.dto.FaixaAtraso;
+import com.projeto.api.web.rest.dto.ViewAgingDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Aging das contas pendentes vencidas: o resumo por {@link FaixaAtraso} em uma unica passada, somando cada faixa
+ * com {@code CASE} sobre o vencimento ({@code idx_contas_pendentes_vencimento} no PostgreSQL), e as contas de uma
+ * faixa lidas em blocos pelo cursor JDBC, para o detalhamento.
+ */
+@Service
+public class AgingContasService {
+
+    private static final String SQL_RESUMO = resumo();
+
+    private static final String SQL_CONTAS = "SELECT id, descricao, data_vencimento, valor FROM contas "
+            + "WHERE situacao = 'PENDENTE' AND data_vencimento BETWEEN ? AND ? ORDER BY data_vencimento, id";
+
+    private static final String SQL_CONTAS_ATE = "SELECT id, descricao, data_vencimento, valor FROM contas "
+            + "WHERE situacao = 'PENDENTE' AND data_vencimento <= ? ORDER BY data_vencimento, id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mesmo {@link javax.sql.DataSource}, mas lendo o resultado em blocos em vez de carregá-lo inteiro.
+     */
+    private final JdbcTemplate jdbcTemplateCursor;
+
+    public AgingContasService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcTemplateCursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplateCursor.setFetchSize(ContaRepositoryCustom.FETCH_SIZE_EXPORTACAO);
+    }
+
+    @Transactional(readOnly = true)
+    public ViewAgingDTO resumo(LocalDate dataBase) {
+        List<Object> parametros = new ArrayList<>();
+        for (FaixaAtraso faixa : FaixaAtraso.values()) {
+            // a condição da faixa aparece na soma e na contagem
+            for (int i = 0; i < 2; i++) {
+                if (faixa.vencimentoDe(dataBase) != null) {
+                    parametros.add(Date.valueOf(faixa.vencimentoDe(dataBase)));
+                }
+                parametros.add(Date.valueOf(faixa.vencimentoAte(dataBase)));
+            }
+        }
+        parametros.add(Date.valueOf(dataBase));
+
+        return jdbcTemplate.queryForObject(SQL_RESUMO, (rs, numero) -> {
+            List<ViewAgingDTO.Faixa> faixas = new ArrayList<>();
+            BigDecimal valorTotal = BigDecimal.ZERO;
+            long quantidadeTotal = 0;
+            int coluna = 1;
+            for (FaixaAtraso faixa : FaixaAtraso.values()) {
+                BigDecimal valor = rs.getBigDecimal(coluna++);
+                long quantidade = rs.getLong(coluna++);
+                valor = valor != null ? valor : BigDecimal.ZERO;
+                faixas.add(ViewAgingDTO.Faixa.builder()
+                        .faixa(faixa)
+                        .diasDe(faixa.getDiasDe())
+                        .diasAte(faixa.getDiasAte())
+                        .valor(valor)
+                        .quantidade(quantidade)
+                        .build());
+                valorTotal = valorTotal.add(valor);
+                quantidadeTotal += quantidade;
+            }
+            return ViewAgingDTO.builder()
+                    .dataBase(dataBase)
+                    .valorTotal(valorTotal)
+                    .quantidadeTotal(quantidadeTotal)
+                    .faixas(faixas)
+                    .build();
+        }, parametros.toArray());
+    }
+
+    /**
+     * Entrega as contas pendentes vencidas na faixa, ou em todas as faixas se {@code faixa} for {@code null}, em
+     * ordem de vencimento e id, sem carregar o resultado em memória.
+     *
+     * @return quantidade de contas entregues.
+     */
+    @Transactional(readOnly = true)
+    public long contasEmAtraso(LocalDate dataBase, FaixaAtraso faixa, Consumer<ContaEmAtraso> destino) {
+        LocalDate de = faixa != null ? faixa.vencimentoDe(dataBase) : null;
+        LocalDate ate = faixa != null ? faixa.vencimentoAte(dataBase) : dataBase;
+        long[] contas = {0};
+        RowCallbackHandler entregar = rs -> {
+            LocalDate dataVencimento = rs.getDate(3).toLocalDate();
+            long diasAtraso = dataBase.toEpochDay() - dataVencimento.toEpochDay();
+            destino.accept(new ContaEmAtraso(rs.getLong(1), rs.getString(2), dataVencimento, rs.getBigDecimal(4),
+                    diasAtraso, FaixaAtraso.de(diasAtraso)));
+            contas[0]++;
+        };
+        if (de != null) {
+            jdbcTemplateCursor.query(SQL_CONTAS, entregar, Date.valueOf(de), Date.valueOf(ate));
+        } else {
+            jdbcTemplateCursor.query(SQL_CONTAS_ATE, entregar, Date.valueOf(ate));
+        }
+        return contas[0];
+    }
+
+    /**
+     * Uma soma e uma contagem condicionais por faixa; a faixa sem limite é a unica com um só parametro.
+     */
+    private static String resumo() {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (FaixaAtraso faixa : FaixaAtraso.values()) {
+            String condicao = faixa.getDiasAte() != null ? "data_vencimento BETWEEN ? AND ?" : "data_vencimento <= ?";
+            if (faixa.ordinal() > 0) {
+                sql.append(", ");
+            }
+            sql.append("SUM(CASE WHEN ").append(condicao).append(" THEN valor END), ")
+                    .append("COUNT(CASE WHEN ").append(condicao).append(" THEN 1 END)");
+        }
+        return sql.append(" FROM contas WHERE situacao = 'PENDENTE' AND data_vencimento <= ?").toString();
+    }
+}
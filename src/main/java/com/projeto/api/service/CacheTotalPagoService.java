@@ -0,0 +1,146 @@
+package com.projeto.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.LancamentoDiario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache do total pago por periodo ({@code application.cache-total-pago}), limitado em quantidade e validade.
+ * <p>
+ * Uma gravação só descarta os periodos que contêm algum dia de pagamento de conta paga alterado, depois do commit.
+ * Consultas simultaneas do mesmo periodo esperam a primeira em vez de irem todas ao banco; uma consulta que estava
+ * em andamento quando alguma conta paga foi gravada é devolvida, mas não fica no cache.
+ */
+@Service
+public class CacheTotalPagoService implements MeterBinder {
+
+    private static final String NOME_CACHE = "total-valor-pago";
+
+    private final ApplicationProperties.CacheTotalPago configuracao;
+
+    private final Cache<Periodo, Total> cache;
+
+    /**
+     * Incrementada a cada gravação de contas pagas, antes do descarte.
+     */
+    private final AtomicLong versao = new AtomicLong();
+
+    public CacheTotalPagoService(ApplicationProperties applicationProperties) {
+        this.configuracao = applicationProperties.getCacheTotalPago();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuracao.getTamanhoMaximo())
+                .expireAfterWrite(configuracao.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NOME_CACHE);
+    }
+
+    /**
+     * Total guardado para o periodo, ou o da {@code consulta}, que é guardado. Com o cache desligado só executa a
+     * consulta.
+     */
+    public BigDecimal obter(LocalDate dataInicial, LocalDate dataFinal, Supplier<BigDecimal> consulta) {
+        if (!configuracao.isHabilitado()) {
+            return consulta.get();
+        }
+        Periodo periodo = new Periodo(dataInicial, dataFinal);
+        Total total = cache.get(periodo, chave -> {
+            long inicio = versao.get();
+            BigDecimal valor = consulta.get();
+            return new Total(valor, versao.get() != inicio);
+        });
+        if (total.desatualizado()) {
+            cache.asMap().remove(periodo, total);
+        }
+        return total.valor();
+    }
+
+    /**
+     * Descarta, depois do commit da transação atual, os periodos que contêm os dias das variações de contas pagas;
+     * sem transação, na hora.
+     */
+    public void registrar(Collection<LancamentoDiario> totais) {
+        if (!configuracao.isHabilitado()) {
+            return;
+        }
+        NavigableSet<LocalDate> dias = new TreeSet<>();
+        for (LancamentoDiario total : totais) {
+            if (total.situacao() == ContaSituacao.PAGO) {
+                dias.add(total.dataPagamento());
+            }
+        }
+        if (dias.isEmpty()) {
+            return;
+        }
+        versao.incrementAndGet();
+        aposCommit(() -> descartar(dias));
+    }
+
+    /**
+     * Descarta todos os periodos depois do commit, para gravações que não informam os dias alterados.
+     */
+    public void limpar() {
+        if (!configuracao.isHabilitado()) {
+            return;
+        }
+        versao.incrementAndGet();
+        aposCommit(() -> {
+            versao.incrementAndGet();
+            cache.invalidateAll();
+        });
+    }
+
+    /**
+     * O incremento antes do descarte marca as consultas que começaram antes do commit e ainda não terminaram, que o
+     * descarte não alcança.
+     */
+    private void descartar(NavigableSet<LocalDate> dias) {
+        versao.incrementAndGet();
+        cache.asMap().keySet().removeIf(periodo -> {
+            LocalDate primeiro = dias.ceiling(periodo.dataInicial());
+            return primeiro != null && !primeiro.isAfter(periodo.dataFinal());
+        });
+    }
+
+    private void aposCommit(Runnable descarte) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            descarte.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                descarte.run();
+            }
+        });
+    }
+
+    private record Periodo(LocalDate dataInicial, LocalDate dataFinal) {
+    }
+
+    /**
+     * {@code valor} pode ser {@code null} (nenhuma conta paga no periodo), que o Caffeine não guarda sozinho.
+     */
+    private record Total(BigDecimal valor, boolean desatualizado) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.projeto.api.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.web.rest.dto.ManterContaDTO;
+import com.projeto.api.web.rest.dto.ViewResultadoLoteDTO;
+import com.projeto.api.web.rest.dto.mapper.ContaMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cadastro de varias contas em uma requisição. O corpo, um array JSON ou uma conta JSON por linha (NDJSON), é lido
+ * conta a conta; as contas com erro de conversão ou de validação são recusadas individualmente e as demais são
+ * gravadas juntas pelo {@link ContaService#cadastrarContas}, em blocos de {@code application.cadastro-lote.tamanho-lote}.
+ */
+@Service
+@Slf4j
+public class CadastroLoteContasService {
+
+    private final ObjectReader leitor;
+
+    private final Validator validator;
+
+    private final ContaService contaService;
+
+    private final ApplicationProperties.CadastroLote configuracao;
+
+    public CadastroLoteContasService(ObjectMapper objectMapper, Validator validator, ContaService contaService,
+                                     ApplicationProperties applicationProperties) {
+        // o ObjectMapper da aplicação, com o LocalDateDeserializer que aceita dd/MM/yyyy e yyyy-MM-dd
+        this.leitor = objectMapper.readerFor(ManterContaDTO.class);
+        this.validator = validator;
+        this.contaService = contaService;
+        this.configuracao = applicationProperties.getCadastroLote();
+    }
+
+    /**
+     * Lê, valida e grava as contas do corpo. Nada é gravado se o corpo não for JSON valido ou passar de
+     * {@code application.cadastro-lote.tamanho-maximo} contas.
+     *
+     * @throws IllegalArgumentException se o corpo tiver mais contas que o permitido.
+     * @throws com.fasterxml.jackson.core.JsonProcessingException se o corpo não for JSON valido.
+     */
+    public ViewResultadoLoteDTO cadastrar(InputStream corpo) throws IOException {
+        List<ViewResultadoLoteDTO.Item> itens = new ArrayList<>();
+        List<Conta> contas = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        try (MappingIterator<ManterContaDTO> iterator = leitor.readValues(corpo)) {
+            // após um erro de conversão o iterator pula o restante da conta e segue para a proxima
+            for (int indice = 0; iterator.hasNextValue(); indice++) {
+                if (indice >= configuracao.getTamanhoMaximo()) {
+                    throw new IllegalArgumentException("Lote acima do maximo de " + configuracao.getTamanhoMaximo() + " contas");
+                }
+                List<String> erros;
+                try {
+                    ManterContaDTO dto = iterator.nextValue();
+                    erros = validar(dto);
+                    if (erros.isEmpty()) {
+                        contas.add(ContaMapper.fromDto(dto));
+                        indices.add(indice);
+                        continue;
+                    }
+                } catch (JsonMappingException e) {
+                    erros = List.of(erroConversao(e));
+                }
+                itens.add(ViewResultadoLoteDTO.Item.builder().indice(indice).erros(erros).build());
+            }
+        }
+        List<Conta> criadas = contaService.cadastrarContas(contas, configuracao.getTamanhoLote());
+        for (int i = 0; i < criadas.size(); i++) {
+            itens.add(ViewResultadoLoteDTO.Item.builder().indice(indices.get(i)).id(criadas.get(i).getId()).build());
+        }
+        itens.sort((a, b) -> Integer.compare(a.getIndice(), b.getIndice()));
+        log.info("Cadastro em lote finalizado: {} contas criadas, {} recusadas", criadas.size(), itens.size() - criadas.size());
+        return ViewResultadoLoteDTO.builder()
+                .contasCriadas(criadas.size())
+                .contasRecusadas(itens.size() - criadas.size())
+                .itens(itens)
+                .build();
+    }
+
+    private List<String> validar(ManterContaDTO dto) {
+        if (dto == null) {
+            return List.of("Conta não informada");
+        }
+        List<String> erros = validator.validate(dto).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (dto.getId() != null) {
+            erros.add("Uma nova conta não pode ter ID");
+        }
+        return erros;
+    }
+
+    private static String erroConversao(JsonMappingException e) {
+        String campo = e.getPath().stream()
+                .map(JsonMappingException.Reference::getFieldName)
+                .filter(nome -> nome != null)
+                .collect(Collectors.joining("."));
+        return campo.isEmpty() ? "Conta invalida" : "Campo " + campo + " invalido";
+    }
+}
@@ -0,0 +1,126 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.service.dto.JobImportacao;
+import com.projeto.api.service.importacao.ArquivoImportacao;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importações assincronas: o arquivo é copiado para um arquivo temporario, a requisição retorna imediatamente e a
+ * importação do arquivo mapeado em memória roda em um executor próprio, limitado por {@code application.importacao.async}.
+ * O andamento fica disponivel em memória enquanto durar a retenção configurada, verificada a cada minuto.
+ * <p>
+ * O executor não é um bean: qualquer {@code Executor} no contexto impede o Spring Boot de criar o
+ * {@code applicationTaskExecutor}, usado pelas respostas em streaming.
+ */
+@Service
+@Slf4j
+public class ContaImportJobService {
+
+    private final Map<String, JobImportacao> jobs = new ConcurrentHashMap<>();
+
+    private final ContaImportService contaImportService;
+
+    private final TaskExecutor importacaoExecutor;
+
+    private final ApplicationProperties applicationProperties;
+
+    @Autowired
+    public ContaImportJobService(ContaImportService contaImportService, ApplicationProperties applicationProperties) {
+        this(contaImportService, criarExecutor(applicationProperties.getImportacao().getAsync()), applicationProperties);
+    }
+
+    ContaImportJobService(ContaImportService contaImportService, TaskExecutor importacaoExecutor,
+                          ApplicationProperties applicationProperties) {
+        this.contaImportService = contaImportService;
+        this.importacaoExecutor = importacaoExecutor;
+        this.applicationProperties = applicationProperties;
+    }
+
+    private static ThreadPoolTaskExecutor criarExecutor(ApplicationProperties.Async async) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(async.getThreads());
+        executor.setMaxPoolSize(async.getThreads());
+        executor.setQueueCapacity(async.getFila());
+        executor.setThreadNamePrefix("importacao-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (importacaoExecutor instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Submete a importação do arquivo.
+     *
+     * @throws TaskRejectedException se a fila do executor estiver cheia.
+     * @throws ImportCsvException    se o arquivo exceder {@code application.importacao.arquivo.tamanho-maximo}.
+     */
+    public JobImportacao submeter(MultipartFile file) throws IOException, ImportCsvException {
+        Path arquivo = ArquivoImportacao.copiar(file, applicationProperties.getImportacao().getArquivo());
+        JobImportacao job = new JobImportacao(UUID.randomUUID().toString());
+        try {
+            jobs.put(job.getId(), job);
+            importacaoExecutor.execute(() -> executar(job, arquivo));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getId());
+            ArquivoImportacao.remover(arquivo);
+            throw e;
+        }
+        log.info("Importação {} submetida", job.getId());
+        return job;
+    }
+
+    public Optional<JobImportacao> buscarPorId(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void executar(JobImportacao job, Path arquivo) {
+        job.iniciar();
+        try {
+            contaImportService.importarArquivo(arquivo, job.getProgresso());
+            job.concluir();
+        } catch (ImportCsvException e) {
+            job.falhar(e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro na importação {}", job.getId(), e);
+            job.falhar("Erro ao importar contas");
+        } finally {
+            ArquivoImportacao.remover(arquivo);
+        }
+        log.info("Importação {} finalizada com status {}", job.getId(), job.getStatus());
+    }
+
+    /**
+     * Descarta as importações finalizadas há mais que {@code application.importacao.async.retencao}. Os arquivos
+     * temporarios já foram removidos ao final de cada importação.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    void removerExpirados() {
+        Instant limite = Instant.now().minus(applicationProperties.getImportacao().getAsync().getRetencao());
+        jobs.values().removeIf(job -> job.isFinalizado() && !job.getFim().isAfter(limite));
+    }
+}
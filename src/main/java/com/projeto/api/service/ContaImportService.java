@@ -0,0 +1,260 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.ErroImportacao;
+import com.projeto.api.service.dto.MotorImportacao;
+import com.projeto.api.service.dto.ParserImportacao;
+import com.projeto.api.service.dto.ProgressoImportacao;
+import com.projeto.api.service.dto.ResultadoImportacao;
+import com.projeto.api.service.importacao.ArquivoImportacao;
+import com.projeto.api.service.importacao.ConjuntoImpressoesDigitais;
+import com.projeto.api.service.importacao.DecodificadorArquivoMapeado;
+import com.projeto.api.service.importacao.EscritorContas;
+import com.projeto.api.service.importacao.EscritorContasCopy;
+import com.projeto.api.service.importacao.EscritorContasJpa;
+import com.projeto.api.service.importacao.ImpressaoDigitalConta;
+import com.projeto.api.service.importacao.LeitorContas;
+import com.projeto.api.service.importacao.LeitorContasEmBlocos;
+import com.projeto.api.service.importacao.LeitorContasNativo;
+import com.projeto.api.service.importacao.LeitorContasOpenCsv;
+import com.projeto.api.service.importacao.LeitorContasSequencial;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Importação de contas em modo streaming: o CSV é lido em lotes de {@code application.importacao.tamanho-lote}
+ * linhas, convertidas pelo {@code application.importacao.parser} e validadas em paralelo quando
+ * {@code application.importacao.paralelismo} for maior que 1.
+ * Cada lote é gravado, na ordem do arquivo, em sua própria transação pelo motor configurado em
+ * {@code application.importacao.motor} (batch JDBC ou COPY), mantendo o uso de memória constante independente do
+ * tamanho do arquivo. No modo {@code ARQUIVO} o upload é antes copiado para o disco e lido mapeado em memória.
+ */
+@Service
+@Slf4j
+public class ContaImportService {
+
+    private final EscritorContasJpa escritorContasJpa;
+
+    private final EscritorContasCopy escritorContasCopy;
+
+    private final ApplicationProperties applicationProperties;
+
+    /**
+     * Pool da conversão em paralelo, só desta classe: publicado como bean, por ser um {@code Executor}, impediria o
+     * Spring Boot de criar o {@code applicationTaskExecutor}.
+     */
+    private final ForkJoinPool importacaoParserPool;
+
+    private final ContagemContasService contagemContasService;
+
+    private final VersaoContasService versaoContasService;
+
+    public ContaImportService(EscritorContasJpa escritorContasJpa, EscritorContasCopy escritorContasCopy,
+                              ApplicationProperties applicationProperties, ContagemContasService contagemContasService,
+                              VersaoContasService versaoContasService) {
+        this.escritorContasJpa = escritorContasJpa;
+        this.escritorContasCopy = escritorContasCopy;
+        this.applicationProperties = applicationProperties;
+        this.importacaoParserPool = new ForkJoinPool(Math.max(1, applicationProperties.getImportacao().getParalelismo()));
+        this.contagemContasService = contagemContasService;
+        this.versaoContasService = versaoContasService;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        importacaoParserPool.shutdown();
+    }
+
+    /**
+     * Importa as contas do arquivo em lotes.
+     * As linhas que repetem outra do mesmo arquivo são descartadas por um {@link ConjuntoImpressoesDigitais}, e as
+     * já importadas por envios anteriores são ignoradas pelo indice unico da impressão digital. Se uma linha for
+     * invalida a importação é interrompida, mas os lotes anteriores a ela já estão gravados.
+     */
+    public ResultadoImportacao importarContas(MultipartFile file) throws IOException, ImportCsvException {
+        try(InputStream inputStream = file.getInputStream()){
+            return importarContas(inputStream, new ProgressoImportacao());
+        }
+    }
+
+    /**
+     * Importa as contas lidas do {@code inputStream} (CSV em UTF-8), publicando o andamento em {@code progresso}
+     * ao final de cada lote gravado.
+     */
+    public ResultadoImportacao importarContas(InputStream inputStream, ProgressoImportacao progresso) throws IOException, ImportCsvException {
+        return importar(new InputStreamReader(inputStream, StandardCharsets.UTF_8), progresso, null, true);
+    }
+
+    /**
+     * Importa o upload pelo disco: o arquivo é copiado para um arquivo temporario, lido com
+     * {@link #importarArquivo(Path, ProgressoImportacao)} e removido ao final, com sucesso ou erro.
+     *
+     * @throws ImportCsvException se o arquivo exceder {@code application.importacao.arquivo.tamanho-maximo}.
+     */
+    public ResultadoImportacao importarContasPorArquivo(MultipartFile file) throws IOException, ImportCsvException {
+        Path arquivo = ArquivoImportacao.copiar(file, applicationProperties.getImportacao().getArquivo());
+        try {
+            return importarArquivo(arquivo, new ProgressoImportacao());
+        } finally {
+            ArquivoImportacao.remover(arquivo);
+        }
+    }
+
+    /**
+     * Importa as contas de um arquivo CSV em disco, mapeado em memória ({@link DecodificadorArquivoMapeado}) em vez
+     * de lido por um {@link InputStream}: o conteudo não passa pelo heap e bytes fora do UTF-8 interrompem a
+     * importação em vez de virarem {@code U+FFFD}.
+     */
+    public ResultadoImportacao importarArquivo(Path arquivo, ProgressoImportacao progresso) throws IOException, ImportCsvException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return importar(new DecodificadorArquivoMapeado(canal), progresso, null, true);
+        }
+    }
+
+    /**
+     * Valida o arquivo inteiro em uma passada, entregando cada linha invalida a {@code destinoErros} na ordem do
+     * arquivo em vez de interromper no primeiro erro.
+     *
+     * @param importarValidas se {@code true}, grava as linhas validas como no {@link #importarContas(InputStream, ProgressoImportacao)};
+     *                        caso contrario nada é gravado.
+     */
+    public ResultadoImportacao validarContas(InputStream inputStream, boolean importarValidas,
+                                             Consumer<ErroImportacao> destinoErros) throws IOException {
+        try {
+            return importar(new InputStreamReader(inputStream, StandardCharsets.UTF_8), new ProgressoImportacao(),
+                    destinoErros, importarValidas);
+        } catch (ImportCsvException e) {
+            throw new IllegalStateException("Linha invalida com coleta de erros ativa", e);
+        }
+    }
+
+    private ResultadoImportacao importar(Reader reader, ProgressoImportacao progresso,
+                                         Consumer<ErroImportacao> destinoErros, boolean gravar) throws IOException, ImportCsvException {
+        EscritorContas escritor = gravar ? abrirEscritor() : null;
+        ApplicationProperties.Importacao importacao = applicationProperties.getImportacao();
+        ConjuntoImpressoesDigitais vistas = new ConjuntoImpressoesDigitais(importacao.getTamanhoLote(),
+                importacao.getMemoriaDeduplicacao().toBytes());
+        long[] contasInvalidas = {0};
+        Consumer<ErroImportacao> contarErros = destinoErros == null ? null : erro -> {
+            contasInvalidas[0]++;
+            destinoErros.accept(erro);
+        };
+        long contasGravadas = 0;
+        long contasIgnoradas = 0;
+        long contasDuplicadas = 0;
+        long linhasLidas;
+
+        try(LeitorContas leitor = abrirLeitor(reader, contarErros)){
+            List<Conta> lote;
+            while ((lote = leitor.proximoLote()) != null) {
+                if (escritor == null) {
+                    continue;
+                }
+                List<Conta> distintas = distintas(lote, vistas);
+                int gravadas = distintas.isEmpty() ? 0 : escritor.gravar(distintas);
+                if (gravadas > 0) {
+                    // o lote já foi commitado pelo escritor, então o contador sobe logo depois dos dados
+                    contagemContasService.invalidar();
+                    versaoContasService.registrarAlteracao();
+                }
+                contasGravadas += gravadas;
+                contasIgnoradas += distintas.size() - gravadas;
+                contasDuplicadas += lote.size() - distintas.size();
+                progresso.atualizar(leitor.getLinhasLidas(), contasGravadas, contasIgnoradas, contasDuplicadas);
+            }
+            linhasLidas = leitor.getLinhasLidas();
+        } catch (ImportCsvException e) {
+            log.warn("Importação interrompida: {}, {} contas ja gravadas", e.getMessage(), contasGravadas);
+            throw new ImportCsvException(e.getMessage() + " (" + contasGravadas + " contas de lotes anteriores ja foram gravadas)");
+        } catch (CharacterCodingException e) {
+            log.warn("Importação interrompida: arquivo fora do UTF-8, {} contas ja gravadas", contasGravadas);
+            throw new ImportCsvException("Arquivo com caracteres invalidos para UTF-8 (" + contasGravadas + " contas de lotes anteriores ja foram gravadas)");
+        }
+
+        if (vistas.isSaturado()) {
+            log.warn("Memoria de deduplicação ({}) esgotada: linhas repetidas além dela foram contadas como ja importadas",
+                    importacao.getMemoriaDeduplicacao());
+        }
+        log.info("Importação streaming finalizada: {} linhas lidas, {} contas gravadas, {} ja importadas, {} repetidas, {} invalidas",
+                linhasLidas, contasGravadas, contasIgnoradas, contasDuplicadas, contasInvalidas[0]);
+        return ResultadoImportacao.builder()
+                .linhasLidas(linhasLidas)
+                .contasGravadas(contasGravadas)
+                .contasIgnoradas(contasIgnoradas)
+                .contasDuplicadas(contasDuplicadas)
+                .contasInvalidas(contasInvalidas[0])
+                .build();
+    }
+
+    /**
+     * Remove do lote as linhas cuja impressão digital já foi vista no arquivo. Se o conjunto estiver saturado, um
+     * conjunto do tamanho do lote garante ao menos que o escritor não receba impressões repetidas.
+     */
+    private static List<Conta> distintas(List<Conta> lote, ConjuntoImpressoesDigitais vistas) {
+        List<Conta> distintas = new ArrayList<>(lote.size());
+        ConjuntoImpressoesDigitais vistasNoLote = null;
+        for (Conta conta : lote) {
+            long impressaoDigital = ImpressaoDigitalConta.atribuir(conta);
+            boolean nova = vistas.adicionar(impressaoDigital);
+            if (nova && vistas.isSaturado()) {
+                if (vistasNoLote == null) {
+                    vistasNoLote = new ConjuntoImpressoesDigitais(lote.size());
+                }
+                nova = vistasNoLote.adicionar(impressaoDigital);
+            }
+            if (nova) {
+                distintas.add(conta);
+            }
+        }
+        return distintas;
+    }
+
+    /**
+     * @param destinoErros se informado, as linhas invalidas são entregues a ele e a leitura continua.
+     */
+    private LeitorContas abrirLeitor(Reader reader, Consumer<ErroImportacao> destinoErros) {
+        ApplicationProperties.Importacao importacao = applicationProperties.getImportacao();
+        ForkJoinPool pool = importacao.getParalelismo() > 1 ? importacaoParserPool : null;
+        LeitorContasEmBlocos leitor;
+        if (importacao.getParser() == ParserImportacao.NATIVO) {
+            leitor = new LeitorContasNativo(reader, importacao.getTamanhoLote(), pool);
+        } else if (pool != null || destinoErros != null) {
+            leitor = new LeitorContasOpenCsv(reader, importacao.getTamanhoLote(), pool);
+        } else {
+            return new LeitorContasSequencial(new BufferedReader(reader), importacao.getTamanhoLote());
+        }
+        if (destinoErros != null) {
+            leitor.coletarErros(destinoErros);
+        }
+        return leitor;
+    }
+
+    private EscritorContas abrirEscritor() {
+        if (applicationProperties.getImportacao().getMotor() == MotorImportacao.COPY) {
+            if (escritorContasCopy.isSuportado()) {
+                return escritorContasCopy;
+            }
+            log.warn("Motor de importação COPY disponivel apenas no PostgreSQL, usando JPA");
+        }
+        return escritorContasJpa;
+    }
+}
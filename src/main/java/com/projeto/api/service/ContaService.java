@@ -1,33 +1,51 @@
 package com.projeto.api.service;
 
-import com.opencsv.bean.CsvToBean;
-import com.opencsv.bean.CsvToBeanBuilder;
-import com.opencsv.bean.HeaderColumnNameMappingStrategy;
+import com.projeto.api.configs.ApplicationProperties;
 import com.projeto.api.domain.Conta;
 import com.projeto.api.domain.enumeration.ContaSituacao;
 import com.projeto.api.repository.ContaRepository;
-import com.projeto.api.service.dto.ContaCsv;
+import com.projeto.api.service.dto.CursorConta;
+import com.projeto.api.service.dto.FiltroContas;
+import com.projeto.api.service.dto.LancamentoDiario;
+import com.projeto.api.service.dto.ModoTotal;
+import com.projeto.api.service.dto.ResultadoImportacao;
+import com.projeto.api.service.importacao.ConjuntoImpressoesDigitais;
+import com.projeto.api.service.importacao.ImpressaoDigitalConta;
+import com.projeto.api.service.importacao.LeitorContas;
+import com.projeto.api.service.importacao.LeitorContasNativo;
+import com.projeto.api.web.rest.dto.ViewContaDTO;
 import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.Reader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -35,27 +53,112 @@ import java.util.Set;
 @AllArgsConstructor
 public class ContaService {
 
+    private static final int LOTE_LEITURA = 1000;
+
     private ContaRepository contaRepository;
 
+    private EntityManager entityManager;
+
+    private ContagemContasService contagemContasService;
+
+    private VersaoContasService versaoContasService;
+
+    private ContasDiarioService contasDiarioService;
+
+    private IndiceValorPagoService indiceValorPagoService;
+
+    private CacheTotalPagoService cacheTotalPagoService;
+
+    private ApplicationProperties applicationProperties;
+
+    @Transactional(readOnly = true)
     public Optional<Conta> buscarPorId(Long id){
         return contaRepository.findById(id);
     }
 
+    /**
+     * Só a versão da conta, sem carregar a entidade: é o que o {@code If-None-Match} do {@code GET /conta/{id}} compara.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> buscarVersao(Long id) {
+        return contaRepository.findVersaoById(id);
+    }
+
+    /**
+     * Versão atual da tabela de contas, que muda a cada transação desta instancia que grava contas. Não abre
+     * transação: a versão fica em memória.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long versaoContas() {
+        return versaoContasService.versaoAtual();
+    }
+
     public Conta cadastrarConta(Conta dto){
         log.info("Nova conta para ser cadastrada: {}",dto);
         dto.setSituacao(ContaSituacao.PENDENTE);
-        return contaRepository.save(dto);
+        Conta conta = contaRepository.save(dto);
+        contasDiarioService.lancar(List.of(LancamentoDiario.de(conta)));
+        contasAlteradas();
+        return conta;
+    }
+
+    /**
+     * Grava as contas, todas pendentes como no {@link #cadastrarConta}, em uma transação: em blocos de
+     * {@code tamanhoLote} com batch JDBC, limpando o contexto de persistencia a cada bloco. As contas voltam com o id
+     * atribuido, já desanexadas.
+     */
+    public List<Conta> cadastrarContas(List<Conta> contas, int tamanhoLote) {
+        log.info("Novas contas para serem cadastradas em lote: {}", contas.size());
+        if (contas.isEmpty()) {
+            return contas;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        Integer batchAnterior = session.getJdbcBatchSize();
+        CacheMode cacheAnterior = session.getCacheMode();
+        session.setJdbcBatchSize(tamanhoLote);
+        // como na importação, as contas novas não entram no cache de segundo nivel
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            List<LancamentoDiario> lancamentos = new ArrayList<>(contas.size());
+            for (int i = 0; i < contas.size(); i++) {
+                Conta conta = contas.get(i);
+                conta.setSituacao(ContaSituacao.PENDENTE);
+                entityManager.persist(conta);
+                lancamentos.add(LancamentoDiario.de(conta));
+                if ((i + 1) % tamanhoLote == 0 || i == contas.size() - 1) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            contasDiarioService.lancar(lancamentos);
+        } finally {
+            session.setJdbcBatchSize(batchAnterior);
+            session.setCacheMode(cacheAnterior);
+        }
+        contasAlteradas();
+        return contas;
     }
 
 
+    /**
+     * Soma das contas pagas no periodo, lida do indice em memória quando ele está ligado e cobre o periodo, senão do
+     * cache de totais ou do resumo {@code contas_diario} (uma linha por dia). Não abre transação: pelo indice ou pelo
+     * cache nem chega a usar conexão.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal getTotalValorPagoPorPeriodo(LocalDate dataInicial, LocalDate dataFinal) {
-        return contaRepository.findTotalValorBySituacaoAndPeriodo(ContaSituacao.PAGO, dataInicial, dataFinal);
+        if (indiceValorPagoService.atende(dataInicial, dataFinal)) {
+            return indiceValorPagoService.total(dataInicial, dataFinal);
+        }
+        return cacheTotalPagoService.obter(dataInicial, dataFinal,
+                () -> contasDiarioService.totalPorPeriodo(ContaSituacao.PAGO, dataInicial, dataFinal));
     }
 
     public Optional<Conta> atualizarConta(Conta dto){
         log.info("Atualizar conta para : {}",dto);
         return contaRepository.findById(dto.getId())
                 .map( fromDataBase -> {
+                    LancamentoDiario anterior = LancamentoDiario.de(fromDataBase);
                     if(dto.getDescricao() != null){
                         fromDataBase.setDescricao(dto.getDescricao());
                     }
@@ -71,65 +174,136 @@ public class ContaService {
                     if(dto.getSituacao() != null){
                         fromDataBase.setSituacao(dto.getSituacao());
                     }
+                    contasDiarioService.lancar(List.of(anterior.estorno(), LancamentoDiario.de(fromDataBase)));
                     return fromDataBase;
-                }).map(contaRepository::save);
+                }).map(contaRepository::save)
+                .map(conta -> {
+                    contasAlteradas();
+                    return conta;
+                });
     }
 
-    public Page<Conta> buscaPaginada(LocalDate dateVencimento, String descricao, ContaSituacao status, Pageable pageable) {
-        if(status == null){
-            status = ContaSituacao.PENDENTE;
+    /**
+     * Pagina das contas com o total calculado conforme {@code total}: com {@link ModoTotal#NENHUM} retorna apenas
+     * um {@link Slice}, sem contagem; nos demais um {@link Page}, com a contagem exata (do cache, se habilitado) ou
+     * estimada. As contas são lidas direto em {@link ViewContaDTO}, sem passar por entidades gerenciadas.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ViewContaDTO> buscaPaginada(FiltroContas filtro, Pageable pageable, ModoTotal total) {
+        filtro = filtro.comSituacaoPadrao(ContaSituacao.PENDENTE);
+        log.info("Listar contas com os filtros: {}, total={}", filtro, total);
+        if (total == ModoTotal.EXATO && !contagemContasService.isCacheHabilitado()) {
+            return contaRepository.findViewByFilters(filtro, pageable);
         }
-        log.info("Listar contas com os filtros: Data={}, descricao={}, status={}",dateVencimento,descricao,status);
-        if(dateVencimento!= null){
-            return contaRepository.findByFilters(status, dateToString(dateVencimento), descricao,  pageable);
+        Slice<ViewContaDTO> slice = contaRepository.findSliceByFilters(filtro, pageable);
+        if (total == ModoTotal.NENHUM) {
+            return slice;
         }
-        return contaRepository.findByFilters(status, descricao,  pageable);
+        long totalContas = total == ModoTotal.ESTIMADO
+                ? contagemContasService.estimar(filtro)
+                : contagemContasService.contar(filtro);
+        // a estimativa pode ser menor que o que já foi lido; o minimo mantém o link da proxima pagina
+        long minimo = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(slice.getContent(), pageable, Math.max(totalContas, minimo));
     }
 
-    private String dateToString(LocalDate date){
-        if(date == null){
-            return null;
-        }
-        return date != null ? date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) : null;
+    /**
+     * Pagina de até {@code tamanho} contas na ordem {@code (dataVencimento, id)}, começando depois de {@code depois}
+     * (ou do inicio, se {@code null}). Busca uma conta a mais apenas para saber se existe pagina seguinte.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ViewContaDTO> buscaPorCursor(FiltroContas filtro, CursorConta depois, int tamanho) {
+        filtro = filtro.comSituacaoPadrao(ContaSituacao.PENDENTE);
+        log.info("Listar contas por cursor com os filtros: {}, depois={}", filtro, depois);
+        List<ViewContaDTO> contas = contaRepository.findByFiltersKeyset(filtro, depois, tamanho + 1);
+        boolean temProxima = contas.size() > tamanho;
+        return new SliceImpl<>(temProxima ? contas.subList(0, tamanho) : contas, PageRequest.of(0, tamanho), temProxima);
     }
 
-    public Integer importarContas(MultipartFile file) throws IOException, ImportCsvException {
-        Set<Conta> list = parseCsv(file);
-        return contaRepository.saveAll(list).size();
+    /**
+     * Entrega ao {@code destino}, em ordem de id, as contas que atendem aos filtros, lidas do cursor do banco sem
+     * carregar o resultado em memória. Cada conta é desanexada do contexto de persistencia assim que entregue.
+     *
+     * @param filtro sem situações, contas de todas as situações.
+     * @return quantidade de contas entregues.
+     */
+    @Transactional(readOnly = true)
+    public long exportarContas(FiltroContas filtro, Consumer<Conta> destino) {
+        log.info("Exportar contas com os filtros: {}", filtro);
+        long contas = 0;
+        try (Stream<Conta> stream = contaRepository.streamByFilters(filtro)) {
+            Iterator<Conta> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Conta conta = iterator.next();
+                destino.accept(conta);
+                entityManager.detach(conta);
+                contas++;
+            }
+        }
+        return contas;
     }
 
-    private Set<Conta> parseCsv(MultipartFile file) throws IOException, ImportCsvException, DateTimeParseException {
-        try(Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))){
-            HeaderColumnNameMappingStrategy<ContaCsv> strategy = new HeaderColumnNameMappingStrategy<>();
-            strategy.setType(ContaCsv.class);
-            CsvToBean<ContaCsv> csvToBean = new CsvToBeanBuilder<ContaCsv>(reader)
-                    .withMappingStrategy(strategy)
-                    .withIgnoreEmptyLine(true)
-                    .withIgnoreLeadingWhiteSpace(true)
+    /**
+     * Valida o arquivo inteiro e grava as contas em uma transação, descartando as linhas repetidas no arquivo e
+     * ignorando as já importadas antes.
+     *
+     * @throws ImportCsvException se o arquivo exceder {@code application.importacao.tamanho-maximo-memoria}.
+     */
+    public ResultadoImportacao importarContas(MultipartFile file) throws IOException, ImportCsvException {
+        DataSize tamanhoMaximo = applicationProperties.getImportacao().getTamanhoMaximoMemoria();
+        if (file.getSize() > tamanhoMaximo.toBytes()) {
+            throw new ImportCsvException("Arquivo excede o tamanho maximo de " + tamanhoMaximo
+                    + " do modo MEMORIA; use o modo STREAMING ou ARQUIVO");
+        }
+        try(LeitorContas leitor = new LeitorContasNativo(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8), LOTE_LEITURA, null)){
+            List<Conta> contas = parseCsv(leitor);
+            List<Conta> novas = removerJaImportadas(contas);
+            int gravadas = novas.isEmpty() ? 0 : contaRepository.saveAll(novas).size();
+            if (gravadas > 0) {
+                contasDiarioService.lancar(novas.stream().map(LancamentoDiario::de).toList());
+                contasAlteradas();
+            }
+            return ResultadoImportacao.builder()
+                    .linhasLidas(leitor.getLinhasLidas())
+                    .contasGravadas(gravadas)
+                    .contasIgnoradas(contas.size() - novas.size())
+                    .contasDuplicadas(leitor.getLinhasLidas() - contas.size())
                     .build();
-            List<ContaCsv> lines = csvToBean.parse();
-            Set<Conta> contas = new HashSet<>();
+        }
+    }
 
-            for (int i = 0; i < lines.size(); i++) {
-                ContaCsv line = lines.get(i);
-                if (line.getValor() == null) {
-                    throw new ImportCsvException("Valor deve ser preenchido na linha " + (i + 1));
-                }
-                try{
-                    line.getDataPagamentoLocalDate();
-                    line.getDataVencimentoLocalDate();
-                } catch (DateTimeParseException dateTimeParseException){
-                    throw new ImportCsvException("Formato de data Invalida na linha " + (i + 1));
+    private void contasAlteradas() {
+        contagemContasService.invalidar();
+        versaoContasService.registrarAlteracao();
+    }
+
+    private List<Conta> parseCsv(LeitorContas leitor) throws IOException, ImportCsvException, DateTimeParseException {
+        List<Conta> contas = new ArrayList<>();
+        ConjuntoImpressoesDigitais vistas = new ConjuntoImpressoesDigitais(LOTE_LEITURA);
+        List<Conta> lote;
+        while ((lote = leitor.proximoLote()) != null) {
+            for (Conta conta : lote) {
+                if (vistas.adicionar(ImpressaoDigitalConta.atribuir(conta))) {
+                    contas.add(conta);
                 }
-                contas.add(Conta.builder()
-                        .dataPagamento(line.getDataPagamentoLocalDate())
-                        .dataVencimento(line.getDataVencimentoLocalDate())
-                        .descricao(line.getDescricao())
-                        .valor(line.getValor())
-                        .situacao(line.getSituacaoEnum())
-                        .build());
             }
+        }
+        return contas;
+    }
+
+    private List<Conta> removerJaImportadas(List<Conta> contas) {
+        Set<Long> existentes = new HashSet<>();
+        for (int i = 0; i < contas.size(); i += LOTE_LEITURA) {
+            existentes.addAll(contaRepository.findImpressoesDigitaisExistentes(contas.subList(i, Math.min(i + LOTE_LEITURA, contas.size()))
+                    .stream()
+                    .map(Conta::getImpressaoDigital)
+                    .toList()));
+        }
+        if (existentes.isEmpty()) {
             return contas;
         }
+        return contas.stream()
+                .filter(conta -> !existentes.contains(conta.getImpressaoDigital()))
+                .toList();
     }
 }
@@ -0,0 +1,180 @@
+package com.projeto.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.repository.ContaSpecifications;
+import com.projeto.api.service.dto.FiltroContas;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totais do {@code X-Total-Count} do {@code /listar}.
+ * <p>
+ * Com {@code application.listagem.cache-contagem.habilitado} a contagem exata de cada filtro é reaproveitada até
+ * expirar ou até a proxima gravação de contas pela aplicação ({@link #invalidar()}), em um cache limitado em
+ * quantidade e validade. Contagens simultaneas do mesmo filtro esperam a primeira; uma contagem que estava em
+ * andamento quando contas foram gravadas é devolvida, mas não fica no cache.
+ */
+@Service
+@Slf4j
+public class ContagemContasService implements MeterBinder {
+
+    private static final String NOME_CACHE = "contagem-contas";
+
+    private final ContaRepository contaRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Cache<FiltroContas, Contagem> cache;
+
+    /**
+     * Incrementada a cada gravação de contas, antes do descarte.
+     */
+    private final AtomicLong versao = new AtomicLong();
+
+    private final BancoDados bancoDados;
+
+    private final ObjectMapper objectMapper;
+
+    public ContagemContasService(ContaRepository contaRepository, JdbcTemplate jdbcTemplate,
+                                 ApplicationProperties applicationProperties, BancoDados bancoDados,
+                                 ObjectMapper objectMapper) {
+        this.contaRepository = contaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.applicationProperties = applicationProperties;
+        this.bancoDados = bancoDados;
+        this.objectMapper = objectMapper;
+        ApplicationProperties.CacheContagem configuracao = applicationProperties.getListagem().getCacheContagem();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuracao.getTamanhoMaximo())
+                .expireAfterWrite(configuracao.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NOME_CACHE);
+    }
+
+    public boolean isCacheHabilitado() {
+        return applicationProperties.getListagem().getCacheContagem().isHabilitado();
+    }
+
+    /**
+     * Contagem exata das contas do filtro, do cache quando habilitado.
+     */
+    public long contar(FiltroContas filtro) {
+        if (!isCacheHabilitado()) {
+            return contarNoBanco(filtro);
+        }
+        Contagem contagem = cache.get(filtro, chave -> {
+            long inicio = versao.get();
+            long total = contarNoBanco(chave);
+            return new Contagem(total, versao.get() != inicio);
+        });
+        if (contagem.desatualizada()) {
+            cache.asMap().remove(filtro, contagem);
+        }
+        return contagem.total();
+    }
+
+    /**
+     * Quantidade de linhas que o planejador do PostgreSQL estima para o filtro, a partir das estatisticas da tabela
+     * ({@code EXPLAIN}, sem executar a consulta). Em outros bancos, ou se o {@code EXPLAIN} falhar, a contagem exata.
+     * <p>
+     * Usa a conexão da transação em andamento, a mesma da pagina (e da replica, se for o caso), sem ocupar uma
+     * segunda conexão do pool. Um savepoint isola a falha do {@code EXPLAIN}, que no PostgreSQL abortaria a
+     * transação e a contagem exata que a substitui.
+     */
+    public long estimar(FiltroContas filtro) {
+        if (!bancoDados.isPostgres()) {
+            return contar(filtro);
+        }
+        List<Object> parametros = new ArrayList<>();
+        String sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM contas WHERE " + ContaSpecifications.sql(filtro, parametros);
+        try {
+            String plano = jdbcTemplate.execute((ConnectionCallback<String>) connection -> explicar(connection, sql, parametros));
+            return objectMapper.readTree(plano).get(0).get("Plan").get("Plan Rows").asLong();
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Não foi possivel estimar a quantidade de contas, usando a contagem exata", e);
+            return contar(filtro);
+        }
+    }
+
+    /**
+     * Descarta as contagens guardadas. Deve ser chamado sempre que contas forem gravadas; dentro de uma transação o
+     * descarte acontece após o commit, para que uma contagem feita antes dele não seja guardada como atual.
+     */
+    public void invalidar() {
+        versao.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartar();
+                }
+            });
+        } else {
+            descartar();
+        }
+    }
+
+    /**
+     * O incremento antes do descarte marca as contagens que começaram antes do commit e ainda não terminaram, que o
+     * descarte não alcança.
+     */
+    private void descartar() {
+        versao.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private long contarNoBanco(FiltroContas filtro) {
+        return contaRepository.countByFilters(filtro);
+    }
+
+    private static String explicar(Connection connection, String sql, List<Object> parametros) throws SQLException {
+        Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parametros.size(); i++) {
+                statement.setObject(i + 1, parametros.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        } catch (SQLException e) {
+            if (savepoint != null) {
+                connection.rollback(savepoint);
+            }
+            throw e;
+        }
+    }
+
+    private record Contagem(long total, boolean desatualizada) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.LancamentoDiario;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resumo {@code contas_diario}: soma e quantidade de contas por situação e dia de pagamento, para que o total de um
+ * periodo leia no maximo uma linha por dia em vez de todas as contas.
+ * <p>
+ * Quem grava contas lança a variação do resumo na mesma transação ({@link #lancar(Collection)}), então o resumo e
+ * as contas são commitados ou desfeitos juntos. Gravações feitas direto no banco ficam fora do resumo até um
+ * {@link #reconstruir()}.
+ */
+@Service
+@Slf4j
+public class ContasDiarioService {
+
+    private static final String SQL_TOTAL = "SELECT SUM(valor_total) FROM contas_diario "
+            + "WHERE situacao = ? AND data_pagamento BETWEEN ? AND ? AND quantidade > 0";
+
+    private static final String SQL_SOMAR_POSTGRES = "INSERT INTO contas_diario (situacao, data_pagamento, valor_total, quantidade) "
+            + "VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (situacao, data_pagamento) DO UPDATE SET "
+            + "valor_total = contas_diario.valor_total + EXCLUDED.valor_total, "
+            + "quantidade = contas_diario.quantidade + EXCLUDED.quantidade";
+
+    private static final String SQL_SOMAR_MERGE = "MERGE INTO contas_diario d "
+            + "USING (VALUES (CAST(? AS VARCHAR(50)), CAST(? AS DATE), CAST(? AS DECIMAL(38, 2)), CAST(? AS BIGINT))) "
+            + "AS n (situacao, data_pagamento, valor_total, quantidade) "
+            + "ON d.situacao = n.situacao AND d.data_pagamento = n.data_pagamento "
+            + "WHEN MATCHED THEN UPDATE SET valor_total = d.valor_total + n.valor_total, quantidade = d.quantidade + n.quantidade "
+            + "WHEN NOT MATCHED THEN INSERT (situacao, data_pagamento, valor_total, quantidade) "
+            + "VALUES (n.situacao, n.data_pagamento, n.valor_total, n.quantidade)";
+
+    private static final String SQL_TRAVAR_CONTAS = "LOCK TABLE contas IN SHARE ROW EXCLUSIVE MODE";
+
+    private static final String SQL_LIMPAR = "DELETE FROM contas_diario";
+
+    private static final String SQL_RECONSTRUIR = "INSERT INTO contas_diario (situacao, data_pagamento, valor_total, quantidade) "
+            + "SELECT situacao, data_pagamento, SUM(valor), COUNT(*) FROM contas "
+            + "WHERE situacao IS NOT NULL AND data_pagamento IS NOT NULL "
+            + "GROUP BY situacao, data_pagamento";
+
+    private static final Comparator<LancamentoDiario> ORDEM_CHAVE = Comparator
+            .comparing(LancamentoDiario::situacao)
+            .thenComparing(LancamentoDiario::dataPagamento);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManager entityManager;
+
+    private final IndiceValorPagoService indiceValorPagoService;
+
+    private final CacheTotalPagoService cacheTotalPagoService;
+
+    private final BancoDados bancoDados;
+
+    public ContasDiarioService(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                               IndiceValorPagoService indiceValorPagoService, CacheTotalPagoService cacheTotalPagoService,
+                               BancoDados bancoDados) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.indiceValorPagoService = indiceValorPagoService;
+        this.cacheTotalPagoService = cacheTotalPagoService;
+        this.bancoDados = bancoDados;
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal totalPorPeriodo(ContaSituacao situacao, LocalDate dataInicial, LocalDate dataFinal) {
+        return jdbcTemplate.queryForObject(SQL_TOTAL, BigDecimal.class,
+                situacao.name(), Date.valueOf(dataInicial), Date.valueOf(dataFinal));
+    }
+
+    /**
+     * Soma os lançamentos ao resumo, uma linha por situação e dia. As linhas são atualizadas sempre na ordem da
+     * chave, então duas gravações simultaneas que tocam os mesmos dias não travam uma à outra em ciclo.
+     * <p>
+     * As contas pendentes no contexto de persistencia são gravadas antes: toda transação trava {@code contas} antes
+     * de {@code contas_diario}, a mesma ordem do {@link #reconstruir()}. Depois do commit as variações chegam ao
+     * {@link IndiceValorPagoService} e ao {@link CacheTotalPagoService}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lancar(Collection<LancamentoDiario> lancamentos) {
+        Map<LancamentoDiario, LancamentoDiario> porChave = new TreeMap<>(ORDEM_CHAVE);
+        for (LancamentoDiario lancamento : lancamentos) {
+            if (lancamento.isResumivel()) {
+                porChave.merge(lancamento, lancamento, (a, b) -> new LancamentoDiario(a.situacao(), a.dataPagamento(),
+                        a.valor().add(b.valor()), a.quantidade() + b.quantidade()));
+            }
+        }
+        List<LancamentoDiario> totais = new ArrayList<>(porChave.size());
+        List<Object[]> parametros = new ArrayList<>(porChave.size());
+        for (LancamentoDiario total : porChave.values()) {
+            if (total.quantidade() != 0 || total.valor().signum() != 0) {
+                totais.add(total);
+                parametros.add(new Object[]{total.situacao().name(), Date.valueOf(total.dataPagamento()),
+                        total.valor(), total.quantidade()});
+            }
+        }
+        if (!parametros.isEmpty()) {
+            entityManager.flush();
+            jdbcTemplate.batchUpdate(bancoDados.isPostgres() ? SQL_SOMAR_POSTGRES : SQL_SOMAR_MERGE, parametros);
+            indiceValorPagoService.registrar(totais);
+            cacheTotalPagoService.registrar(totais);
+        }
+    }
+
+    /**
+     * Recalcula o resumo inteiro a partir de {@code contas}. No PostgreSQL as gravações de contas (e outras
+     * reconstruções) esperam até o fim, para que nenhuma caia entre a limpeza e o recalculo; as leituras continuam.
+     *
+     * @return quantidade de linhas do resumo.
+     */
+    @Transactional
+    public int reconstruir() {
+        if (bancoDados.isPostgres()) {
+            jdbcTemplate.execute(SQL_TRAVAR_CONTAS);
+        }
+        jdbcTemplate.update(SQL_LIMPAR);
+        int linhas = jdbcTemplate.update(SQL_RECONSTRUIR);
+        indiceValorPagoService.recarregarAposCommit();
+        cacheTotalPagoService.limpar();
+        log.info("Resumo contas_diario reconstruido: {} linhas", linhas);
+        return linhas;
+    }
+}
@@ -0,0 +1,233 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.LancamentoDiario;
+import com.projeto.api.service.indice.ArvoreFenwick;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Indice em memória do total pago por dia: duas {@link ArvoreFenwick} por dia de pagamento (epoch day), uma com a
+ * soma em centavos e outra com a quantidade de contas, cobrindo {@code application.indice-valor-pago.inicio..fim}.
+ * O total de qualquer periodo dentro dessa faixa sai em {@code O(log n)}, sem conexão com o banco.
+ * <p>
+ * É carregado do {@code contas_diario} antes de a aplicação receber requisições e atualizado com as variações
+ * lançadas pelo {@link ContasDiarioService}, depois do commit de cada transação. Gravações de outras instancias ou
+ * feitas direto no banco não chegam aqui.
+ */
+@Service
+@Slf4j
+public class IndiceValorPagoService implements SmartInitializingSingleton {
+
+    private static final String SQL_CARGA = "SELECT data_pagamento, valor_total, quantidade FROM contas_diario "
+            + "WHERE situacao = ? AND data_pagamento BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties.IndiceValorPago configuracao;
+
+    /**
+     * Escritas exclusivas; as leituras são otimistas e só esperam se uma escrita acontecer no meio.
+     */
+    private final StampedLock trava = new StampedLock();
+
+    /**
+     * {@code null} enquanto o indice não foi carregado ou se estiver desligado.
+     */
+    private volatile Indice indice;
+
+    public IndiceValorPagoService(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.configuracao = applicationProperties.getIndiceValorPago();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (configuracao.isHabilitado()) {
+            carregar();
+        }
+    }
+
+    /**
+     * Lê de novo todo o indice do {@code contas_diario}.
+     */
+    public void carregar() {
+        Indice novo = ler();
+        long stamp = trava.writeLock();
+        try {
+            indice = novo;
+        } finally {
+            trava.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Lê o indice na transação atual e só o coloca no lugar do atual depois do commit, para uso após uma
+     * reconstrução do {@code contas_diario}. Do {@code beforeCommit} até a troca as variações de outras transações
+     * esperam, então nenhuma é aplicada ao indice antigo e perdida na troca.
+     */
+    public void recarregarAposCommit() {
+        if (!configuracao.isHabilitado()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            carregar();
+            return;
+        }
+        Indice novo = ler();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long stamp;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                stamp = trava.writeLock();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (stamp == 0) {
+                    return;
+                }
+                if (status == STATUS_COMMITTED) {
+                    indice = novo;
+                }
+                trava.unlockWrite(stamp);
+            }
+        });
+    }
+
+    /**
+     * Se o indice está carregado e cobre o periodo inteiro.
+     */
+    public boolean atende(LocalDate dataInicial, LocalDate dataFinal) {
+        Indice atual = indice;
+        return atual != null && !dataInicial.isBefore(atual.inicio()) && !dataFinal.isAfter(atual.fim());
+    }
+
+    /**
+     * Soma das contas pagas no periodo, ou {@code null} se nenhuma foi paga nele, como a consulta ao banco. Só deve
+     * ser chamado quando {@link #atende(LocalDate, LocalDate)}.
+     */
+    public BigDecimal total(LocalDate dataInicial, LocalDate dataFinal) {
+        if (dataInicial.isAfter(dataFinal)) {
+            return null;
+        }
+        long stamp = trava.tryOptimisticRead();
+        Indice atual = indice;
+        long centavos = atual.centavos(dataInicial, dataFinal);
+        long quantidade = atual.quantidade(dataInicial, dataFinal);
+        if (!trava.validate(stamp)) {
+            stamp = trava.readLock();
+            try {
+                atual = indice;
+                centavos = atual.centavos(dataInicial, dataFinal);
+                quantidade = atual.quantidade(dataInicial, dataFinal);
+            } finally {
+                trava.unlockRead(stamp);
+            }
+        }
+        return quantidade > 0 ? BigDecimal.valueOf(centavos, 2) : null;
+    }
+
+    /**
+     * Aplica as variações das contas pagas depois do commit da transação atual; sem transação, na hora.
+     */
+    public void registrar(Collection<LancamentoDiario> totais) {
+        if (indice == null) {
+            return;
+        }
+        List<LancamentoDiario> pagos = new ArrayList<>(totais.size());
+        for (LancamentoDiario total : totais) {
+            if (total.situacao() == ContaSituacao.PAGO) {
+                pagos.add(total);
+            }
+        }
+        if (pagos.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(pagos);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aplicar(pagos);
+            }
+        });
+    }
+
+    private void aplicar(List<LancamentoDiario> pagos) {
+        long stamp = trava.writeLock();
+        try {
+            Indice atual = indice;
+            if (atual == null) {
+                return;
+            }
+            for (LancamentoDiario pago : pagos) {
+                atual.somar(pago.dataPagamento(), centavos(pago.valor()), pago.quantidade());
+            }
+        } finally {
+            trava.unlockWrite(stamp);
+        }
+    }
+
+    private Indice ler() {
+        LocalDate inicio = configuracao.getInicio();
+        LocalDate fim = configuracao.getFim();
+        int dias = Math.toIntExact(fim.toEpochDay() - inicio.toEpochDay() + 1);
+        long[] centavos = new long[dias];
+        long[] quantidades = new long[dias];
+        jdbcTemplate.query(SQL_CARGA, rs -> {
+            int dia = (int) (rs.getDate(1).toLocalDate().toEpochDay() - inicio.toEpochDay());
+            centavos[dia] += centavos(rs.getBigDecimal(2));
+            quantidades[dia] += rs.getLong(3);
+        }, ContaSituacao.PAGO.name(), Date.valueOf(inicio), Date.valueOf(fim));
+        log.info("Indice de valor pago carregado: {} dias de {} a {}", dias, inicio, fim);
+        return new Indice(inicio, fim, ArvoreFenwick.de(centavos), ArvoreFenwick.de(quantidades));
+    }
+
+    /**
+     * Valor em centavos, arredondado como o {@code DECIMAL(19, 2)} da coluna.
+     */
+    private static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private record Indice(LocalDate inicio, LocalDate fim, ArvoreFenwick centavos, ArvoreFenwick quantidades) {
+
+        long centavos(LocalDate de, LocalDate ate) {
+            return centavos.intervalo(posicao(de), posicao(ate));
+        }
+
+        long quantidade(LocalDate de, LocalDate ate) {
+            return quantidades.intervalo(posicao(de), posicao(ate));
+        }
+
+        void somar(LocalDate dia, long centavos, long quantidade) {
+            if (dia.isBefore(inicio) || dia.isAfter(fim)) {
+                return;
+            }
+            this.centavos.somar(posicao(dia), centavos);
+            quantidades.somar(posicao(dia), quantidade);
+        }
+
+        private int posicao(LocalDate dia) {
+            return (int) (dia.toEpochDay() - inicio.toEpochDay());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.AgrupamentoPeriodo;
+import com.projeto.api.service.dto.DataReferencia;
+import com.projeto.api.web.rest.dto.ViewTotaisContasDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Soma e quantidade de contas por periodo e situação, em um unico {@code GROUP BY}. Por pagamento lê o resumo
+ * {@code contas_diario} (uma linha por situação e dia); por vencimento lê {@code contas} pelo indice
+ * {@code idx_contas_vencimento_mes}, que tem o mes do vencimento e as colunas somadas.
+ */
+@Service
+public class TotaisContasService {
+
+    private static final String SQL_PAGAMENTO = "SELECT %s AS periodo, situacao, SUM(valor_total), SUM(quantidade) "
+            + "FROM contas_diario "
+            + "WHERE data_pagamento BETWEEN ? AND ? AND quantidade > 0 "
+            + "GROUP BY %1$s, situacao ORDER BY periodo, situacao";
+
+    /**
+     * O filtro pelo mes, com a expressão do indice, é o que o PostgreSQL usa para percorrer só o trecho do indice;
+     * o filtro pela data corta os dias fora do periodo quando o agrupamento é menor que um mes.
+     */
+    private static final String SQL_VENCIMENTO = "SELECT %s AS periodo, situacao, SUM(valor), COUNT(*) "
+            + "FROM contas "
+            + "WHERE %s BETWEEN ? AND ? AND data_vencimento BETWEEN ? AND ? AND situacao IS NOT NULL "
+            + "GROUP BY %1$s, situacao ORDER BY periodo, situacao";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final BancoDados bancoDados;
+
+    public TotaisContasService(JdbcTemplate jdbcTemplate, BancoDados bancoDados) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bancoDados = bancoDados;
+    }
+
+    /**
+     * Totais dos periodos que cobrem {@code dataInicial..dataFinal}, estendido até o inicio do primeiro periodo e o
+     * fim do ultimo, para que nenhum periodo venha pela metade.
+     */
+    @Transactional(readOnly = true)
+    public ViewTotaisContasDTO totais(DataReferencia data, AgrupamentoPeriodo agrupamento,
+                                      LocalDate dataInicial, LocalDate dataFinal) {
+        LocalDate inicio = agrupamento.inicio(dataInicial);
+        LocalDate fim = agrupamento.fim(dataFinal);
+        String periodo = truncar(agrupamento, data == DataReferencia.PAGAMENTO ? "data_pagamento" : "data_vencimento");
+
+        List<Linha> linhas;
+        if (data == DataReferencia.PAGAMENTO) {
+            linhas = jdbcTemplate.query(String.format(SQL_PAGAMENTO, periodo), TotaisContasService::linha,
+                    Date.valueOf(inicio), Date.valueOf(fim));
+        } else {
+            linhas = jdbcTemplate.query(String.format(SQL_VENCIMENTO, periodo, truncar(AgrupamentoPeriodo.MES, "data_vencimento")),
+                    TotaisContasService::linha, Date.valueOf(inicio.withDayOfMonth(1)), Date.valueOf(fim.withDayOfMonth(1)),
+                    Date.valueOf(inicio), Date.valueOf(fim));
+        }
+
+        Map<LocalDate, Integer> posicoes = new LinkedHashMap<>();
+        for (Linha linha : linhas) {
+            posicoes.putIfAbsent(linha.periodo(), posicoes.size());
+        }
+        return ViewTotaisContasDTO.builder()
+                .agrupamento(agrupamento)
+                .data(data)
+                .dataInicial(inicio)
+                .dataFinal(fim)
+                .periodos(new ArrayList<>(posicoes.keySet()))
+                .series(series(linhas, posicoes))
+                .build();
+    }
+
+    /**
+     * Uma serie por situação, com os periodos em que ela não tem contas zerados.
+     */
+    private static List<ViewTotaisContasDTO.Serie> series(List<Linha> linhas, Map<LocalDate, Integer> posicoes) {
+        Map<ContaSituacao, ViewTotaisContasDTO.Serie> series = new EnumMap<>(ContaSituacao.class);
+        for (Linha linha : linhas) {
+            ViewTotaisContasDTO.Serie serie = series.computeIfAbsent(linha.situacao(), situacao -> {
+                BigDecimal[] valores = new BigDecimal[posicoes.size()];
+                Arrays.fill(valores, BigDecimal.ZERO);
+                return ViewTotaisContasDTO.Serie.builder()
+                        .situacao(situacao)
+                        .valores(valores)
+                        .quantidades(new long[posicoes.size()])
+                        .build();
+            });
+            int posicao = posicoes.get(linha.periodo());
+            serie.getValores()[posicao] = linha.valor();
+            serie.getQuantidades()[posicao] = linha.quantidade();
+        }
+        return new ArrayList<>(series.values());
+    }
+
+    private static Linha linha(ResultSet rs, int numero) throws SQLException {
+        return new Linha(rs.getDate(1).toLocalDate(), ContaSituacao.valueOf(rs.getString(2)),
+                rs.getBigDecimal(3), rs.getLong(4));
+    }
+
+    /**
+     * Primeiro dia do periodo da coluna. A semana do {@code date_trunc} do PostgreSQL já é ISO; no H2 é
+     * {@code iso_week}, a {@code week} dele começa no domingo.
+     */
+    private String truncar(AgrupamentoPeriodo agrupamento, String coluna) {
+        String unidade = agrupamento == AgrupamentoPeriodo.SEMANA && !bancoDados.isPostgres() ? "iso_week" : agrupamento.getUnidade();
+        return "CAST(date_trunc('" + unidade + "', CAST(" + coluna + " AS timestamp)) AS date)";
+    }
+
+    private record Linha(LocalDate periodo, ContaSituacao situacao, BigDecimal valor, long quantidade) {
+    }
+}
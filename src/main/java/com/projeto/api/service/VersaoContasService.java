@@ -0,0 +1,82 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador em memória das alterações da tabela {@code contas}, usado como ETag do {@code /listar}: se o contador não
+ * mudou, nenhuma pagina mudou e a busca nem precisa ser feita.
+ * <p>
+ * O incremento é feito no {@code afterCommit} da transação que gravou as contas, uma vez por transação, sem travar
+ * nada no banco. Como os demais caches, cada instancia tem o seu: o contador começa em um valor aleatorio, para que o
+ * ETag de outra instancia ou de antes de um restart nunca confira, e avança sozinho a cada
+ * {@code application.listagem.validade-etag}, o que limita a defasagem causada por gravações de outras instancias.
+ * Gravações feitas direto no banco também só aparecem depois da validade.
+ */
+@Service
+public class VersaoContasService {
+
+    private final AtomicLong versao = new AtomicLong(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE / 2));
+
+    private final Duration validade;
+
+    private final Clock clock;
+
+    private volatile long expiraEm;
+
+    @Autowired
+    public VersaoContasService(ApplicationProperties applicationProperties) {
+        this(applicationProperties, Clock.systemUTC());
+    }
+
+    VersaoContasService(ApplicationProperties applicationProperties, Clock clock) {
+        this.validade = applicationProperties.getListagem().getValidadeEtag();
+        this.clock = clock;
+        this.expiraEm = clock.millis() + validade.toMillis();
+    }
+
+    public long versaoAtual() {
+        if (validade.isZero()) {
+            return versao.get();
+        }
+        long agora = clock.millis();
+        if (agora >= expiraEm) {
+            expiraEm = agora + validade.toMillis();
+            return versao.incrementAndGet();
+        }
+        return versao.get();
+    }
+
+    /**
+     * Marca a transação atual como uma alteração de contas; sem transação, incrementa na hora.
+     */
+    public void registrarAlteracao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versao.incrementAndGet();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versao.incrementAndGet();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(VersaoContasService.this);
+            }
+        });
+    }
+}
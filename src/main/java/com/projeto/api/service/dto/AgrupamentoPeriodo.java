@@ -0,0 +1,53 @@
+package com.projeto.api.service.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Tamanho dos periodos em que o {@code /totais} agrupa as contas. Cada periodo é identificado pelo seu primeiro dia;
+ * a semana começa na segunda-feira (ISO 8601).
+ */
+public enum AgrupamentoPeriodo {
+    DIA("day"),
+    SEMANA("week"),
+    MES("month"),
+    ANO("year");
+
+    /**
+     * Unidade do {@code date_trunc} do PostgreSQL.
+     */
+    private final String unidade;
+
+    AgrupamentoPeriodo(String unidade) {
+        this.unidade = unidade;
+    }
+
+    public String getUnidade() {
+        return unidade;
+    }
+
+    /**
+     * Primeiro dia do periodo que contém a data.
+     */
+    public LocalDate inicio(LocalDate data) {
+        return switch (this) {
+            case DIA -> data;
+            case SEMANA -> data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> data.withDayOfMonth(1);
+            case ANO -> data.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Ultimo dia do periodo que contém a data.
+     */
+    public LocalDate fim(LocalDate data) {
+        return switch (this) {
+            case DIA -> data;
+            case SEMANA -> data.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+            case MES -> data.with(TemporalAdjusters.lastDayOfMonth());
+            case ANO -> data.with(TemporalAdjusters.lastDayOfYear());
+        };
+    }
+}
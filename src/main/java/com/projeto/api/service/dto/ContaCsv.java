@@ -1,15 +1,22 @@
 package com.projeto.api.service.dto;
 
 import com.opencsv.bean.CsvBindByName;
+import com.opencsv.bean.CsvToBean;
+import com.opencsv.bean.CsvToBeanBuilder;
+import com.opencsv.bean.HeaderColumnNameMappingStrategy;
+import com.projeto.api.domain.Conta;
 import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 @Builder
 @Data
@@ -33,6 +40,20 @@ public class ContaCsv {
     @CsvBindByName(column = "situacao")
     private String situacao;
 
+    /**
+     * Cria o leitor opencsv para o layout de importação de contas (colunas mapeadas pelo nome do cabeçalho).
+     * O {@link CsvToBean} retornado pode ser consumido de uma vez ({@code parse()}) ou linha a linha ({@code iterator()}).
+     */
+    public static CsvToBean<ContaCsv> leitor(Reader reader) {
+        HeaderColumnNameMappingStrategy<ContaCsv> strategy = new HeaderColumnNameMappingStrategy<>();
+        strategy.setType(ContaCsv.class);
+        return new CsvToBeanBuilder<ContaCsv>(reader)
+                .withMappingStrategy(strategy)
+                .withIgnoreEmptyLine(true)
+                .withIgnoreLeadingWhiteSpace(true)
+                .build();
+    }
+
     public LocalDate getDataPagamentoLocalDate(){
         if(dataPagamento != null && !dataPagamento.isBlank()) {
             return LocalDate.parse(dataPagamento, FORMATTER);
@@ -53,4 +74,31 @@ public class ContaCsv {
         }
         return ContaSituacao.PENDENTE;
     }
+
+    /**
+     * Valida a linha e converte para {@link Conta}.
+     *
+     * @param linha numero da linha de dados (sem contar o cabeçalho), usado nas mensagens de erro.
+     * @return a conta pronta para ser persistida.
+     * @throws ImportCsvException se o valor não estiver preenchido, alguma data estiver em formato invalido ou a
+     *                            situação não existir.
+     */
+    public Conta toConta(long linha) throws ImportCsvException {
+        if (valor == null) {
+            throw new ImportCsvException("Valor deve ser preenchido na linha " + linha);
+        }
+        try{
+            return Conta.builder()
+                    .dataPagamento(getDataPagamentoLocalDate())
+                    .dataVencimento(getDataVencimentoLocalDate())
+                    .descricao(descricao)
+                    .valor(valor)
+                    .situacao(getSituacaoEnum())
+                    .build();
+        } catch (DateTimeParseException dateTimeParseException){
+            throw new ImportCsvException("Formato de data Invalida na linha " + linha);
+        } catch (IllegalArgumentException situacaoInvalida) {
+            throw new ImportCsvException("Situacao invalida na linha " + linha);
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package com.projeto.api.service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Conta pendente vencida, com o atraso na data base do {@code /aging}.
+ */
+public record ContaEmAtraso(long id, String descricao, LocalDate dataVencimento, BigDecimal valor,
+                            long diasAtraso, FaixaAtraso faixa) {
+}
@@ -0,0 +1,39 @@
+package com.projeto.api.service.dto;
+
+import com.projeto.api.web.rest.dto.ViewContaDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Posição da ultima conta entregue na paginação por cursor do {@code /listar}, que segue a ordem
+ * {@code (dataVencimento, id)}. Para o cliente é um token opaco; a codificação pode mudar entre versões.
+ */
+public record CursorConta(LocalDate dataVencimento, long id) {
+
+    private static final char SEPARADOR = '|';
+
+    public static CursorConta depoisDe(ViewContaDTO conta) {
+        return new CursorConta(conta.getDataVencimento(), conta.getId());
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token não tiver sido gerado por {@link #codificar()}.
+     */
+    public static CursorConta decodificar(String token) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = texto.indexOf(SEPARADOR);
+            return new CursorConta(LocalDate.ofEpochDay(Long.parseLong(texto.substring(0, separador))),
+                    Long.parseLong(texto.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor invalido: " + token, e);
+        }
+    }
+
+    public String codificar() {
+        String texto = Long.toString(dataVencimento.toEpochDay()) + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,15 @@
+package com.projeto.api.service.dto;
+
+/**
+ * Data da conta usada para colocá-la em um periodo do {@code /totais}.
+ */
+public enum DataReferencia {
+    /**
+     * {@code data_vencimento}: o que vence em cada periodo, pago ou não.
+     */
+    VENCIMENTO,
+    /**
+     * {@code data_pagamento}: o que foi pago em cada periodo. Contas sem data de pagamento ficam de fora.
+     */
+    PAGAMENTO;
+}
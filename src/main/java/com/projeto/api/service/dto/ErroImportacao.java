@@ -0,0 +1,16 @@
+package com.projeto.api.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Linha do CSV rejeitada na validação.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ErroImportacao {
+    private final long linha;
+    private final String mensagem;
+}
@@ -0,0 +1,57 @@
+package com.projeto.api.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Faixas de dias de atraso do {@code /aging}, contados da data de vencimento até a data base. Uma conta que vence na
+ * propria data base tem {@code 0} dias de atraso.
+ */
+public enum FaixaAtraso {
+    ATE_30(0, 30),
+    DE_31_A_60(31, 60),
+    DE_61_A_90(61, 90),
+    ACIMA_DE_90(91, null);
+
+    private final int diasDe;
+
+    /**
+     * {@code null} na ultima faixa, que não tem limite.
+     */
+    private final Integer diasAte;
+
+    FaixaAtraso(int diasDe, Integer diasAte) {
+        this.diasDe = diasDe;
+        this.diasAte = diasAte;
+    }
+
+    public int getDiasDe() {
+        return diasDe;
+    }
+
+    public Integer getDiasAte() {
+        return diasAte;
+    }
+
+    public static FaixaAtraso de(long diasAtraso) {
+        for (FaixaAtraso faixa : values()) {
+            if (faixa.diasAte == null || diasAtraso <= faixa.diasAte) {
+                return faixa;
+            }
+        }
+        throw new IllegalStateException("Sem faixa para " + diasAtraso + " dias");
+    }
+
+    /**
+     * Vencimento mais antigo da faixa na data base, ou {@code null} se a faixa não tiver limite.
+     */
+    public LocalDate vencimentoDe(LocalDate dataBase) {
+        return diasAte != null ? dataBase.minusDays(diasAte) : null;
+    }
+
+    /**
+     * Vencimento mais recente da faixa na data base.
+     */
+    public LocalDate vencimentoAte(LocalDate dataBase) {
+        return dataBase.minusDays(diasDe);
+    }
+}
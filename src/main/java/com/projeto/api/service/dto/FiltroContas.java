@@ -0,0 +1,47 @@
+package com.projeto.api.service.dto;
+
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Filtros das buscas de contas, usados também como chave do cache de contagem. Campos {@code null} (ou
+ * {@code situacoes} vazio) não filtram; os intervalos incluem os limites.
+ */
+@Builder(toBuilder = true)
+public record FiltroContas(Set<ContaSituacao> situacoes,
+                           LocalDate vencimentoDe,
+                           LocalDate vencimentoAte,
+                           LocalDate pagamentoDe,
+                           LocalDate pagamentoAte,
+                           BigDecimal valorMinimo,
+                           BigDecimal valorMaximo,
+                           String descricao) {
+
+    public FiltroContas {
+        situacoes = situacoes == null ? Set.of() : Set.copyOf(situacoes);
+        descricao = descricao == null || descricao.isBlank() ? null : descricao;
+    }
+
+    /**
+     * Filtro do {@code /listar} original: uma situação, um dia de vencimento e um trecho da descrição.
+     */
+    public static FiltroContas of(ContaSituacao situacao, LocalDate dataVencimento, String descricao) {
+        return FiltroContas.builder()
+                .situacoes(situacao != null ? Set.of(situacao) : Set.of())
+                .vencimentoDe(dataVencimento)
+                .vencimentoAte(dataVencimento)
+                .descricao(descricao)
+                .build();
+    }
+
+    /**
+     * O mesmo filtro, limitado a {@code situacao} se nenhuma situação foi informada.
+     */
+    public FiltroContas comSituacaoPadrao(ContaSituacao situacao) {
+        return situacoes.isEmpty() ? toBuilder().situacoes(Set.of(situacao)).build() : this;
+    }
+}
@@ -0,0 +1,15 @@
+package com.projeto.api.service.dto;
+
+/**
+ * Formato dos arquivos gerados pela API: relatorio de erros da importação e exportação de contas.
+ */
+public enum FormatoRelatorio {
+    /**
+     * {@code text/csv}, com cabeçalho.
+     */
+    CSV,
+    /**
+     * {@code application/x-ndjson}, um objeto JSON por linha.
+     */
+    NDJSON;
+}
@@ -0,0 +1,55 @@
+package com.projeto.api.service.dto;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Importação assincrona submetida pelo {@code POST /api/v1/conta/import?async=true}.
+ */
+@Getter
+public class JobImportacao {
+    private final String id;
+    private final Instant criadoEm = Instant.now();
+    private final ProgressoImportacao progresso = new ProgressoImportacao();
+    private volatile StatusImportacao status = StatusImportacao.AGUARDANDO;
+    private volatile Instant inicio;
+    private volatile Instant fim;
+    private volatile String mensagem;
+
+    public JobImportacao(String id) {
+        this.id = id;
+    }
+
+    public void iniciar() {
+        inicio = Instant.now();
+        status = StatusImportacao.PROCESSANDO;
+    }
+
+    public void concluir() {
+        fim = Instant.now();
+        status = StatusImportacao.CONCLUIDO;
+    }
+
+    public void falhar(String mensagem) {
+        this.mensagem = mensagem;
+        fim = Instant.now();
+        status = StatusImportacao.ERRO;
+    }
+
+    public boolean isFinalizado() {
+        return status == StatusImportacao.CONCLUIDO || status == StatusImportacao.ERRO;
+    }
+
+    /**
+     * Contas gravadas por segundo desde o inicio do processamento (até o fim, se ja finalizado).
+     */
+    public double getContasPorSegundo() {
+        if (inicio == null) {
+            return 0;
+        }
+        long millis = Duration.between(inicio, fim != null ? fim : Instant.now()).toMillis();
+        return millis > 0 ? progresso.getContasGravadas() * 1000d / millis : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.projeto.api.service.dto;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Variação do total de {@code contas_diario} de uma situação em um dia de pagamento. Contas sem situação ou sem
+ * data de pagamento não entram no resumo.
+ */
+public record LancamentoDiario(ContaSituacao situacao, LocalDate dataPagamento, BigDecimal valor, long quantidade) {
+
+    /**
+     * A conta entrando no resumo, com os valores que tem agora.
+     */
+    public static LancamentoDiario de(Conta conta) {
+        return new LancamentoDiario(conta.getSituacao(), conta.getDataPagamento(),
+                conta.getValor() != null ? conta.getValor() : BigDecimal.ZERO, 1);
+    }
+
+    /**
+     * O mesmo lançamento com sinal trocado, para tirar do resumo os valores anteriores de uma conta alterada.
+     */
+    public LancamentoDiario estorno() {
+        return new LancamentoDiario(situacao, dataPagamento, valor.negate(), -quantidade);
+    }
+
+    public boolean isResumivel() {
+        return situacao != null && dataPagamento != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.projeto.api.service.dto;
+
+public enum ModoImportacao {
+    /**
+     * Carrega o arquivo inteiro em memória e grava tudo em uma única transação.
+     */
+    MEMORIA,
+    /**
+     * Lê o arquivo linha a linha e grava em lotes, cada lote em sua própria transação.
+     */
+    STREAMING,
+    /**
+     * Copia o arquivo para um arquivo temporario e o lê mapeado em memória, gravando em lotes como no
+     * {@link #STREAMING}. Indicado para arquivos muito grandes.
+     */
+    ARQUIVO;
+}
@@ -0,0 +1,20 @@
+package com.projeto.api.service.dto;
+
+/**
+ * Como o {@code /listar} calcula o {@code X-Total-Count}.
+ */
+public enum ModoTotal {
+    /**
+     * {@code SELECT COUNT(*)} com os mesmos filtros da pagina, guardado no cache de contagem quando habilitado.
+     */
+    EXATO,
+    /**
+     * Linhas estimadas pelo planejador do PostgreSQL ({@code EXPLAIN}), sem percorrer a tabela. Em outros bancos
+     * usa a contagem exata.
+     */
+    ESTIMADO,
+    /**
+     * Sem contagem: a pagina é lida como {@code Slice} e só informa se existe a seguinte.
+     */
+    NENHUM;
+}
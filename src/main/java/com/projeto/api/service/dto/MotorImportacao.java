@@ -0,0 +1,13 @@
+package com.projeto.api.service.dto;
+
+public enum MotorImportacao {
+    /**
+     * {@code persist} das entidades com batch JDBC do Hibernate.
+     */
+    JPA,
+    /**
+     * {@code COPY FROM STDIN} do PostgreSQL para uma tabela temporaria e {@code INSERT ... SELECT} em {@code contas}.
+     * Em outros bancos (ex.: H2 nos testes) usa {@link #JPA}.
+     */
+    COPY;
+}
@@ -0,0 +1,12 @@
+package com.projeto.api.service.dto;
+
+public enum ParserImportacao {
+    /**
+     * Conversor proprio do layout de contas, que lê datas e valores direto do buffer de caracteres.
+     */
+    NATIVO,
+    /**
+     * Mapeamento por cabeçalho do opencsv.
+     */
+    OPENCSV;
+}
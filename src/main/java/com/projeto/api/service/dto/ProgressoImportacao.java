@@ -0,0 +1,22 @@
+package com.projeto.api.service.dto;
+
+import lombok.Getter;
+
+/**
+ * Andamento de uma importação em execução. Escrito apenas pela thread que importa e lido por outras threads
+ * (consulta de status), por isso os campos são {@code volatile}.
+ */
+@Getter
+public class ProgressoImportacao {
+    private volatile long linhasLidas;
+    private volatile long contasGravadas;
+    private volatile long contasIgnoradas;
+    private volatile long contasDuplicadas;
+
+    public void atualizar(long linhasLidas, long contasGravadas, long contasIgnoradas, long contasDuplicadas) {
+        this.linhasLidas = linhasLidas;
+        this.contasGravadas = contasGravadas;
+        this.contasIgnoradas = contasIgnoradas;
+        this.contasDuplicadas = contasDuplicadas;
+    }
+}
@@ -0,0 +1,25 @@
+package com.projeto.api.service.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Builder
+@Getter
+@ToString
+public class ResultadoImportacao {
+    private long linhasLidas;
+    private long contasGravadas;
+    /**
+     * Linhas ignoradas por já terem sido importadas antes (mesma impressão digital).
+     */
+    private long contasIgnoradas;
+    /**
+     * Linhas descartadas por repetirem outra linha do mesmo arquivo.
+     */
+    private long contasDuplicadas;
+    /**
+     * Linhas rejeitadas na validação com coleta de erros.
+     */
+    private long contasInvalidas;
+}
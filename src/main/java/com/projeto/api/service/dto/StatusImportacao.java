@@ -0,0 +1,5 @@
+package com.projeto.api.service.dto;
+
+public enum StatusImportacao {
+    AGUARDANDO, PROCESSANDO, CONCLUIDO, ERRO;
+}
@@ -0,0 +1,149 @@
+package com.projeto.api.service.exportacao;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.FormatoRelatorio;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * Escreve as contas à medida que são lidas do banco, em UTF-8.
+ * <p>
+ * O CSV usa o layout do {@code import-contas.csv} ({@code descricao,dataVencimento,dataPagamento,valor,situacao},
+ * datas {@code dd/MM/yyyy}), então o arquivo exportado pode ser importado de volta. O NDJSON traz um objeto por
+ * linha com os campos do {@code GET /api/v1/conta/listar}.
+ */
+public class ExportadorContas implements Consumer<Conta>, Closeable {
+
+    static final String CABECALHO = "descricao,dataVencimento,dataPagamento,valor,situacao\n";
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final Writer writer;
+    private final JsonGenerator json;
+    private long contas;
+
+    public ExportadorContas(OutputStream outputStream, FormatoRelatorio formato) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (formato == FormatoRelatorio.NDJSON) {
+            this.json = JSON.createGenerator(writer);
+            this.json.setRootValueSeparator(null);
+        } else {
+            this.json = null;
+            writer.write(CABECALHO);
+        }
+    }
+
+    @Override
+    public void accept(Conta conta) {
+        try {
+            if (json != null) {
+                escreverJson(conta);
+            } else {
+                escreverCsv(conta);
+            }
+            contas++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getContas() {
+        return contas;
+    }
+
+    /**
+     * Descarrega o que falta escrever, sem fechar o {@link OutputStream} recebido.
+     */
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private void escreverCsv(Conta conta) throws IOException {
+        escreverDescricao(conta.getDescricao());
+        writer.write(',');
+        writer.write(data(conta.getDataVencimento()));
+        writer.write(',');
+        writer.write(data(conta.getDataPagamento()));
+        writer.write(',');
+        if (conta.getValor() != null) {
+            writer.write(conta.getValor().toPlainString());
+        }
+        writer.write(',');
+        if (conta.getSituacao() != null) {
+            writer.write(conta.getSituacao().name());
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * A descrição vai entre aspas quando tem separador, aspas, barra invertida, quebra de linha ou espaço no inicio,
+     * que a importação trataria de outra forma; aspas e barras são duplicadas.
+     */
+    private void escreverDescricao(String descricao) throws IOException {
+        if (descricao == null) {
+            return;
+        }
+        if (!precisaAspas(descricao)) {
+            writer.write(descricao);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < descricao.length(); i++) {
+            char c = descricao.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write(c);
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean precisaAspas(String descricao) {
+        if (descricao.isEmpty()) {
+            return false;
+        }
+        if (Character.isWhitespace(descricao.charAt(0))) {
+            return true;
+        }
+        for (int i = 0; i < descricao.length(); i++) {
+            char c = descricao.charAt(i);
+            if (c == ',' || c == '"' || c == '\\' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void escreverJson(Conta conta) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", conta.getId());
+        json.writeStringField("dataVencimento", conta.getDataVencimento() != null ? data(conta.getDataVencimento()) : null);
+        json.writeStringField("dataPagamento", conta.getDataPagamento() != null ? data(conta.getDataPagamento()) : null);
+        json.writeNumberField("valor", conta.getValor());
+        json.writeStringField("descricao", conta.getDescricao());
+        json.writeStringField("situacao", conta.getSituacao() != null ? conta.getSituacao().name() : null);
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static String data(LocalDate data) {
+        return data != null ? data.format(FORMATO_DATA) : "";
+    }
+}
@@ -0,0 +1,57 @@
+package com.projeto.api.service.exportacao;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.projeto.api.service.dto.ContaEmAtraso;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * Escreve o detalhamento do {@code /aging} em NDJSON, UTF-8, uma conta por linha à medida que são lidas do banco.
+ */
+public class ExportadorContasEmAtraso implements Consumer<ContaEmAtraso>, Closeable {
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JsonGenerator json;
+
+    public ExportadorContasEmAtraso(OutputStream outputStream) throws IOException {
+        this.json = JSON.createGenerator(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        this.json.setRootValueSeparator(null);
+        this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void accept(ContaEmAtraso conta) {
+        try {
+            json.writeStartObject();
+            json.writeNumberField("id", conta.id());
+            json.writeStringField("descricao", conta.descricao());
+            json.writeStringField("dataVencimento", conta.dataVencimento().format(FORMATO_DATA));
+            json.writeNumberField("valor", conta.valor());
+            json.writeNumberField("diasAtraso", conta.diasAtraso());
+            json.writeStringField("faixa", conta.faixa().name());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Descarrega o que falta escrever, sem fechar o {@link OutputStream} recebido.
+     */
+    @Override
+    public void close() throws IOException {
+        json.flush();
+    }
+}
@@ -0,0 +1,66 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Arquivos temporarios das importações que leem o upload do disco (modo {@code ARQUIVO} e importações assincronas).
+ */
+@Slf4j
+public final class ArquivoImportacao {
+
+    private static final String PREFIXO = "import-contas-";
+    private static final String SUFIXO = ".csv";
+
+    private ArquivoImportacao() {
+    }
+
+    /**
+     * Copia o upload para um arquivo temporario em {@code configuracao.diretorio}. Se a cópia falhar o arquivo é
+     * removido; caso contrario remover é responsabilidade de quem chamou, com {@link #remover(Path)}.
+     *
+     * @throws ImportCsvException se o upload for maior que {@code configuracao.tamanhoMaximo}.
+     */
+    public static Path copiar(MultipartFile file, ApplicationProperties.Arquivo configuracao) throws IOException, ImportCsvException {
+        DataSize tamanhoMaximo = configuracao.getTamanhoMaximo();
+        if (file.getSize() > tamanhoMaximo.toBytes()) {
+            throw new ImportCsvException("Arquivo excede o tamanho maximo de " + tamanhoMaximo);
+        }
+        Path arquivo = criar(configuracao);
+        try {
+            file.transferTo(arquivo);
+        } catch (IOException | RuntimeException e) {
+            remover(arquivo);
+            throw e;
+        }
+        return arquivo;
+    }
+
+    /**
+     * Cria um arquivo temporario vazio em {@code configuracao.diretorio}; remover é responsabilidade de quem chamou,
+     * com {@link #remover(Path)}.
+     */
+    public static Path criar(ApplicationProperties.Arquivo configuracao) throws IOException {
+        return configuracao.getDiretorio() != null
+                ? Files.createTempFile(configuracao.getDiretorio(), PREFIXO, SUFIXO)
+                : Files.createTempFile(PREFIXO, SUFIXO);
+    }
+
+    /**
+     * Remove o arquivo temporario, apenas registrando no log se não for possivel.
+     */
+    public static void remover(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possivel remover o arquivo temporario {}", arquivo, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.service.dto.ContaCsv;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Posição de cada coluna do layout de importação, resolvida pelo nome no cabeçalho sem diferenciar maiúsculas,
+ * como faz o {@code HeaderColumnNameMappingStrategy} do opencsv. Colunas ausentes ficam com valor {@code null}.
+ */
+class ColunasContaCsv {
+
+    private static final int AUSENTE = -1;
+
+    private final int descricao;
+    private final int dataVencimento;
+    private final int dataPagamento;
+    private final int valor;
+    private final int situacao;
+
+    private ColunasContaCsv(String[] cabecalho) {
+        this.descricao = indice(cabecalho, "descricao");
+        this.dataVencimento = indice(cabecalho, "dataVencimento");
+        this.dataPagamento = indice(cabecalho, "dataPagamento");
+        this.valor = indice(cabecalho, "valor");
+        this.situacao = indice(cabecalho, "situacao");
+    }
+
+    static ColunasContaCsv doCabecalho(String[] cabecalho) {
+        return new ColunasContaCsv(cabecalho);
+    }
+
+    ContaCsv toContaCsv(String[] campos, long linha) throws ImportCsvException {
+        return ContaCsv.builder()
+                .descricao(campo(campos, descricao))
+                .dataVencimento(campo(campos, dataVencimento))
+                .dataPagamento(campo(campos, dataPagamento))
+                .valor(valor(campo(campos, valor), linha))
+                .situacao(campo(campos, situacao))
+                .build();
+    }
+
+    private static BigDecimal valor(String valor, long linha) throws ImportCsvException {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new ImportCsvException("Valor invalido na linha " + linha);
+        }
+    }
+
+    private static String campo(String[] campos, int indice) {
+        return indice != AUSENTE && indice < campos.length ? campos[indice] : null;
+    }
+
+    private static int indice(String[] cabecalho, String coluna) {
+        for (int i = 0; i < cabecalho.length; i++) {
+            if (cabecalho[i].trim().toUpperCase(Locale.ROOT).equals(coluna.toUpperCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return AUSENTE;
+    }
+}
@@ -0,0 +1,118 @@
+package com.projeto.api.service.importacao;
+
+/**
+ * Conjunto de impressões digitais ({@link ImpressaoDigitalConta}) em um {@code long[]} com endereçamento aberto e
+ * sondagem linear, usado para descartar linhas repetidas do arquivo sem manter as contas em memória: cada linha
+ * custa de 11 a 21 bytes, contra mais de 100 de um {@code HashSet<Conta>}.
+ * <p>
+ * A tabela dobra de tamanho enquanto couber em {@code memoriaMaxima} bytes. Depois disso o conjunto fica
+ * saturado: continua reconhecendo as impressões já guardadas, mas aceita as novas sem guardá-las.
+ * Não é thread-safe.
+ */
+public class ConjuntoImpressoesDigitais {
+
+    private static final int CAPACIDADE_MINIMA = 16;
+    private static final int CAPACIDADE_MAXIMA = 1 << 30;
+    private static final long VAZIO = 0L;
+
+    private final int capacidadeMaxima;
+
+    private long[] tabela;
+    private int mascara;
+    private int tamanho;
+    private boolean contemVazio;
+    private boolean saturado;
+
+    /**
+     * @param quantidadeEsperada quantidade de impressões para a qual a tabela já nasce dimensionada.
+     * @param memoriaMaxima      bytes que a tabela pode ocupar.
+     */
+    public ConjuntoImpressoesDigitais(int quantidadeEsperada, long memoriaMaxima) {
+        this.capacidadeMaxima = (int) Math.max(CAPACIDADE_MINIMA,
+                Math.min(CAPACIDADE_MAXIMA, Long.highestOneBit(Math.max(1, memoriaMaxima / Long.BYTES))));
+        int capacidade = CAPACIDADE_MINIMA;
+        while (capacidade < capacidadeMaxima && limite(capacidade) < quantidadeEsperada) {
+            capacidade <<= 1;
+        }
+        this.tabela = new long[capacidade];
+        this.mascara = capacidade - 1;
+    }
+
+    /**
+     * Conjunto sem limite de memoria, além do tamanho maximo de um array.
+     */
+    public ConjuntoImpressoesDigitais(int quantidadeEsperada) {
+        this(quantidadeEsperada, (long) CAPACIDADE_MAXIMA * Long.BYTES);
+    }
+
+    /**
+     * Adiciona a impressão digital ao conjunto.
+     *
+     * @return {@code false} se ela já estava no conjunto, ou seja, a linha é repetida.
+     */
+    public boolean adicionar(long impressaoDigital) {
+        if (impressaoDigital == VAZIO) {
+            boolean nova = !contemVazio;
+            contemVazio = true;
+            return nova;
+        }
+        int i = indice(impressaoDigital);
+        while (tabela[i] != VAZIO) {
+            if (tabela[i] == impressaoDigital) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        if (tamanho >= limite(tabela.length)) {
+            if (tabela.length >= capacidadeMaxima) {
+                saturado = true;
+                return true;
+            }
+            redimensionar();
+            i = indice(impressaoDigital);
+            while (tabela[i] != VAZIO) {
+                i = (i + 1) & mascara;
+            }
+        }
+        tabela[i] = impressaoDigital;
+        tamanho++;
+        return true;
+    }
+
+    public int getTamanho() {
+        return tamanho + (contemVazio ? 1 : 0);
+    }
+
+    /**
+     * @return {@code true} se alguma impressão digital deixou de ser guardada por falta de memoria.
+     */
+    public boolean isSaturado() {
+        return saturado;
+    }
+
+    private void redimensionar() {
+        long[] anterior = tabela;
+        tabela = new long[anterior.length << 1];
+        mascara = tabela.length - 1;
+        for (long impressaoDigital : anterior) {
+            if (impressaoDigital != VAZIO) {
+                int i = indice(impressaoDigital);
+                while (tabela[i] != VAZIO) {
+                    i = (i + 1) & mascara;
+                }
+                tabela[i] = impressaoDigital;
+            }
+        }
+    }
+
+    private int indice(long impressaoDigital) {
+        return (int) (impressaoDigital ^ (impressaoDigital >>> 32)) & mascara;
+    }
+
+    /**
+     * Ocupação maxima de 75% antes de dobrar a tabela.
+     */
+    private static int limite(int capacidade) {
+        return capacidade - (capacidade >>> 2);
+    }
+}
@@ -0,0 +1,104 @@
+package com.projeto.api.service.importacao;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link Reader} que decodifica um arquivo UTF-8 mapeado em memória ({@link MappedByteBuffer}) em janelas de
+ * {@value #TAMANHO_JANELA} bytes, sem copiar os bytes para o heap. Arquivos maiores que 2GB são lidos janela a
+ * janela; um caractere dividido entre duas janelas é remapeado inteiro na seguinte.
+ * <p>
+ * Bytes que não formam UTF-8 valido geram {@link java.nio.charset.MalformedInputException} em vez de serem
+ * trocados por {@code U+FFFD}. Não fecha o {@link FileChannel} recebido.
+ */
+public class DecodificadorArquivoMapeado extends Reader {
+
+    private static final long TAMANHO_JANELA = 64L * 1024 * 1024;
+
+    private final FileChannel canal;
+    private final long tamanho;
+    private final long tamanhoJanela;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    private final CharBuffer pendente = CharBuffer.allocate(2).flip();
+
+    private MappedByteBuffer janela;
+    private long inicioJanela;
+    private boolean fimArquivo;
+
+    public DecodificadorArquivoMapeado(FileChannel canal) throws IOException {
+        this(canal, TAMANHO_JANELA);
+    }
+
+    DecodificadorArquivoMapeado(FileChannel canal, long tamanhoJanela) throws IOException {
+        this.canal = canal;
+        this.tamanho = canal.size();
+        this.tamanhoJanela = tamanhoJanela;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!pendente.hasRemaining() && len < 2) {
+            // um caractere fora do plano basico ocupa dois chars e não cabe em len = 1
+            pendente.clear();
+            decodificar(pendente);
+            pendente.flip();
+        }
+        if (pendente.hasRemaining()) {
+            cbuf[off] = pendente.get();
+            return 1;
+        }
+        return decodificar(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    /**
+     * Decodifica no {@code destino} o quanto couber até o fim da janela atual.
+     *
+     * @return quantidade de chars decodificados, ou {@code -1} no fim do arquivo.
+     */
+    private int decodificar(CharBuffer destino) throws IOException {
+        int inicio = destino.position();
+        while (!fimArquivo && destino.position() == inicio) {
+            if (janela == null) {
+                mapear(0);
+            }
+            boolean ultimaJanela = inicioJanela + janela.limit() >= tamanho;
+            CoderResult resultado = decoder.decode(janela, destino, ultimaJanela);
+            if (resultado.isError()) {
+                resultado.throwException();
+            }
+            if (resultado.isUnderflow()) {
+                if (ultimaJanela) {
+                    decoder.flush(destino);
+                    fimArquivo = true;
+                } else {
+                    mapear(inicioJanela + janela.position());
+                }
+            }
+        }
+        int lidos = destino.position() - inicio;
+        return lidos == 0 ? -1 : lidos;
+    }
+
+    @Override
+    public void close() {
+        janela = null;
+    }
+
+    private void mapear(long inicio) throws IOException {
+        janela = canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(tamanhoJanela, tamanho - inicio));
+        inicioJanela = inicio;
+    }
+}
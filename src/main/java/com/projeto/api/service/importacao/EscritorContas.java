@@ -0,0 +1,19 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+
+import java.util.Collection;
+
+/**
+ * Grava os lotes de contas da importação streaming.
+ */
+public interface EscritorContas {
+
+    /**
+     * Grava o lote em uma transação propria, ignorando as contas cuja impressão digital
+     * ({@link ImpressaoDigitalConta}) já está gravada. O lote não deve repetir impressões digitais.
+     *
+     * @return quantidade de contas inseridas.
+     */
+    int gravar(Collection<Conta> lote);
+}
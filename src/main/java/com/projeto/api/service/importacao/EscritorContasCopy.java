@@ -0,0 +1,186 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.ContasDiarioService;
+import com.projeto.api.service.dto.LancamentoDiario;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Grava o lote com {@code COPY FROM STDIN} (PostgreSQL) em uma tabela temporaria e move as linhas para
+ * {@code contas} com um unico {@code INSERT ... SELECT}, na mesma transação. Linhas já importadas são descartadas
+ * pelo {@code ON CONFLICT} no indice unico da impressão digital.
+ * <p>
+ * Os ids são reservados na {@code conta_id_seq} em blocos do seu {@code INCREMENT BY}, com a mesma semantica
+ * do optimizer pooled-lo usado pelo Hibernate, então as duas formas de gravação podem rodar ao mesmo tempo.
+ */
+@Component
+public class EscritorContasCopy implements EscritorContas {
+
+    /**
+     * Com os defaults de {@code contas}: as colunas fora do COPY, como {@code versao}, são {@code NOT NULL}.
+     */
+    private static final String CRIAR_STAGING =
+            "CREATE TEMP TABLE IF NOT EXISTS contas_importacao (LIKE contas INCLUDING DEFAULTS) ON COMMIT DROP";
+    private static final String COPY_STAGING =
+            "COPY contas_importacao (id, data_vencimento, data_pagamento, valor, descricao, situacao, impressao_digital) " +
+            "FROM STDIN WITH (FORMAT csv)";
+    /**
+     * Move as contas e devolve só as que foram de fato inseridas, que são as que entram no {@code contas_diario}.
+     */
+    private static final String INSERIR_CONTAS =
+            "INSERT INTO contas (id, data_vencimento, data_pagamento, valor, descricao, situacao, impressao_digital, versao) " +
+            "SELECT id, data_vencimento, data_pagamento, valor, descricao, situacao, impressao_digital, 0 FROM contas_importacao " +
+            "ON CONFLICT (impressao_digital) DO NOTHING " +
+            "RETURNING situacao, data_pagamento, valor";
+    private static final String INCREMENTO_SEQUENCE =
+            "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = 'conta_id_seq'";
+    private static final String RESERVAR_BLOCOS =
+            "SELECT nextval('conta_id_seq') FROM generate_series(1, ?)";
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BancoDados bancoDados;
+
+    private final ContasDiarioService contasDiarioService;
+
+    private volatile long incrementoSequence;
+
+    public EscritorContasCopy(EntityManager entityManager, PlatformTransactionManager transactionManager, BancoDados bancoDados,
+                              ContasDiarioService contasDiarioService) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bancoDados = bancoDados;
+        this.contasDiarioService = contasDiarioService;
+    }
+
+    /**
+     * @return {@code true} se o banco configurado for PostgreSQL.
+     */
+    public boolean isSuportado() {
+        return bancoDados.isPostgres();
+    }
+
+    @Override
+    public int gravar(Collection<Conta> lote) {
+        return transactionTemplate.execute(status -> {
+            List<LancamentoDiario> inseridas = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> gravar(connection, lote));
+            contasDiarioService.lancar(inseridas);
+            return inseridas.size();
+        });
+    }
+
+    private List<LancamentoDiario> gravar(Connection connection, Collection<Conta> lote) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CRIAR_STAGING);
+        }
+
+        Iterator<Conta> contas = lote.iterator();
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection.getCopyAPI().copyIn(COPY_STAGING)), StandardCharsets.UTF_8), 1 << 16)) {
+            for (long inicioBloco : reservarBlocos(connection, lote.size())) {
+                for (long id = inicioBloco; id < inicioBloco + incrementoSequence && contas.hasNext(); id++) {
+                    escreverLinha(writer, id, contas.next());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(INSERIR_CONTAS)) {
+            List<LancamentoDiario> inseridas = new ArrayList<>(lote.size());
+            while (rs.next()) {
+                String situacao = rs.getString(1);
+                Date dataPagamento = rs.getDate(2);
+                inseridas.add(new LancamentoDiario(situacao != null ? ContaSituacao.valueOf(situacao) : null,
+                        dataPagamento != null ? dataPagamento.toLocalDate() : null, rs.getBigDecimal(3), 1));
+            }
+            return inseridas;
+        }
+    }
+
+    private long[] reservarBlocos(Connection connection, int quantidade) throws SQLException {
+        if (incrementoSequence == 0) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(INCREMENTO_SEQUENCE)) {
+                incrementoSequence = rs.next() ? Math.max(1, rs.getLong(1)) : 1;
+            }
+        }
+        int blocos = (int) ((quantidade + incrementoSequence - 1) / incrementoSequence);
+        long[] inicios = new long[blocos];
+        try (PreparedStatement statement = connection.prepareStatement(RESERVAR_BLOCOS)) {
+            statement.setInt(1, blocos);
+            try (ResultSet rs = statement.executeQuery()) {
+                for (int i = 0; rs.next(); i++) {
+                    inicios[i] = rs.getLong(1);
+                }
+            }
+        }
+        return inicios;
+    }
+
+    /**
+     * Escreve a conta no formato CSV do COPY: campo vazio sem aspas é {@code NULL}, e a descrição vai sempre
+     * entre aspas para preservar virgulas, quebras de linha e string vazia.
+     */
+    static void escreverLinha(Writer writer, long id, Conta conta) throws IOException {
+        writer.write(Long.toString(id));
+        writer.write(',');
+        escreverData(writer, conta.getDataVencimento());
+        writer.write(',');
+        escreverData(writer, conta.getDataPagamento());
+        writer.write(',');
+        if (conta.getValor() != null) {
+            writer.write(conta.getValor().toPlainString());
+        }
+        writer.write(',');
+        if (conta.getDescricao() != null) {
+            writer.write('"');
+            writer.write(conta.getDescricao().replace("\"", "\"\""));
+            writer.write('"');
+        }
+        writer.write(',');
+        if (conta.getSituacao() != null) {
+            writer.write(conta.getSituacao().name());
+        }
+        writer.write(',');
+        writer.write(Long.toString(ImpressaoDigitalConta.atribuir(conta)));
+        writer.write('\n');
+    }
+
+    private static void escreverData(Writer writer, LocalDate data) throws IOException {
+        if (data != null) {
+            writer.write(data.toString());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.service.ContasDiarioService;
+import com.projeto.api.service.dto.LancamentoDiario;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Grava o lote com {@code persist}, usando o tamanho do lote como batch JDBC da sessão, e limpa o contexto de
+ * persistencia ao final para não acumular entidades entre lotes. As contas cuja impressão digital já existe no
+ * banco são descartadas com uma unica consulta por lote. O resumo {@code contas_diario} recebe as contas gravadas
+ * na mesma transação do lote.
+ */
+@Component
+public class EscritorContasJpa implements EscritorContas {
+
+    private final EntityManager entityManager;
+
+    private final ContaRepository contaRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ContasDiarioService contasDiarioService;
+
+    public EscritorContasJpa(EntityManager entityManager, ContaRepository contaRepository, PlatformTransactionManager transactionManager,
+                             ContasDiarioService contasDiarioService) {
+        this.entityManager = entityManager;
+        this.contaRepository = contaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.contasDiarioService = contasDiarioService;
+    }
+
+    @Override
+    public int gravar(Collection<Conta> lote) {
+        return transactionTemplate.execute(status -> {
+            Set<Long> existentes = new HashSet<>(contaRepository.findImpressoesDigitaisExistentes(
+                    lote.stream().map(ImpressaoDigitalConta::atribuir).toList()));
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(lote.size());
+            // as contas importadas não entram no cache de segundo nivel, para não expulsar as que estão sendo lidas
+            session.setCacheMode(CacheMode.IGNORE);
+            List<LancamentoDiario> lancamentos = new ArrayList<>(lote.size());
+            for (Conta conta : lote) {
+                if (!existentes.contains(conta.getImpressaoDigital())) {
+                    entityManager.persist(conta);
+                    lancamentos.add(LancamentoDiario.de(conta));
+                }
+            }
+            entityManager.flush();
+            contasDiarioService.lancar(lancamentos);
+            entityManager.clear();
+            return lancamentos.size();
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Impressão digital de 64 bits do conteudo de uma linha importada (descrição, datas, valor e situação), gravada em
+ * {@code contas.impressao_digital} para reconhecer linhas já importadas em envios anteriores.
+ * <p>
+ * O valor é normalizado ({@code 100} e {@code 100.00} geram a mesma impressão, como ficam no banco). Como o resultado
+ * é persistido, o algoritmo (FNV-1a seguido do {@code fmix64} do MurmurHash3) não pode mudar sem recalcular a coluna.
+ */
+public final class ImpressaoDigitalConta {
+
+    private static final long FNV_BASE = 0xcbf29ce484222325L;
+    private static final long FNV_PRIMO = 0x100000001b3L;
+    private static final long NULO = 0x9e3779b97f4a7c15L;
+
+    private ImpressaoDigitalConta() {
+    }
+
+    /**
+     * Calcula a impressão digital da conta e a guarda em {@link Conta#setImpressaoDigital(Long)}, se ainda não tiver.
+     *
+     * @return a impressão digital da conta.
+     */
+    public static long atribuir(Conta conta) {
+        if (conta.getImpressaoDigital() == null) {
+            conta.setImpressaoDigital(calcular(conta));
+        }
+        return conta.getImpressaoDigital();
+    }
+
+    public static long calcular(Conta conta) {
+        long hash = FNV_BASE;
+        hash = texto(hash, conta.getDescricao());
+        hash = data(hash, conta.getDataVencimento());
+        hash = data(hash, conta.getDataPagamento());
+        hash = valor(hash, conta.getValor());
+        hash = conta.getSituacao() != null ? texto(hash, conta.getSituacao().name()) : numero(hash, NULO);
+        return fmix64(hash);
+    }
+
+    private static long texto(long hash, String texto) {
+        if (texto == null) {
+            return numero(hash, NULO);
+        }
+        for (int i = 0; i < texto.length(); i++) {
+            hash = (hash ^ texto.charAt(i)) * FNV_PRIMO;
+        }
+        return numero(hash, texto.length());
+    }
+
+    private static long data(long hash, LocalDate data) {
+        return numero(hash, data != null ? data.toEpochDay() : NULO);
+    }
+
+    private static long valor(long hash, BigDecimal valor) {
+        if (valor == null) {
+            return numero(hash, NULO);
+        }
+        BigDecimal normalizado = valor.signum() == 0 ? BigDecimal.ZERO : valor.stripTrailingZeros();
+        if (normalizado.precision() <= 18) {
+            hash = numero(hash, normalizado.unscaledValue().longValue());
+            return numero(hash, normalizado.scale());
+        }
+        return texto(hash, normalizado.toString());
+    }
+
+    private static long numero(long hash, long numero) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (numero & 0xff)) * FNV_PRIMO;
+            numero >>>= 8;
+        }
+        return hash;
+    }
+
+    private static long fmix64(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
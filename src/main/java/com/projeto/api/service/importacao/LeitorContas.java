@@ -0,0 +1,25 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Fonte das contas de um CSV de importação, já validadas e entregues em lotes na ordem do arquivo.
+ */
+public interface LeitorContas extends Closeable {
+
+    /**
+     * @return o próximo lote de contas, ou {@code null} quando o arquivo terminar.
+     * @throws ImportCsvException na primeira linha invalida, com o número exato da linha.
+     */
+    List<Conta> proximoLote() throws IOException, ImportCsvException;
+
+    /**
+     * @return quantidade de linhas de dados já entregues nos lotes retornados.
+     */
+    long getLinhasLidas();
+}
@@ -0,0 +1,146 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.ErroImportacao;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Base dos leitores que dividem o CSV em blocos de {@code tamanhoLote} registros inteiros (um registro entre aspas
+ * pode ocupar várias linhas) e os convertem e validam em paralelo no {@link ForkJoinPool}. Os lotes são entregues
+ * na ordem do arquivo e cada bloco conhece o número da sua primeira linha, então os erros apontam a linha exata.
+ * <p>
+ * No máximo {@code 2 * paralelismo} blocos ficam em memória ao mesmo tempo. Sem pool, cada bloco é convertido na
+ * thread que chama {@link #proximoLote()}.
+ * <p>
+ * Por padrão a primeira linha invalida interrompe a leitura. Com {@link #coletarErros(Consumer)} as linhas invalidas
+ * são entregues ao destino, na ordem do arquivo, e a leitura continua com as demais.
+ */
+public abstract class LeitorContasEmBlocos implements LeitorContas {
+
+    private final ForkJoinPool pool;
+    private final int janela;
+    private final Deque<ForkJoinTask<Bloco>> pendentes = new ArrayDeque<>();
+
+    private Consumer<ErroImportacao> destinoErros;
+    private boolean fimArquivo;
+    private long linhasEnviadas;
+    private long linhasLidas;
+
+    protected LeitorContasEmBlocos(ForkJoinPool pool) {
+        this.pool = pool;
+        this.janela = pool != null ? pool.getParallelism() * 2 : 1;
+    }
+
+    /**
+     * Lê os próximos registros do arquivo, ainda sem converter.
+     *
+     * @return o bloco lido, ou {@code null} no fim do arquivo.
+     */
+    protected abstract Registros lerRegistros() throws IOException;
+
+    /**
+     * Fecha o arquivo lido.
+     */
+    protected abstract void fecharArquivo() throws IOException;
+
+    /**
+     * Passa a entregar as linhas invalidas para {@code destino}, chamado na thread de {@link #proximoLote()} antes
+     * de retornar o lote em que elas estavam, em vez de interromper a leitura.
+     */
+    public void coletarErros(Consumer<ErroImportacao> destino) {
+        this.destinoErros = destino;
+    }
+
+    @Override
+    public List<Conta> proximoLote() throws IOException, ImportCsvException {
+        while (!fimArquivo && pendentes.size() < janela) {
+            enviarBloco();
+        }
+        ForkJoinTask<Bloco> proximo = pendentes.poll();
+        if (proximo == null) {
+            return null;
+        }
+        Bloco bloco = proximo.join();
+        if (bloco.erro() != null) {
+            cancelarPendentes();
+            throw bloco.erro();
+        }
+        if (bloco.errosLinha() != null) {
+            bloco.errosLinha().forEach(destinoErros);
+            linhasLidas += bloco.errosLinha().size();
+        }
+        linhasLidas += bloco.contas().size();
+        return bloco.contas();
+    }
+
+    @Override
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    @Override
+    public void close() throws IOException {
+        cancelarPendentes();
+        fecharArquivo();
+    }
+
+    private void enviarBloco() throws IOException {
+        Registros registros = lerRegistros();
+        if (registros == null) {
+            fimArquivo = true;
+            return;
+        }
+        long primeiraLinha = linhasEnviadas + 1;
+        linhasEnviadas += registros.quantidade();
+        boolean coletarErros = destinoErros != null;
+        ForkJoinTask<Bloco> tarefa = ForkJoinTask.adapt(() -> converter(registros, primeiraLinha, coletarErros));
+        if (pool != null) {
+            pool.execute(tarefa);
+        } else {
+            tarefa.invoke();
+        }
+        pendentes.add(tarefa);
+    }
+
+    private static Bloco converter(Registros registros, long primeiraLinha, boolean coletarErros) {
+        List<ErroImportacao> errosLinha = coletarErros ? new ArrayList<>() : null;
+        try {
+            return new Bloco(registros.converter(primeiraLinha, errosLinha), errosLinha, null);
+        } catch (ImportCsvException e) {
+            return new Bloco(null, null, e);
+        }
+    }
+
+    private void cancelarPendentes() {
+        ForkJoinTask<Bloco> pendente;
+        while ((pendente = pendentes.poll()) != null) {
+            pendente.cancel(true);
+        }
+    }
+
+    /**
+     * Registros lidos do arquivo que ainda não foram convertidos.
+     */
+    protected interface Registros {
+
+        int quantidade();
+
+        /**
+         * @param errosLinha onde guardar as linhas invalidas; se {@code null}, a primeira linha invalida interrompe
+         *                   a conversão.
+         */
+        List<Conta> converter(long primeiraLinha, List<ErroImportacao> errosLinha) throws ImportCsvException;
+    }
+
+    private record Bloco(List<Conta> contas, List<ErroImportacao> errosLinha, ImportCsvException erro) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.ErroImportacao;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Lê o CSV em um buffer de {@code char[]} e converte cada bloco com o {@link TokenizadorContas}, sem o
+ * mapeamento por reflexão do opencsv nem {@code String} intermediaria por linha ou campo. O buffer cresce apenas
+ * quando um bloco de {@code tamanhoLote} registros não cabe nele.
+ */
+public class LeitorContasNativo extends LeitorContasEmBlocos {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final int tamanhoLote;
+
+    private char[] buffer = new char[TAMANHO_BUFFER];
+    private int inicio;
+    private int fim;
+    private boolean fimArquivo;
+    private TokenizadorContas tokenizador;
+
+    /**
+     * @param pool pool que converte os blocos; {@code null} para converter na thread que lê o arquivo.
+     */
+    public LeitorContasNativo(Reader reader, int tamanhoLote, ForkJoinPool pool) {
+        super(pool);
+        this.reader = reader;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    protected Registros lerRegistros() throws IOException {
+        if (tokenizador == null && !lerCabecalho()) {
+            return null;
+        }
+        int registros = 0;
+        int p = inicio;
+        while (registros < tamanhoLote) {
+            int fimRegistro = TokenizadorContas.fimDoRegistro(buffer, p, fim, fimArquivo);
+            if (fimRegistro < 0) {
+                if (fimArquivo) {
+                    break;
+                }
+                p -= carregar();
+                continue;
+            }
+            if (!TokenizadorContas.vazio(buffer, p, fimRegistro)) {
+                registros++;
+            }
+            p = fimRegistro;
+        }
+        if (registros == 0) {
+            return null;
+        }
+        char[] bloco = Arrays.copyOfRange(buffer, inicio, p);
+        inicio = p;
+        return new BlocoNativo(tokenizador, bloco, registros);
+    }
+
+    @Override
+    protected void fecharArquivo() throws IOException {
+        reader.close();
+    }
+
+    private boolean lerCabecalho() throws IOException {
+        if (fim == 0 && !fimArquivo) {
+            carregar();
+            if (fim > 0 && buffer[0] == BOM) {
+                inicio = 1;
+            }
+        }
+        while (true) {
+            int fimRegistro = TokenizadorContas.fimDoRegistro(buffer, inicio, fim, fimArquivo);
+            if (fimRegistro < 0) {
+                if (fimArquivo) {
+                    return false;
+                }
+                carregar();
+            } else if (TokenizadorContas.vazio(buffer, inicio, fimRegistro)) {
+                inicio = fimRegistro;
+            } else {
+                tokenizador = TokenizadorContas.doCabecalho(buffer, inicio, fimRegistro);
+                inicio = fimRegistro;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Descarta o que já foi entregue, dobra o buffer se ele estiver cheio e lê mais caracteres do arquivo.
+     *
+     * @return quantas posições o conteudo do buffer foi deslocado para o inicio.
+     */
+    private int carregar() throws IOException {
+        int deslocamento = inicio;
+        if (inicio > 0) {
+            System.arraycopy(buffer, inicio, buffer, 0, fim - inicio);
+            fim -= inicio;
+            inicio = 0;
+        }
+        if (fim == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int lidos = reader.read(buffer, fim, buffer.length - fim);
+        if (lidos < 0) {
+            fimArquivo = true;
+        } else {
+            fim += lidos;
+        }
+        return deslocamento;
+    }
+
+    private record BlocoNativo(TokenizadorContas tokenizador, char[] bloco, int quantidade) implements Registros {
+
+        @Override
+        public List<Conta> converter(long primeiraLinha, List<ErroImportacao> errosLinha) throws ImportCsvException {
+            List<Conta> contas = new ArrayList<>(quantidade);
+            long linha = primeiraLinha;
+            int p = 0;
+            while (p < bloco.length) {
+                int fimRegistro = TokenizadorContas.fimDoRegistro(bloco, p, bloco.length, true);
+                if (!TokenizadorContas.vazio(bloco, p, fimRegistro)) {
+                    try {
+                        contas.add(tokenizador.converter(bloco, p, fimRegistro, linha));
+                    } catch (ImportCsvException e) {
+                        if (errosLinha == null) {
+                            throw e;
+                        }
+                        errosLinha.add(new ErroImportacao(linha, e.getMessage()));
+                    }
+                    linha++;
+                }
+                p = fimRegistro;
+            }
+            return contas;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.projeto.api.service.importacao;
+
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.ErroImportacao;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Lê o CSV linha a linha e converte cada bloco de registros com o {@link CSVParser} do opencsv.
+ */
+public class LeitorContasOpenCsv extends LeitorContasEmBlocos {
+
+    private static final char ASPAS = '"';
+    private static final char ESCAPE = '\\';
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final int tamanhoLote;
+
+    private ColunasContaCsv colunas;
+
+    public LeitorContasOpenCsv(Reader reader, int tamanhoLote, ForkJoinPool pool) {
+        super(pool);
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    protected Registros lerRegistros() throws IOException {
+        if (colunas == null && !lerCabecalho()) {
+            return null;
+        }
+        List<String> registros = new ArrayList<>(tamanhoLote);
+        String registro;
+        while (registros.size() < tamanhoLote && (registro = proximoRegistro()) != null) {
+            registros.add(registro);
+        }
+        if (registros.isEmpty()) {
+            return null;
+        }
+        ColunasContaCsv colunasBloco = colunas;
+        return new Registros() {
+            @Override
+            public int quantidade() {
+                return registros.size();
+            }
+
+            @Override
+            public List<Conta> converter(long primeiraLinha, List<ErroImportacao> errosLinha) throws ImportCsvException {
+                return LeitorContasOpenCsv.converter(colunasBloco, registros, primeiraLinha, errosLinha);
+            }
+        };
+    }
+
+    @Override
+    protected void fecharArquivo() throws IOException {
+        reader.close();
+    }
+
+    private boolean lerCabecalho() throws IOException {
+        String cabecalho = proximoRegistro();
+        if (cabecalho == null) {
+            return false;
+        }
+        if (cabecalho.charAt(0) == BOM) {
+            cabecalho = cabecalho.substring(1);
+        }
+        colunas = ColunasContaCsv.doCabecalho(novoParser().parseLine(cabecalho));
+        return true;
+    }
+
+    private static List<Conta> converter(ColunasContaCsv colunas, List<String> registros, long primeiraLinha,
+                                         List<ErroImportacao> errosLinha) throws ImportCsvException {
+        CSVParser parser = novoParser();
+        List<Conta> contas = new ArrayList<>(registros.size());
+        long linha = primeiraLinha;
+        for (String registro : registros) {
+            try {
+                contas.add(converter(colunas, parser, registro, linha));
+            } catch (ImportCsvException e) {
+                if (errosLinha == null) {
+                    throw e;
+                }
+                errosLinha.add(new ErroImportacao(linha, e.getMessage()));
+            }
+            linha++;
+        }
+        return contas;
+    }
+
+    private static Conta converter(ColunasContaCsv colunas, CSVParser parser, String registro, long linha) throws ImportCsvException {
+        try {
+            return colunas.toContaCsv(parser.parseLine(registro), linha).toConta(linha);
+        } catch (IOException e) {
+            throw new ImportCsvException("Linha mal formatada na linha " + linha);
+        }
+    }
+
+    /**
+     * Lê o próximo registro não vazio, juntando as linhas seguintes enquanto houver aspas abertas.
+     */
+    private String proximoRegistro() throws IOException {
+        String linha;
+        do {
+            linha = reader.readLine();
+            if (linha == null) {
+                return null;
+            }
+        } while (linha.isBlank());
+
+        boolean aspasAbertas = aspasAbertas(linha, false);
+        if (!aspasAbertas) {
+            return linha;
+        }
+        StringBuilder registro = new StringBuilder(linha);
+        while (aspasAbertas && (linha = reader.readLine()) != null) {
+            registro.append('\n').append(linha);
+            aspasAbertas = aspasAbertas(linha, true);
+        }
+        return registro.toString();
+    }
+
+    private static boolean aspasAbertas(String linha, boolean abertas) {
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == ESCAPE) {
+                i++;
+            } else if (c == ASPAS) {
+                abertas = !abertas;
+            }
+        }
+        return abertas;
+    }
+
+    private static CSVParser novoParser() {
+        return new CSVParserBuilder()
+                .withIgnoreLeadingWhiteSpace(true)
+                .build();
+    }
+}
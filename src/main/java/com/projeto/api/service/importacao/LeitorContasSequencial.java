@@ -0,0 +1,52 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.ContaCsv;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Lê o CSV com o mapeamento por cabeçalho do opencsv ({@link ContaCsv#leitor(Reader)}), uma linha por vez na
+ * thread que chama {@link #proximoLote()}.
+ */
+public class LeitorContasSequencial implements LeitorContas {
+
+    private final Reader reader;
+    private final Iterator<ContaCsv> linhas;
+    private final int tamanhoLote;
+    private long linhasLidas;
+
+    public LeitorContasSequencial(Reader reader, int tamanhoLote) {
+        this.reader = reader;
+        this.linhas = ContaCsv.leitor(reader).iterator();
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public List<Conta> proximoLote() throws ImportCsvException {
+        if (!linhas.hasNext()) {
+            return null;
+        }
+        List<Conta> lote = new ArrayList<>(tamanhoLote);
+        while (lote.size() < tamanhoLote && linhas.hasNext()) {
+            lote.add(linhas.next().toConta(linhasLidas + lote.size() + 1));
+        }
+        linhasLidas += lote.size();
+        return lote;
+    }
+
+    @Override
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,76 @@
+package com.projeto.api.service.importacao;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.projeto.api.service.dto.ErroImportacao;
+import com.projeto.api.service.dto.FormatoRelatorio;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Escreve as linhas invalidas da validação à medida que são encontradas, sem guardá-las em memoria, em CSV
+ * ({@code linha,mensagem}) ou NDJSON ({@code {"linha":3,"mensagem":"..."}} por linha).
+ */
+public class RelatorioErrosImportacao implements Consumer<ErroImportacao>, Closeable {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final Writer writer;
+    private final JsonGenerator json;
+    private long erros;
+
+    public RelatorioErrosImportacao(OutputStream outputStream, FormatoRelatorio formato) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (formato == FormatoRelatorio.NDJSON) {
+            this.json = JSON.createGenerator(writer);
+            this.json.setRootValueSeparator(null);
+        } else {
+            this.json = null;
+            writer.write("linha,mensagem\n");
+        }
+    }
+
+    @Override
+    public void accept(ErroImportacao erro) {
+        try {
+            if (json != null) {
+                json.writeStartObject();
+                json.writeNumberField("linha", erro.getLinha());
+                json.writeStringField("mensagem", erro.getMensagem());
+                json.writeEndObject();
+                json.writeRaw('\n');
+            } else {
+                writer.write(Long.toString(erro.getLinha()));
+                writer.write(",\"");
+                writer.write(erro.getMensagem().replace("\"", "\"\""));
+                writer.write("\"\n");
+            }
+            erros++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getErros() {
+        return erros;
+    }
+
+    /**
+     * Descarrega o que falta escrever, sem fechar o {@link OutputStream} recebido.
+     */
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,370 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Conversor do layout de importação de contas que trabalha direto sobre um {@code char[]}: as datas
+ * {@code dd/MM/yyyy}, o valor e a situação são lidos dos caracteres do buffer, sem criar {@code String} por campo
+ * (apenas a descrição vira {@code String}, porque é o que a {@link Conta} guarda).
+ * <p>
+ * Segue as mesmas regras do mapeamento do opencsv usado em {@link com.projeto.api.service.dto.ContaCsv}: colunas
+ * resolvidas pelo nome no cabeçalho sem diferenciar maiúsculas, espaços no inicio do campo ignorados, campos entre
+ * aspas (com {@code ""} ou {@code \"} para aspas literais) podendo conter virgulas e quebras de linha, e as mesmas
+ * mensagens de erro.
+ */
+class TokenizadorContas {
+
+    private static final char ASPAS = '"';
+    private static final char ESCAPE = '\\';
+    private static final char SEPARADOR = ',';
+
+    private static final int IGNORADA = -1;
+    private static final int DESCRICAO = 0;
+    private static final int DATA_VENCIMENTO = 1;
+    private static final int DATA_PAGAMENTO = 2;
+    private static final int VALOR = 3;
+    private static final int SITUACAO = 4;
+    private static final String[] NOMES = {"descricao", "dataVencimento", "dataPagamento", "valor", "situacao"};
+
+    /** Maior quantidade de digitos que cabe em um {@code long} sem risco de overflow. */
+    private static final int MAXIMO_DIGITOS = 18;
+
+    private static final ContaSituacao[] SITUACOES = ContaSituacao.values();
+
+    /** Campo da {@link Conta} de cada coluna do arquivo, na ordem do cabeçalho. */
+    private final int[] campos;
+
+    private TokenizadorContas(int[] campos) {
+        this.campos = campos;
+    }
+
+    /**
+     * Resolve as colunas a partir do registro de cabeçalho em {@code buffer[inicio, fim)}.
+     */
+    static TokenizadorContas doCabecalho(char[] buffer, int inicio, int fim) {
+        List<Integer> colunas = new ArrayList<>();
+        int p = inicio;
+        while (true) {
+            p = pularEspacos(buffer, p, fim);
+            int fimCampo = fimDoCampo(buffer, p, fim);
+            if (fimCampo < 0) {
+                fimCampo = fim;
+            }
+            String nome = texto(buffer, p, fimCampo).trim();
+            colunas.add(campo(nome));
+            p = proximoSeparador(buffer, fimCampo, fim);
+            if (p >= fim || buffer[p] != SEPARADOR) {
+                break;
+            }
+            p++;
+        }
+        return new TokenizadorContas(colunas.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Procura o fim do registro que começa em {@code inicio}, respeitando quebras de linha entre aspas.
+     *
+     * @return a posição seguinte ao {@code \n} do registro, {@code fim} se o arquivo terminou sem quebra de linha,
+     * ou {@code -1} se o registro continua depois de {@code fim}.
+     */
+    static int fimDoRegistro(char[] buffer, int inicio, int fim, boolean fimArquivo) {
+        boolean aspasAbertas = false;
+        for (int i = inicio; i < fim; i++) {
+            char c = buffer[i];
+            if (c == ESCAPE && i + 1 < fim && escapavel(buffer[i + 1])) {
+                i++;
+            } else if (c == ASPAS) {
+                aspasAbertas = !aspasAbertas;
+            } else if (c == '\n' && !aspasAbertas) {
+                return i + 1;
+            }
+        }
+        return fimArquivo && inicio < fim ? fim : -1;
+    }
+
+    /**
+     * Indica se o registro em {@code buffer[inicio, fim)} é uma linha em branco, ignorada como no opencsv.
+     */
+    static boolean vazio(char[] buffer, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            if (!Character.isWhitespace(buffer[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Valida o registro em {@code buffer[inicio, fim)} e converte para {@link Conta}.
+     *
+     * @param linha numero da linha de dados (sem contar o cabeçalho), usado nas mensagens de erro.
+     */
+    Conta converter(char[] buffer, int inicio, int fim, long linha) throws ImportCsvException {
+        String descricao = null;
+        int inicioVencimento = 0, fimVencimento = -1;
+        int inicioPagamento = 0, fimPagamento = -1;
+        int inicioValor = 0, fimValor = -1;
+        int inicioSituacao = 0, fimSituacao = -1;
+
+        int p = inicio;
+        for (int coluna = 0; ; coluna++) {
+            p = pularEspacos(buffer, p, fim);
+            int inicioCampo = p;
+            int fimCampo = fimDoCampo(buffer, p, fim);
+            if (fimCampo < 0) {
+                throw new ImportCsvException("Linha mal formatada na linha " + linha);
+            }
+            boolean entreAspas = inicioCampo < fim && buffer[inicioCampo] == ASPAS;
+            if (entreAspas) {
+                inicioCampo++;
+            }
+            int fimConteudo = entreAspas ? fimCampo - 1 : fimCampo;
+
+            switch (coluna < campos.length ? campos[coluna] : IGNORADA) {
+                case DESCRICAO -> descricao = entreAspas
+                        ? textoEntreAspas(buffer, inicioCampo, fimConteudo)
+                        : texto(buffer, inicioCampo, fimConteudo);
+                case DATA_VENCIMENTO -> {
+                    inicioVencimento = inicioCampo;
+                    fimVencimento = fimConteudo;
+                }
+                case DATA_PAGAMENTO -> {
+                    inicioPagamento = inicioCampo;
+                    fimPagamento = fimConteudo;
+                }
+                case VALOR -> {
+                    inicioValor = inicioCampo;
+                    fimValor = fimConteudo;
+                }
+                case SITUACAO -> {
+                    inicioSituacao = inicioCampo;
+                    fimSituacao = fimConteudo;
+                }
+                default -> {
+                }
+            }
+
+            p = proximoSeparador(buffer, fimCampo, fim);
+            if (p >= fim || buffer[p] != SEPARADOR) {
+                break;
+            }
+            p++;
+        }
+
+        BigDecimal valor = valor(buffer, inicioValor, fimValor, linha);
+        if (valor == null) {
+            throw new ImportCsvException("Valor deve ser preenchido na linha " + linha);
+        }
+        return Conta.builder()
+                .dataPagamento(data(buffer, inicioPagamento, fimPagamento, linha))
+                .dataVencimento(data(buffer, inicioVencimento, fimVencimento, linha))
+                .descricao(descricao)
+                .valor(valor)
+                .situacao(situacao(buffer, inicioSituacao, fimSituacao, linha))
+                .build();
+    }
+
+    /**
+     * Data {@code dd/MM/yyyy}. Como o {@code DateTimeFormatter} usado antes (resolução {@code SMART}), um dia
+     * inexistente no mês (ex.: 31/04) é ajustado para o ultimo dia do mês.
+     */
+    private static LocalDate data(char[] buffer, int inicio, int fim, long linha) throws ImportCsvException {
+        if (fim < 0 || vazio(buffer, inicio, fim)) {
+            return null;
+        }
+        if (fim - inicio != 10 || buffer[inicio + 2] != '/' || buffer[inicio + 5] != '/') {
+            throw dataInvalida(linha);
+        }
+        int dia = digitos(buffer, inicio, 2);
+        int mes = digitos(buffer, inicio + 3, 2);
+        int ano = digitos(buffer, inicio + 6, 4);
+        if (dia < 1 || dia > 31 || mes < 1 || mes > 12 || ano < 1) {
+            throw dataInvalida(linha);
+        }
+        return LocalDate.of(ano, mes, Math.min(dia, Month.of(mes).length(Year.isLeap(ano))));
+    }
+
+    private static ImportCsvException dataInvalida(long linha) {
+        return new ImportCsvException("Formato de data Invalida na linha " + linha);
+    }
+
+    /**
+     * @return o numero formado pelos {@code quantidade} digitos a partir de {@code inicio}, ou {@code -1} se algum
+     * caractere não for digito.
+     */
+    private static int digitos(char[] buffer, int inicio, int quantidade) {
+        int numero = 0;
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            int digito = buffer[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            numero = numero * 10 + digito;
+        }
+        return numero;
+    }
+
+    /**
+     * Valor decimal com sinal opcional e ponto como separador. Numeros que não cabem em um {@code long} ou em
+     * notação cientifica seguem para o construtor do {@link BigDecimal}, como no opencsv.
+     */
+    private static BigDecimal valor(char[] buffer, int inicio, int fim, long linha) throws ImportCsvException {
+        while (fim > inicio && Character.isWhitespace(buffer[fim - 1])) {
+            fim--;
+        }
+        if (fim <= inicio) {
+            return null;
+        }
+        int p = inicio;
+        boolean negativo = buffer[p] == '-';
+        if (negativo || buffer[p] == '+') {
+            p++;
+        }
+        long semEscala = 0;
+        int digitos = 0;
+        int escala = -1;
+        for (; p < fim; p++) {
+            char c = buffer[p];
+            if (c >= '0' && c <= '9') {
+                if (++digitos > MAXIMO_DIGITOS) {
+                    return valorGenerico(buffer, inicio, fim, linha);
+                }
+                semEscala = semEscala * 10 + (c - '0');
+                if (escala >= 0) {
+                    escala++;
+                }
+            } else if (c == '.' && escala < 0) {
+                escala = 0;
+            } else {
+                return valorGenerico(buffer, inicio, fim, linha);
+            }
+        }
+        if (digitos == 0) {
+            throw new ImportCsvException("Valor invalido na linha " + linha);
+        }
+        return BigDecimal.valueOf(negativo ? -semEscala : semEscala, Math.max(escala, 0));
+    }
+
+    private static BigDecimal valorGenerico(char[] buffer, int inicio, int fim, long linha) throws ImportCsvException {
+        try {
+            return new BigDecimal(buffer, inicio, fim - inicio);
+        } catch (NumberFormatException e) {
+            throw new ImportCsvException("Valor invalido na linha " + linha);
+        }
+    }
+
+    private static ContaSituacao situacao(char[] buffer, int inicio, int fim, long linha) throws ImportCsvException {
+        if (fim < 0 || vazio(buffer, inicio, fim)) {
+            return ContaSituacao.PENDENTE;
+        }
+        for (ContaSituacao situacao : SITUACOES) {
+            if (igualIgnorandoCaixa(buffer, inicio, fim, situacao.name())) {
+                return situacao;
+            }
+        }
+        throw new ImportCsvException("Situacao invalida na linha " + linha);
+    }
+
+    private static boolean igualIgnorandoCaixa(char[] buffer, int inicio, int fim, String nome) {
+        if (fim - inicio != nome.length()) {
+            return false;
+        }
+        for (int i = 0; i < nome.length(); i++) {
+            if (Character.toUpperCase(buffer[inicio + i]) != nome.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fim do campo que começa em {@code inicio}: a aspas de fechamento (inclusive) para campos entre aspas ou o
+     * proximo separador/quebra de linha; {@code -1} se as aspas não forem fechadas.
+     */
+    private static int fimDoCampo(char[] buffer, int inicio, int fim) {
+        int p = inicio;
+        if (p < fim && buffer[p] == ASPAS) {
+            for (p++; p < fim; p++) {
+                char c = buffer[p];
+                if (c == ESCAPE && p + 1 < fim && escapavel(buffer[p + 1])) {
+                    p++;
+                } else if (c == ASPAS) {
+                    if (p + 1 < fim && buffer[p + 1] == ASPAS) {
+                        p++;
+                    } else {
+                        return p + 1;
+                    }
+                }
+            }
+            return -1;
+        }
+        while (p < fim && buffer[p] != SEPARADOR && buffer[p] != '\n' && buffer[p] != '\r') {
+            p++;
+        }
+        return p;
+    }
+
+    private static int proximoSeparador(char[] buffer, int p, int fim) {
+        while (p < fim && buffer[p] != SEPARADOR && buffer[p] != '\n') {
+            p++;
+        }
+        return p;
+    }
+
+    private static int pularEspacos(char[] buffer, int p, int fim) {
+        while (p < fim && (buffer[p] == ' ' || buffer[p] == '\t')) {
+            p++;
+        }
+        return p;
+    }
+
+    private static boolean escapavel(char c) {
+        return c == ASPAS || c == ESCAPE;
+    }
+
+    private static String texto(char[] buffer, int inicio, int fim) {
+        return new String(buffer, inicio, fim - inicio);
+    }
+
+    /**
+     * Conteudo de um campo entre aspas; só passa por um {@link StringBuilder} quando há aspas ou escapes a remover.
+     */
+    private static String textoEntreAspas(char[] buffer, int inicio, int fim) {
+        int i = inicio;
+        while (i < fim && buffer[i] != ASPAS && buffer[i] != ESCAPE) {
+            i++;
+        }
+        if (i == fim) {
+            return texto(buffer, inicio, fim);
+        }
+        StringBuilder texto = new StringBuilder(fim - inicio).append(buffer, inicio, i - inicio);
+        for (; i < fim; i++) {
+            char c = buffer[i];
+            if ((c == ASPAS || c == ESCAPE) && i + 1 < fim && (c == ASPAS ? buffer[i + 1] == ASPAS : escapavel(buffer[i + 1]))) {
+                i++;
+                c = buffer[i];
+            }
+            texto.append(c);
+        }
+        return texto.toString();
+    }
+
+    private static int campo(String nome) {
+        for (int i = 0; i < NOMES.length; i++) {
+            if (NOMES[i].toUpperCase(Locale.ROOT).equals(nome.toUpperCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return IGNORADA;
+    }
+}
@@ -0,0 +1,61 @@
+package com.projeto.api.service.indice;
+
+/**
+ * Arvore de Fenwick (binary indexed tree) de somas {@code long} sobre as posições {@code 0..tamanho-1}: soma de um
+ * intervalo e atualização de uma posição em {@code O(log n)}. Não é thread-safe.
+ */
+public final class ArvoreFenwick {
+
+    /**
+     * Base 1: {@code arvore[i]} guarda a soma das posições {@code (i - (i & -i), i]}.
+     */
+    private final long[] arvore;
+
+    public ArvoreFenwick(int tamanho) {
+        this.arvore = new long[tamanho + 1];
+    }
+
+    /**
+     * Arvore com os valores iniciais de cada posição, montada em {@code O(n)}.
+     */
+    public static ArvoreFenwick de(long[] valores) {
+        ArvoreFenwick fenwick = new ArvoreFenwick(valores.length);
+        long[] arvore = fenwick.arvore;
+        System.arraycopy(valores, 0, arvore, 1, valores.length);
+        for (int i = 1; i < arvore.length; i++) {
+            int pai = i + (i & -i);
+            if (pai < arvore.length) {
+                arvore[pai] += arvore[i];
+            }
+        }
+        return fenwick;
+    }
+
+    public int tamanho() {
+        return arvore.length - 1;
+    }
+
+    public void somar(int posicao, long delta) {
+        for (int i = posicao + 1; i < arvore.length; i += i & -i) {
+            arvore[i] += delta;
+        }
+    }
+
+    /**
+     * Soma das posições {@code 0..posicao}; {@code 0} se {@code posicao} for negativa.
+     */
+    public long prefixo(int posicao) {
+        long soma = 0;
+        for (int i = posicao + 1; i > 0; i -= i & -i) {
+            soma += arvore[i];
+        }
+        return soma;
+    }
+
+    /**
+     * Soma das posições {@code de..ate}, incluindo as duas.
+     */
+    public long intervalo(int de, int ate) {
+        return prefixo(ate) - prefixo(de - 1);
+    }
+}
@@ -1,35 +1,70 @@
 package com.projeto.api.web.rest;
 
+import com.projeto.api.configs.ApplicationProperties;
 import com.projeto.api.domain.Conta;
-import com.projeto.api.repository.ContaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.projeto.api.service.AgingContasService;
+import com.projeto.api.service.CadastroLoteContasService;
+import com.projeto.api.service.ContaImportJobService;
+import com.projeto.api.service.ContaImportService;
 import com.projeto.api.service.ContaService;
+import com.projeto.api.service.TotaisContasService;
+import com.projeto.api.service.dto.AgrupamentoPeriodo;
+import com.projeto.api.service.dto.CursorConta;
+import com.projeto.api.service.dto.DataReferencia;
+import com.projeto.api.service.dto.FaixaAtraso;
+import com.projeto.api.service.dto.FiltroContas;
+import com.projeto.api.service.dto.ModoImportacao;
+import com.projeto.api.service.dto.ModoTotal;
+import com.projeto.api.service.dto.FormatoRelatorio;
+import com.projeto.api.service.dto.JobImportacao;
+import com.projeto.api.service.dto.ResultadoImportacao;
+import com.projeto.api.service.exportacao.ExportadorContas;
+import com.projeto.api.service.exportacao.ExportadorContasEmAtraso;
+import com.projeto.api.service.importacao.ArquivoImportacao;
+import com.projeto.api.service.importacao.RelatorioErrosImportacao;
+import com.projeto.api.web.rest.dto.FiltroContasDTO;
 import com.projeto.api.web.rest.dto.ManterContaDTO;
+import com.projeto.api.web.rest.dto.ViewAgingDTO;
 import com.projeto.api.web.rest.dto.ViewContaDTO;
+import com.projeto.api.web.rest.dto.ViewJobImportacaoDTO;
+import com.projeto.api.web.rest.dto.ViewResultadoLoteDTO;
+import com.projeto.api.web.rest.dto.ViewTotaisContasDTO;
 import com.projeto.api.web.rest.dto.ViewValorTotalPeriodoDTO;
 import com.projeto.api.web.rest.dto.mapper.ContaMapper;
+import com.projeto.api.web.rest.dto.mapper.ImportacaoMapper;
 import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import com.projeto.api.web.rest.util.ETagUtil;
 import com.projeto.api.web.rest.util.HeaderUtil;
 import com.projeto.api.web.rest.util.PaginationUtil;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
@@ -40,16 +75,40 @@ import java.util.Objects;
 @Slf4j
 public class ContaResource {
     private static final String ENTITY_NAME = "Conta";
+    private static final String HEADER_CONTAS_IGNORADAS = "X-Contas-Ignoradas";
+    private static final String HEADER_CONTAS_DUPLICADAS = "X-Contas-Duplicadas";
+    private static final String HEADER_CONTAS_GRAVADAS = "X-Contas-Gravadas";
+    private static final String HEADER_CONTAS_INVALIDAS = "X-Contas-Invalidas";
+    private static final String HEADER_TOTAL_ESTIMADO = "X-Total-Estimado";
+    private static final String ETAG_LISTAGEM = "contas";
     @Value("${spring.application.name}")
     private String applicationName;
 
     private final ContaService contaService;
 
-    private final ContaRepository contaRepository;
+    private final ContaImportService contaImportService;
 
-    public ContaResource(ContaService contaService, ContaRepository contaRepository) {
+    private final ContaImportJobService contaImportJobService;
+
+    private final TotaisContasService totaisContasService;
+
+    private final AgingContasService agingContasService;
+
+    private final CadastroLoteContasService cadastroLoteContasService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ContaResource(ContaService contaService, ContaImportService contaImportService,
+                         ContaImportJobService contaImportJobService, TotaisContasService totaisContasService,
+                         AgingContasService agingContasService, CadastroLoteContasService cadastroLoteContasService,
+                         ApplicationProperties applicationProperties) {
         this.contaService = contaService;
-        this.contaRepository = contaRepository;
+        this.contaImportService = contaImportService;
+        this.contaImportJobService = contaImportJobService;
+        this.totaisContasService = totaisContasService;
+        this.agingContasService = agingContasService;
+        this.cadastroLoteContasService = cadastroLoteContasService;
+        this.applicationProperties = applicationProperties;
     }
 
 
@@ -73,28 +132,109 @@ public class ContaResource {
                 .body(result);
     }
 
+    /**
+     * {@code POST /conta/batch} : Criar varias contas para pagar em uma requisição.
+     *
+     * @param corpo array JSON ou uma conta JSON por linha ({@code application/x-ndjson}), no formato do {@code POST /conta}.
+     * @return {@link ResponseEntity} com status {@code 200 (Ok)} e no body, para cada conta na ordem recebida, o id da
+     * conta criada ou os erros que a recusaram, ou status {@code 400 (Bad Request)} se o corpo não for JSON valido ou
+     * passar do maximo de contas; nesse caso nenhuma conta é criada.
+     */
+    @PreAuthorize("hasRole('conta_insert')")
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<ViewResultadoLoteDTO> cadastrarContas(InputStream corpo) throws IOException {
+        try {
+            return ResponseEntity.ok(cadastroLoteContasService.cadastrar(corpo));
+        } catch (JsonProcessingException e) {
+            log.debug("Lote de contas com JSON invalido", e);
+            return returnError("JSON invalido", "batchinvalid");
+        } catch (IllegalArgumentException e) {
+            return returnError(e.getMessage(), "batchinvalid");
+        }
+    }
+
+    /**
+     * {@code GET /conta/listar} : Listar as contas pendentes, paginadas.
+     *
+     * @param filtro filtros opcionais; sem {@code situacao}, lista as pendentes.
+     * @param after se informado, pagina por cursor: vazio para a primeira pagina ou o token do link {@code next}
+     *              da anterior. A ordem é sempre {@code dataVencimento,id} e o {@code page}/{@code sort} são ignorados.
+     * @param total {@code EXATO}, {@code ESTIMADO} (header {@code X-Total-Estimado}) ou {@code NENHUM} (sem
+     *              {@code X-Total-Count} nem link {@code last}). Se não informado usa {@code application.listagem.total}.
+     * @param ifNoneMatch ETag de uma resposta anterior; se nenhuma conta foi gravada desde então, a busca não é feita.
+     * @return {@link ResponseEntity} com status {@code 200 (Ok)}, o header {@code ETag} e no body as contas da pagina,
+     * status {@code 304 (Not Modified)} se o ETag ainda é o atual, ou status {@code 400 (Bad Request)} se o cursor
+     * for invalido.
+     */
     @PreAuthorize("hasRole('conta_select')")
     @GetMapping("/listar")
     public ResponseEntity<List> buscaPaginada(
-            @RequestParam(required = false, name = "dataVencimento")
-                @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dateVencimento,
-            @RequestParam(required = false, name = "descricao") String descricao,
+            @ParameterObject FiltroContasDTO filtro,
+            @RequestParam(required = false, name = "after") String after,
+            @RequestParam(required = false, name = "total") ModoTotal total,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get a page of Pragas");
-        Page<ViewContaDTO> page = contaService.buscaPaginada(dateVencimento, descricao, null, pageable)
-                .map(ContaMapper::toDto);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        // lido antes da busca: se uma gravação terminar no meio, o proximo If-None-Match não confere e a pagina é relida
+        String etag = ETagUtil.etag(ETAG_LISTAGEM, contaService.versaoContas());
+        if (ETagUtil.corresponde(ifNoneMatch, etag)) {
+            return ETagUtil.naoModificado(etag);
+        }
+        if (after != null) {
+            return buscaPorCursor(ContaMapper.toFiltro(filtro), after, pageable.getPageSize(), etag);
+        }
+        ModoTotal modoTotal = total != null ? total : applicationProperties.getListagem().getTotal();
+        Slice<ViewContaDTO> slice = contaService.buscaPaginada(ContaMapper.toFiltro(filtro), pageable, modoTotal);
+        HttpHeaders headers;
+        if (slice instanceof Page<ViewContaDTO> page) {
+            headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            if (modoTotal == ModoTotal.ESTIMADO) {
+                headers.add(HEADER_TOTAL_ESTIMADO, "true");
+            }
+        } else {
+            headers = PaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+        }
+        return ResponseEntity.ok().headers(headers).eTag(etag).body(slice.getContent());
     }
 
+    private ResponseEntity<List> buscaPorCursor(FiltroContas filtro, String after, int tamanho, String etag) {
+        CursorConta depois;
+        try {
+            depois = after.isEmpty() ? null : CursorConta.decodificar(after);
+        } catch (IllegalArgumentException e) {
+            return returnError("Cursor invalido", "cursorinvalid");
+        }
+        Slice<ViewContaDTO> slice = contaService.buscaPorCursor(filtro, depois, tamanho);
+        String proximo = slice.hasNext() ? CursorConta.depoisDe(slice.getContent().get(slice.getNumberOfElements() - 1)).codificar() : null;
+        HttpHeaders headers = PaginationUtil.generateCursorPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), proximo);
+        return ResponseEntity.ok().headers(headers).eTag(etag).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET /conta/:id} : Buscar uma conta.
+     *
+     * @param id o id da conta.
+     * @param ifNoneMatch ETag de uma resposta anterior; é comparado só com a versão da conta, sem carregá-la.
+     * @return {@link ResponseEntity} com status {@code 200 (Ok)}, o header {@code ETag} e no body a conta, status
+     * {@code 304 (Not Modified)} se a conta não mudou desde o ETag, ou status {@code 404 (Not Found)}.
+     */
     @PreAuthorize("hasRole('conta_select')")
     @GetMapping("/{id}")
     public ResponseEntity<Conta> buscarPorId(
-            @PathVariable final Long id
+            @PathVariable final Long id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
+        if (ifNoneMatch != null) {
+            String etag = contaService.buscarVersao(id)
+                    .map(versao -> ETagUtil.etag(id, versao))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            if (ETagUtil.corresponde(ifNoneMatch, etag)) {
+                return ETagUtil.naoModificado(etag);
+            }
+        }
         return contaService.buscarPorId(id)
-                .map(response -> ResponseEntity.ok().body(response))
+                .map(response -> ResponseEntity.ok().eTag(ETagUtil.etag(id, response.getVersao())).body(response))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
@@ -111,6 +251,27 @@ public class ContaResource {
 
     }
 
+    /**
+     * {@code GET /conta/totais} : Soma e quantidade de contas por periodo e situação, em uma unica consulta.
+     *
+     * @param agrupamento tamanho de cada periodo: {@code DIA}, {@code SEMANA}, {@code MES} ou {@code ANO}.
+     * @param data data que coloca a conta no periodo: {@code PAGAMENTO} ou {@code VENCIMENTO}.
+     * @return {@link ResponseEntity} com status {@code 200 (OK)} e uma serie por situação, alinhada com os periodos,
+     * ou status {@code 400 (Bad Request)} se a data inicial for depois da final.
+     */
+    @PreAuthorize("hasRole('conta_select')")
+    @GetMapping(value = "/totais")
+    public ResponseEntity<ViewTotaisContasDTO> getTotais(
+            @RequestParam("dataInicial") @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataInicial,
+            @RequestParam("dataFinal") @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataFinal,
+            @RequestParam(value = "agrupamento", defaultValue = "MES") AgrupamentoPeriodo agrupamento,
+            @RequestParam(value = "data", defaultValue = "PAGAMENTO") DataReferencia data) {
+        if (dataInicial.isAfter(dataFinal)) {
+            return returnError("Data inicial depois da data final", "periodoinvalid");
+        }
+        return ResponseEntity.ok(totaisContasService.totais(data, agrupamento, dataInicial, dataFinal));
+    }
+
     /**
      * {@code PUT /conta/:id} : Atualizar uma conta existente.
      *
@@ -131,23 +292,41 @@ public class ContaResource {
         if (!Objects.equals(id, conta.getId())) {
             return returnError("Id da entidade não confere com o ID para atualizar", "idinvalid");
         }
-        if (!contaRepository.existsById(id)) {
-            return returnError("Entidade não encontrada", "idnotfound");
-        }
-
+        // a existencia é verificada na transação de escrita do serviço, no primario: uma conta recem criada
+        // ainda pode não ter chegado à replica
         return contaService.atualizarConta( ContaMapper.fromDto(conta))
                 .map(response ->
                         ResponseEntity.ok()
                         .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, conta.getId().toString()))
                         .body(response))
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+                .orElseGet(() -> returnError("Entidade não encontrada", "idnotfound"));
     }
 
+    /**
+     * {@code POST /conta/import} : Importar contas de um arquivo CSV.
+     *
+     * @param file arquivo CSV com o cabeçalho {@code descricao,dataVencimento,dataPagamento,valor,situacao}.
+     * @param modo {@code MEMORIA} (valida o arquivo inteiro e grava em uma transação), {@code STREAMING}
+     *             (lê e grava em lotes, com memória constante) ou {@code ARQUIVO} (como o {@code STREAMING}, lendo
+     *             uma cópia do arquivo em disco mapeada em memória). Se não informado usa {@code application.importacao.modo}.
+     * @return {@link ResponseEntity} com status {@code 200 (Ok)}, no body a quantidade de contas gravadas e no header
+     * {@code X-Contas-Ignoradas} as linhas ignoradas por já terem sido importadas e em {@code X-Contas-Duplicadas} as
+     * repetidas no arquivo, ou status {@code 400 (Bad Request)} se o arquivo for invalido.
+     */
     @PreAuthorize("hasRole('conta_insert')")
     @PostMapping(value = "/import", consumes = {"multipart/form-data"})
-    public ResponseEntity<Integer> importByCsv(@RequestPart("file")MultipartFile file) throws IOException {
+    public ResponseEntity<Integer> importByCsv(@RequestPart("file")MultipartFile file,
+                                               @RequestParam(required = false, name = "modo") ModoImportacao modo) throws IOException {
         try{
-            return ResponseEntity.ok(contaService.importarContas(file));
+            ResultadoImportacao resultado = switch (resolverModo(modo)) {
+                case STREAMING -> contaImportService.importarContas(file);
+                case ARQUIVO -> contaImportService.importarContasPorArquivo(file);
+                case MEMORIA -> contaService.importarContas(file);
+            };
+            return ResponseEntity.ok()
+                    .header(HEADER_CONTAS_IGNORADAS, Long.toString(resultado.getContasIgnoradas()))
+                    .header(HEADER_CONTAS_DUPLICADAS, Long.toString(resultado.getContasDuplicadas()))
+                    .body(Math.toIntExact(resultado.getContasGravadas()));
         } catch (ImportCsvException e1 ){
             e1.printStackTrace();
             return returnError(e1.getMessage(), "importerr");
@@ -157,6 +336,177 @@ public class ContaResource {
         }
     }
 
+    /**
+     * {@code POST /conta/import/validar} : Validar todas as linhas de um arquivo CSV em uma passada.
+     *
+     * @param file     arquivo CSV, no mesmo formato do {@code POST /conta/import}.
+     * @param formato  formato do relatorio de erros: {@code CSV} (padrão) ou {@code NDJSON}.
+     * @param importar se {@code true}, grava as linhas validas; caso contrario apenas valida.
+     * @return {@link ResponseEntity} com status {@code 200 (Ok)} e no body uma linha para cada linha invalida com o
+     * numero da linha e a mensagem. Só validando, o body é escrito à medida que o arquivo é lido. Importando, o
+     * relatorio vai para um arquivo temporario e a resposta só sai ao final da importação, com as contas gravadas em
+     * {@code X-Contas-Gravadas}, as já importadas em {@code X-Contas-Ignoradas}, as repetidas no arquivo em
+     * {@code X-Contas-Duplicadas} e as linhas invalidas em {@code X-Contas-Invalidas}.
+     */
+    @PreAuthorize("hasRole('conta_insert')")
+    @PostMapping(value = "/import/validar", consumes = {"multipart/form-data"})
+    public ResponseEntity<StreamingResponseBody> validarCsv(@RequestPart("file") MultipartFile file,
+                                                            @RequestParam(name = "formato", defaultValue = "CSV") FormatoRelatorio formato,
+                                                            @RequestParam(name = "importar", defaultValue = "false") boolean importar) throws IOException {
+        if (!importar) {
+            StreamingResponseBody body = outputStream -> {
+                try (InputStream inputStream = file.getInputStream();
+                     RelatorioErrosImportacao relatorio = new RelatorioErrosImportacao(outputStream, formato)) {
+                    ResultadoImportacao resultado = contaImportService.validarContas(inputStream, false, relatorio);
+                    log.info("Validação de {} finalizada: {}", file.getOriginalFilename(), resultado);
+                }
+            };
+            return anexo("erros-importacao", formato).body(body);
+        }
+        // os headers saem antes do body: o relatorio fica no disco até a importação terminar, sem acumular em memória
+        Path arquivo = ArquivoImportacao.criar(applicationProperties.getImportacao().getArquivo());
+        ResultadoImportacao resultado;
+        try (InputStream inputStream = file.getInputStream();
+             OutputStream saida = Files.newOutputStream(arquivo);
+             RelatorioErrosImportacao relatorio = new RelatorioErrosImportacao(saida, formato)) {
+            resultado = contaImportService.validarContas(inputStream, true, relatorio);
+        } catch (IOException | RuntimeException e) {
+            ArquivoImportacao.remover(arquivo);
+            throw e;
+        }
+        log.info("Validação e importação de {} finalizada: {}", file.getOriginalFilename(), resultado);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(arquivo, outputStream);
+            } finally {
+                ArquivoImportacao.remover(arquivo);
+            }
+        };
+        return anexo("erros-importacao", formato)
+                .header(HEADER_CONTAS_GRAVADAS, Long.toString(resultado.getContasGravadas()))
+                .header(HEADER_CONTAS_IGNORADAS, Long.toString(resultado.getContasIgnoradas()))
+                .header(HEADER_CONTAS_DUPLICADAS, Long.toString(resultado.getContasDuplicadas()))
+                .header(HEADER_CONTAS_INVALIDAS, Long.toString(resultado.getContasInvalidas()))
+                .body(body);
+    }
+
+    /**
+     * {@code GET /conta/export} : Exportar as contas que atendem aos filtros, escritas à medida que são lidas do banco.
+     *
+     * @param filtro   os mesmos filtros do {@code /listar}; sem {@code situacao}, exporta contas de todas as situações.
+     * @param formato  {@code CSV} (padrão), no layout aceito pelo {@code POST /conta/import}, ou {@code NDJSON}.
+     * @return {@link ResponseEntity} com status {@code 200 (Ok)} e no body as contas, em ordem de id.
+     */
+    @PreAuthorize("hasRole('conta_select')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @ParameterObject FiltroContasDTO filtro,
+            @RequestParam(name = "formato", defaultValue = "CSV") FormatoRelatorio formato) {
+        StreamingResponseBody body = outputStream -> {
+            try (ExportadorContas exportador = new ExportadorContas(outputStream, formato)) {
+                long contas = contaService.exportarContas(ContaMapper.toFiltro(filtro), exportador);
+                log.info("Exportação finalizada: {} contas", contas);
+            }
+        };
+        return anexo("contas", formato).body(body);
+    }
+
+    /**
+     * {@code GET /conta/aging} : Valor e quantidade das contas pendentes vencidas, por faixa de dias de atraso.
+     *
+     * @param dataBase data em que o atraso é contado, formato dd/MM/yyyy; se não informada, hoje.
+     * @return {@link ResponseEntity} com status {@code 200 (Ok)} e no body o total de cada faixa.
+     */
+    @PreAuthorize("hasRole('conta_select')")
+    @GetMapping("/aging")
+    public ResponseEntity<ViewAgingDTO> aging(
+            @RequestParam(value = "dataBase", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataBase) {
+        return ResponseEntity.ok(agingContasService.resumo(dataBase != null ? dataBase : LocalDate.now()));
+    }
+
+    /**
+     * {@code GET /conta/aging/contas} : Contas pendentes vencidas de uma faixa de atraso, em NDJSON, escritas à medida
+     * que são lidas do banco.
+     *
+     * @param dataBase data em que o atraso é contado, formato dd/MM/yyyy; se não informada, hoje.
+     * @param faixa    faixa de atraso do {@code /aging}; se não informada, todas as contas vencidas.
+     * @return {@link ResponseEntity} com status {@code 200 (Ok)} e no body uma conta por linha, em ordem de vencimento.
+     */
+    @PreAuthorize("hasRole('conta_select')")
+    @GetMapping("/aging/contas")
+    public ResponseEntity<StreamingResponseBody> agingContas(
+            @RequestParam(value = "dataBase", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataBase,
+            @RequestParam(value = "faixa", required = false) FaixaAtraso faixa) {
+        LocalDate base = dataBase != null ? dataBase : LocalDate.now();
+        StreamingResponseBody body = outputStream -> {
+            try (ExportadorContasEmAtraso exportador = new ExportadorContasEmAtraso(outputStream)) {
+                long contas = agingContasService.contasEmAtraso(base, faixa, exportador);
+                log.info("Detalhamento do aging finalizado: {} contas", contas);
+            }
+        };
+        return anexo("contas-em-atraso", FormatoRelatorio.NDJSON).body(body);
+    }
+
+    /**
+     * {@code POST /conta/import?async=true} : Submeter a importação de contas de um arquivo CSV para execução em segundo plano.
+     * <p>
+     * Só a importação roda em segundo plano: a cópia do upload para o arquivo temporario faz parte da requisição, que
+     * demora o tempo de gravar o arquivo no disco.
+     *
+     * @param file arquivo CSV, no mesmo formato do {@code POST /conta/import}.
+     * @return {@link ResponseEntity} com status {@code 202 (Accepted)}, o header {@code Location} para consultar o andamento
+     * e no body o status da importação, status {@code 400 (Bad Request)} se o arquivo exceder o tamanho maximo ou status
+     * {@code 503 (Service Unavailable)} se a fila de importações estiver cheia.
+     */
+    @PreAuthorize("hasRole('conta_insert')")
+    @PostMapping(value = "/import", params = "async=true", consumes = {"multipart/form-data"})
+    public ResponseEntity<ViewJobImportacaoDTO> importByCsvAsync(@RequestPart("file")MultipartFile file) throws URISyntaxException {
+        try{
+            JobImportacao job = contaImportJobService.submeter(file);
+            return ResponseEntity
+                    .accepted()
+                    .location(new URI("/api/v1/conta/import/" + job.getId()))
+                    .body(ImportacaoMapper.toDto(job));
+        } catch (TaskRejectedException e){
+            log.warn("Fila de importações cheia", e);
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .headers(HeaderUtil.createFailureAlert(applicationName, false, ENTITY_NAME, "importbusy", "Fila de importações cheia, tente novamente mais tarde"))
+                    .build();
+        } catch (ImportCsvException e){
+            return returnError(e.getMessage(), "importerr");
+        } catch (IOException e){
+            log.error("Erro ao receber arquivo de importação", e);
+            return returnError("Erro ao importar contas", "importerr");
+        }
+    }
+
+    /**
+     * {@code GET /conta/import/:jobId} : Consultar o andamento de uma importação assincrona.
+     *
+     * @param jobId id retornado pelo {@code POST /conta/import?async=true}.
+     * @return {@link ResponseEntity} com status {@code 200 (Ok)} e no body linhas lidas, contas gravadas, vazão e status,
+     * ou status {@code 404 (Not Found)} se a importação não existir ou ja tiver expirado.
+     */
+    @PreAuthorize("hasRole('conta_insert')")
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ViewJobImportacaoDTO> statusImportacao(@PathVariable final String jobId) {
+        return contaImportJobService.buscarPorId(jobId)
+                .map(job -> ResponseEntity.ok().body(ImportacaoMapper.toDto(job)))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    private static ResponseEntity.BodyBuilder anexo(String nome, FormatoRelatorio formato) {
+        boolean ndjson = formato == FormatoRelatorio.NDJSON;
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nome + "." + (ndjson ? "ndjson" : "csv") + "\"");
+    }
+
+    private ModoImportacao resolverModo(ModoImportacao modo) {
+        return modo != null ? modo : applicationProperties.getImportacao().getModo();
+    }
+
     private ResponseEntity returnError(String message, String keyError) {
         return ResponseEntity
                 .badRequest()
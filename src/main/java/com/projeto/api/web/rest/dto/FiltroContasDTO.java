@@ -0,0 +1,43 @@
+package com.projeto.api.web.rest.dto;
+
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Parametros de URL com os filtros do {@code /listar} e do {@code /export}. Todos são opcionais e os intervalos
+ * incluem os limites; {@code dataVencimento} é um dia exato e tem precedencia sobre {@code vencimentoDe}/{@code vencimentoAte}.
+ */
+@Data
+public class FiltroContasDTO {
+
+    @DateTimeFormat(pattern = "dd/MM/yyyy")
+    private LocalDate dataVencimento;
+
+    private String descricao;
+
+    /**
+     * Uma ou mais situações ({@code situacao=PENDENTE&situacao=PAGO}).
+     */
+    private List<ContaSituacao> situacao;
+
+    @DateTimeFormat(pattern = "dd/MM/yyyy")
+    private LocalDate vencimentoDe;
+
+    @DateTimeFormat(pattern = "dd/MM/yyyy")
+    private LocalDate vencimentoAte;
+
+    @DateTimeFormat(pattern = "dd/MM/yyyy")
+    private LocalDate pagamentoDe;
+
+    @DateTimeFormat(pattern = "dd/MM/yyyy")
+    private LocalDate pagamentoAte;
+
+    private BigDecimal valorMinimo;
+
+    private BigDecimal valorMaximo;
+}
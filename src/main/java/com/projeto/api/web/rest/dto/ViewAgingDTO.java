@@ -0,0 +1,32 @@
+package com.projeto.api.web.rest.dto;
+
+import com.projeto.api.service.dto.FaixaAtraso;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Valor e quantidade das contas pendentes vencidas até a data base, por faixa de dias de atraso. Todas as faixas
+ * aparecem, zeradas quando não têm contas.
+ */
+@Builder
+@Getter
+public class ViewAgingDTO {
+    private LocalDate dataBase;
+    private BigDecimal valorTotal;
+    private long quantidadeTotal;
+    private List<Faixa> faixas;
+
+    @Builder
+    @Getter
+    public static class Faixa {
+        private FaixaAtraso faixa;
+        private int diasDe;
+        private Integer diasAte;
+        private BigDecimal valor;
+        private long quantidade;
+    }
+}
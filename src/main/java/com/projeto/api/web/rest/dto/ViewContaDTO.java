@@ -2,12 +2,16 @@ package com.projeto.api.web.rest.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.projeto.api.domain.enumeration.ContaSituacao;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ViewContaDTO {
     private Long id;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy")
@@ -0,0 +1,20 @@
+package com.projeto.api.web.rest.dto;
+
+import com.projeto.api.service.dto.StatusImportacao;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class ViewJobImportacaoDTO {
+    private String id;
+    private StatusImportacao status;
+    private long linhasLidas;
+    private long contasGravadas;
+    private long contasIgnoradas;
+    private long contasDuplicadas;
+    private double contasPorSegundo;
+    private Instant inicio;
+    private Instant fim;
+    private String mensagem;
+}
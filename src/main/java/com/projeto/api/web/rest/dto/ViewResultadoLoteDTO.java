@@ -0,0 +1,31 @@
+package com.projeto.api.web.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resultado do cadastro em lote: um item por conta recebida, na ordem do corpo da requisição, com o id da conta
+ * criada ou os erros que a recusaram.
+ */
+@Builder
+@Getter
+public class ViewResultadoLoteDTO {
+    private int contasCriadas;
+    private int contasRecusadas;
+    private List<Item> itens;
+
+    @Builder
+    @Getter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        /**
+         * Posição da conta no corpo da requisição, a partir de zero.
+         */
+        private int indice;
+        private Long id;
+        private List<String> erros;
+    }
+}
@@ -0,0 +1,35 @@
+package com.projeto.api.web.rest.dto;
+
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.AgrupamentoPeriodo;
+import com.projeto.api.service.dto.DataReferencia;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Totais por periodo em colunas: {@code periodos} tem o primeiro dia de cada periodo com contas, em ordem, e cada
+ * serie tem um valor e uma quantidade por periodo, na mesma posição ({@code 0} onde a situação não tem contas).
+ * {@code dataInicial} e {@code dataFinal} são os limites pedidos estendidos até periodos completos.
+ */
+@Builder
+@Getter
+public class ViewTotaisContasDTO {
+    private AgrupamentoPeriodo agrupamento;
+    private DataReferencia data;
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+    private List<LocalDate> periodos;
+    private List<Serie> series;
+
+    @Builder
+    @Getter
+    public static class Serie {
+        private ContaSituacao situacao;
+        private BigDecimal[] valores;
+        private long[] quantidades;
+    }
+}
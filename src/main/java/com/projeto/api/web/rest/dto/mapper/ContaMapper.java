@@ -1,10 +1,13 @@
 package com.projeto.api.web.rest.dto.mapper;
 
 import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.FiltroContas;
+import com.projeto.api.web.rest.dto.FiltroContasDTO;
 import com.projeto.api.web.rest.dto.ManterContaDTO;
 import com.projeto.api.web.rest.dto.ViewContaDTO;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -39,6 +42,17 @@ public class ContaMapper {
         return obj;
     }
 
-
+    public static FiltroContas toFiltro(FiltroContasDTO dto){
+        return FiltroContas.builder()
+                .situacoes(dto.getSituacao() != null ? new HashSet<>(dto.getSituacao()) : null)
+                .vencimentoDe(dto.getDataVencimento() != null ? dto.getDataVencimento() : dto.getVencimentoDe())
+                .vencimentoAte(dto.getDataVencimento() != null ? dto.getDataVencimento() : dto.getVencimentoAte())
+                .pagamentoDe(dto.getPagamentoDe())
+                .pagamentoAte(dto.getPagamentoAte())
+                .valorMinimo(dto.getValorMinimo())
+                .valorMaximo(dto.getValorMaximo())
+                .descricao(dto.getDescricao())
+                .build();
+    }
 
 }
@@ -0,0 +1,22 @@
+package com.projeto.api.web.rest.dto.mapper;
+
+import com.projeto.api.service.dto.JobImportacao;
+import com.projeto.api.web.rest.dto.ViewJobImportacaoDTO;
+
+public class ImportacaoMapper {
+
+    public static ViewJobImportacaoDTO toDto(JobImportacao job){
+        ViewJobImportacaoDTO dto = new ViewJobImportacaoDTO();
+        dto.setId(job.getId());
+        dto.setStatus(job.getStatus());
+        dto.setLinhasLidas(job.getProgresso().getLinhasLidas());
+        dto.setContasGravadas(job.getProgresso().getContasGravadas());
+        dto.setContasIgnoradas(job.getProgresso().getContasIgnoradas());
+        dto.setContasDuplicadas(job.getProgresso().getContasDuplicadas());
+        dto.setContasPorSegundo(job.getContasPorSegundo());
+        dto.setInicio(job.getInicio());
+        dto.setFim(job.getFim());
+        dto.setMensagem(job.getMensagem());
+        return dto;
+    }
+}
@@ -0,0 +1,55 @@
+package com.projeto.api.web.rest.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.StringJoiner;
+
+/**
+ * ETags fortes montados a partir de versões, e a comparação com o header {@code If-None-Match}.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {}
+
+    /**
+     * ETag forte com as partes separadas por {@code -}, por exemplo {@code "12-3"}.
+     */
+    public static String etag(Object... partes) {
+        StringJoiner etag = new StringJoiner("-", "\"", "\"");
+        for (Object parte : partes) {
+            etag.add(String.valueOf(parte));
+        }
+        return etag.toString();
+    }
+
+    /**
+     * Se o {@code If-None-Match} recebido contém o {@code etag}. Segue a comparação fraca da RFC 9110, que é a usada
+     * pelo {@code If-None-Match}: o prefixo {@code W/} é ignorado e {@code *} corresponde a qualquer ETag.
+     */
+    public static boolean corresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            candidato = candidato.trim();
+            if (candidato.equals("*")) {
+                return true;
+            }
+            if (candidato.startsWith("W/")) {
+                candidato = candidato.substring(2);
+            }
+            if (candidato.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resposta {@code 304 (Not Modified)}, sem body, repetindo o ETag.
+     */
+    public static <T> ResponseEntity<T> naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+}
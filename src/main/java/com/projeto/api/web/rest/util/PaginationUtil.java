@@ -1,6 +1,7 @@
 package com.projeto.api.web.rest.util;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -10,6 +11,7 @@ public final class PaginationUtil {
 
     private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
     private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+    private static final String HEADER_AFTER_PARAM = "after";
 
     private PaginationUtil() {
     }
@@ -43,6 +45,54 @@ public final class PaginationUtil {
         return headers;
     }
 
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice}, read without a count query: {@code next} only
+     * when a following page exists, {@code prev} and {@code first}, but no {@code last} link nor total count.
+     *
+     * @param uriBuilder The URI builder.
+     * @param slice The slice.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            link.append(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next"))
+                    .append(",");
+        }
+        if (pageNumber > 0) {
+            link.append(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev"))
+                    .append(",");
+        }
+        link.append(prepareLink(uriBuilder, 0, pageSize, "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    /**
+     * Generate pagination headers for cursor (keyset) pagination: only a {@code next} link, carrying the cursor of
+     * the last element in the {@code after} query param. No total count is sent.
+     *
+     * @param uriBuilder The URI builder.
+     * @param nextCursor The opaque cursor of the next page, or {@code null} on the last page.
+     * @return http header.
+     */
+    public static HttpHeaders generateCursorPaginationHttpHeaders(UriComponentsBuilder uriBuilder, String nextCursor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            String uri = uriBuilder.replaceQueryParam("page")
+                    .replaceQueryParam(HEADER_AFTER_PARAM, nextCursor)
+                    .toUriString()
+                    .replace(",", "%2C")
+                    .replace(";", "%3B");
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, uri, "next"));
+        }
+        return headers;
+    }
+
     private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
         return MessageFormat.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, pageNumber, pageSize), relType);
     }
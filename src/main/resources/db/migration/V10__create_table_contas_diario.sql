@@ -0,0 +1,16 @@
+-- Soma e quantidade de contas por situação e dia de pagamento, mantidas pela aplicação na mesma transação que grava
+-- as contas. A chave começa pela situação para que um periodo de uma situação seja um trecho continuo do indice.
+CREATE TABLE IF NOT EXISTS contas_diario (
+    situacao VARCHAR(50) NOT NULL,
+    data_pagamento DATE NOT NULL,
+    valor_total DECIMAL(38, 2) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    PRIMARY KEY (situacao, data_pagamento)
+);
+
+INSERT INTO contas_diario (situacao, data_pagamento, valor_total, quantidade)
+SELECT situacao, data_pagamento, SUM(valor), COUNT(*)
+FROM contas
+WHERE situacao IS NOT NULL AND data_pagamento IS NOT NULL
+GROUP BY situacao, data_pagamento
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,4 @@
+-- Totais por periodo de vencimento (/totais): o mes do vencimento com a mesma expressão da consulta, que usa só o
+-- indice. date_trunc de timestamp sem fuso é imutavel, o de date (convertido para timestamptz) não pode ser indexado.
+CREATE INDEX IF NOT EXISTS idx_contas_vencimento_mes ON contas ((CAST(date_trunc('month', CAST(data_vencimento AS timestamp)) AS date)))
+    INCLUDE (data_vencimento, situacao, valor);
@@ -0,0 +1,5 @@
+-- Aging das contas pendentes (/aging): só as pendentes, por vencimento e com o valor, para que as faixas sejam
+-- somadas percorrendo apenas o indice. A consulta usa 'PENDENTE' como literal, não como parametro, para que o
+-- planejador sempre possa usar um indice parcial.
+CREATE INDEX IF NOT EXISTS idx_contas_pendentes_vencimento ON contas(data_vencimento) INCLUDE (valor)
+    WHERE situacao = 'PENDENTE';
@@ -0,0 +1,3 @@
+-- A versão do /listar passou a ser um contador em memória de cada instancia: a linha unica de contas_versao
+-- serializava todas as transações que gravavam contas
+DROP TABLE IF EXISTS contas_versao;
@@ -0,0 +1,5 @@
+-- Alocação de ids em blocos (optimizer pooled/pooled-lo do Hibernate).
+-- O INCREMENT BY deve ser igual ao allocationSize das entidades Conta, Usuario e Role.
+ALTER SEQUENCE conta_id_seq INCREMENT BY 50;
+ALTER SEQUENCE usuario_id_seq INCREMENT BY 50;
+ALTER SEQUENCE role_id_seq INCREMENT BY 50;
@@ -0,0 +1,3 @@
+ALTER TABLE contas ADD COLUMN IF NOT EXISTS impressao_digital BIGINT;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_contas_impressao_digital ON contas(impressao_digital);
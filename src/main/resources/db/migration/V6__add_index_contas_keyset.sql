@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_contas_situacao_vencimento_id ON contas(situacao, data_vencimento, id);
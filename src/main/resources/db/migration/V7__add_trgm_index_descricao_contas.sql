@@ -0,0 +1,5 @@
+-- Busca por trecho da descrição sem diferenciar maiúsculas: LOWER(descricao) LIKE '%x%'.
+-- Um indice B-tree não atende LIKE com % no inicio; o GIN de trigramas atende, para trechos de 3 ou mais caracteres.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_contas_descricao_trgm ON contas USING gin (lower(descricao) gin_trgm_ops);
@@ -0,0 +1,4 @@
+-- Filtros de situação com intervalo de pagamento (inclusive o total pago por periodo, que lê só o indice)
+CREATE INDEX IF NOT EXISTS idx_contas_situacao_pagamento ON contas(situacao, data_pagamento) INCLUDE (valor);
+-- Filtros de situação com faixa de valor
+CREATE INDEX IF NOT EXISTS idx_contas_situacao_valor ON contas(situacao, valor);
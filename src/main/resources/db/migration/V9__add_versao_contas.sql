@@ -0,0 +1,9 @@
+-- Versão de cada conta (lock otimista e ETag do GET /conta/{id})
+ALTER TABLE contas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+
+-- Contador de alterações da tabela inteira (ETag do /listar), incrementado uma vez por transação que grava contas
+CREATE TABLE IF NOT EXISTS contas_versao (
+    id INT PRIMARY KEY,
+    versao BIGINT NOT NULL
+);
+INSERT INTO contas_versao (id, versao) VALUES (1, 0) ON CONFLICT DO NOTHING;
@@ -0,0 +1,88 @@
+package com.projeto.api.benchmark;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.service.dto.ContaCsv;
+import com.projeto.api.service.importacao.LeitorContas;
+import com.projeto.api.service.importacao.LeitorContasNativo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a conversão de {@value #CONTAS} linhas do CSV de importação pelo mapeamento por cabeçalho do opencsv
+ * ({@link ContaCsv}) e pelo {@link LeitorContasNativo}, ambos em uma thread. O {@link GCProfiler} mostra a
+ * alocação por operação ({@code gc.alloc.rate.norm}).
+ * <p>
+ * Executar com {@code ./mvnw test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContaCsvParserBenchmark {
+
+    private static final int CONTAS = 10_000;
+
+    private String csv;
+
+    @Setup
+    public void setup() {
+        StringBuilder csv = new StringBuilder("descricao,dataVencimento,dataPagamento,valor,situacao\n");
+        for (int i = 0; i < CONTAS; i++) {
+            csv.append("Conta ").append(i).append(",20/02/2020,");
+            if (i % 2 == 0) {
+                csv.append("21/02/2020,").append(i).append(".50,PAGO\n");
+            } else {
+                csv.append(',').append(i).append(".50,\n");
+            }
+        }
+        this.csv = csv.toString();
+    }
+
+    @Benchmark
+    public void opencsv(Blackhole blackhole) throws Exception {
+        long linha = 0;
+        for (ContaCsv contaCsv : ContaCsv.leitor(new StringReader(csv))) {
+            blackhole.consume(contaCsv.toConta(++linha));
+        }
+    }
+
+    @Benchmark
+    public void nativo(Blackhole blackhole) throws Exception {
+        try (LeitorContas leitor = new LeitorContasNativo(new StringReader(csv), 1000, null)) {
+            List<Conta> lote;
+            while ((lote = leitor.proximoLote()) != null) {
+                lote.forEach(blackhole::consume);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should measure the native parser against opencsv (JMH)")
+    void executar() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ContaCsvParserBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.projeto.api.benchmark;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.repository.ContaSpecifications;
+import com.projeto.api.service.dto.FiltroContas;
+import com.projeto.api.web.rest.dto.ViewContaDTO;
+import com.projeto.api.web.rest.dto.mapper.ContaMapper;
+import com.sun.management.ThreadMXBean;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compara a leitura de {@value #PAGINAS} paginas de {@value #TAMANHO_PAGINA} contas do {@code /listar} carregando
+ * entidades gerenciadas e convertendo com o {@link ContaMapper} contra a projeção direta em {@link ViewContaDTO}.
+ * Mostra o tempo medio por pagina (inclusive a contagem, igual nos dois) e os bytes alocados pela thread, que no H2
+ * incluem também o trabalho do banco.
+ * <p>
+ * Executar com {@code ./mvnw test -Pbenchmark}.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ContaListagemBenchmark {
+
+    private static final int CONTAS = 5_000;
+    private static final int TAMANHO_PAGINA = 100;
+    private static final int PAGINAS = 100;
+    private static final int RODADAS_AQUECIMENTO = 5;
+    private static final FiltroContas PENDENTES = FiltroContas.of(ContaSituacao.PENDENTE, null, null);
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        List<Conta> contas = new ArrayList<>(CONTAS);
+        for (int i = 0; i < CONTAS; i++) {
+            contas.add(Conta.builder()
+                    .descricao("Conta " + i)
+                    .dataVencimento(LocalDate.of(2020, 1, 1).plusDays(i % 365))
+                    .valor(BigDecimal.valueOf(i, 2))
+                    .situacao(ContaSituacao.PENDENTE)
+                    .build());
+        }
+        contaRepository.saveAll(contas);
+        contaRepository.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should measure listing by entities against the DTO projection")
+    void listar() {
+        medir("entidades + ContaMapper", pagina -> {
+            List<ViewContaDTO> dtos = contaRepository.findAll(ContaSpecifications.filtro(PENDENTES), pagina)
+                    .map(ContaMapper::toDto).getContent();
+            // o contexto de persistencia guarda as entidades lidas ate o fim da transação
+            entityManager.clear();
+            return dtos;
+        });
+        medir("projeção ViewContaDTO", pagina ->
+                contaRepository.findViewByFilters(PENDENTES, pagina).getContent());
+    }
+
+    private void medir(String cenario, Function<Pageable, List<ViewContaDTO>> leitura) {
+        Supplier<Integer> rodada = () -> {
+            int lidas = 0;
+            for (int i = 0; i < PAGINAS; i++) {
+                lidas += leitura.apply(PageRequest.of(i % (CONTAS / TAMANHO_PAGINA), TAMANHO_PAGINA,
+                        Sort.by("dataVencimento", "id"))).size();
+            }
+            return lidas;
+        };
+        for (int i = 0; i < RODADAS_AQUECIMENTO; i++) {
+            rodada.get();
+        }
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long alocadoAntes = threads.getThreadAllocatedBytes(thread);
+        long inicio = System.nanoTime();
+        int lidas = rodada.get();
+        long us = (System.nanoTime() - inicio) / 1_000 / PAGINAS;
+        long kb = (threads.getThreadAllocatedBytes(thread) - alocadoAntes) / 1024 / PAGINAS;
+        System.out.printf("[benchmark] %-25s %6d contas, %6d us/pagina, %6d KB alocados/pagina%n", cenario, lidas, us, kb);
+    }
+}
@@ -0,0 +1,76 @@
+package com.projeto.api.benchmark;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Latencia da busca por trecho da descrição ({@code lower(descricao) LIKE lower('%x%')}, como no
+ * {@code ContaRepository}) conforme o tamanho da tabela, sem indice (sequential scan) e com o GIN de trigramas da
+ * migração {@code V7}. Usa uma tabela propria, removida ao final.
+ * <p>
+ * Precisa de um PostgreSQL com a extensão {@code pg_trgm} disponivel, que o H2 dos testes não tem:
+ * {@code ./mvnw test -Pbenchmark -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/postgres
+ * -Dbenchmark.postgres.username=root -Dbenchmark.postgres.password=root}.
+ */
+class DescricaoTrigramBenchmark {
+
+    private static final int[] TAMANHOS = {10_000, 100_000, 1_000_000};
+    private static final int EXECUCOES = 20;
+    private static final String TRECHO = "LUZ 4242";
+
+    @Test
+    @DisplayName("Should measure the descricao search with a sequential scan against the trigram index")
+    void buscarPorDescricao() throws SQLException {
+        String url = System.getProperty("benchmark.postgres.url");
+        Assumptions.assumeTrue(url != null, "Informe -Dbenchmark.postgres.url para executar");
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("benchmark.postgres.username"), System.getProperty("benchmark.postgres.password"));
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            System.out.printf("%12s %18s %18s%n", "linhas", "sem indice (ms)", "trigramas (ms)");
+            for (int tamanho : TAMANHOS) {
+                statement.execute("DROP TABLE IF EXISTS contas_trgm_benchmark");
+                statement.execute("CREATE TABLE contas_trgm_benchmark (id BIGSERIAL PRIMARY KEY, descricao VARCHAR(255))");
+                statement.execute("INSERT INTO contas_trgm_benchmark (descricao) " +
+                        "SELECT 'Conta de ' || (ARRAY['luz','agua','gas','telefone'])[1 + i % 4] || ' ' || i || ' ' || md5(i::text) " +
+                        "FROM generate_series(1, " + tamanho + ") AS i");
+                statement.execute("ANALYZE contas_trgm_benchmark");
+                double semIndice = medianaMs(connection);
+                statement.execute("CREATE INDEX idx_contas_trgm_benchmark ON contas_trgm_benchmark " +
+                        "USING gin (lower(descricao) gin_trgm_ops)");
+                statement.execute("ANALYZE contas_trgm_benchmark");
+                double comIndice = medianaMs(connection);
+                System.out.printf("%12d %18.3f %18.3f%n", tamanho, semIndice, comIndice);
+            }
+            statement.execute("DROP TABLE contas_trgm_benchmark");
+        }
+    }
+
+    private static double medianaMs(Connection connection) throws SQLException {
+        long[] tempos = new long[EXECUCOES];
+        try (PreparedStatement busca = connection.prepareStatement(
+                "SELECT id, descricao FROM contas_trgm_benchmark WHERE lower(descricao) LIKE lower(?) LIMIT 20")) {
+            busca.setString(1, "%" + TRECHO + "%");
+            for (int i = 0; i < EXECUCOES; i++) {
+                long inicio = System.nanoTime();
+                try (ResultSet resultSet = busca.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getString(2);
+                    }
+                }
+                tempos[i] = System.nanoTime() - inicio;
+            }
+        }
+        Arrays.sort(tempos);
+        return tempos[EXECUCOES / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.projeto.api.benchmark;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.configs.ImportacaoConfig;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.service.CacheTotalPagoService;
+import com.projeto.api.service.ContaImportService;
+import com.projeto.api.service.ContagemContasService;
+import com.projeto.api.service.ContasDiarioService;
+import com.projeto.api.service.IndiceValorPagoService;
+import com.projeto.api.service.VersaoContasService;
+import com.projeto.api.service.importacao.EscritorContasCopy;
+import com.projeto.api.service.importacao.EscritorContasJpa;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede as idas ao banco (statements preparados) para gravar {@value #CONTAS} contas com a sequence em blocos
+ * de 50, comparando com o custo das {@value #CONTAS} chamadas de {@code nextval} que o allocationSize = 1 exigia.
+ * <p>
+ * Executar com {@code ./mvnw test -Pbenchmark}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ContaImportService.class, ContagemContasService.class, VersaoContasService.class, ContasDiarioService.class, IndiceValorPagoService.class, CacheTotalPagoService.class, BancoDados.class, EscritorContasJpa.class, EscritorContasCopy.class, ImportacaoConfig.class})
+@EnableConfigurationProperties(ApplicationProperties.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class IdAllocationBenchmark {
+
+    private static final int CONTAS = 10_000;
+
+    @Autowired
+    private ContaImportService contaImportService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should measure the streaming import with pooled sequence allocation")
+    void importarContas() throws Exception {
+        StringBuilder csv = new StringBuilder("descricao,dataVencimento,dataPagamento,valor,situacao\n");
+        for (int i = 0; i < CONTAS; i++) {
+            csv.append("Conta ").append(i).append(",20/02/2020,,").append(i).append(".50,\n");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "bench.csv", "text/csv", csv.toString().getBytes());
+
+        long inicio = System.nanoTime();
+        contaImportService.importarContas(file);
+        relatorio("importarContas (streaming)", inicio);
+    }
+
+    @Test
+    @DisplayName("Should measure the bulk save with pooled sequence allocation")
+    void cadastrarEmLote() {
+        List<Conta> contas = new ArrayList<>(CONTAS);
+        for (int i = 0; i < CONTAS; i++) {
+            contas.add(Conta.builder()
+                    .descricao("Conta " + i)
+                    .dataVencimento(LocalDate.of(2020, 2, 20))
+                    .valor(BigDecimal.valueOf(i))
+                    .situacao(ContaSituacao.PENDENTE)
+                    .build());
+        }
+
+        long inicio = System.nanoTime();
+        contaRepository.saveAll(contas);
+        contaRepository.flush();
+        relatorio("saveAll", inicio);
+    }
+
+    @Test
+    @DisplayName("Should measure the cost of nextval calls with allocationSize = 1")
+    void nextvalPorLinha() {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CONTAS; i++) {
+            jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR conta_id_seq", Long.class);
+        }
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        System.out.printf("[benchmark] %-30s %6d nextval extras, %5d ms%n", "allocationSize = 1", CONTAS, ms);
+    }
+
+    private void relatorio(String cenario, long inicio) {
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("[benchmark] %-30s %6d statements, %5d ms (allocationSize = 1 somaria %d nextval)%n",
+                cenario, statements, ms, CONTAS);
+        assertThat(statements).isLessThan(CONTAS / 10);
+    }
+}
@@ -0,0 +1,116 @@
+package com.projeto.api.configs;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.Role;
+import com.projeto.api.domain.Usuario;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache de segundo nivel com as regiões do {@code application.yml}, medido pelas metricas de cada região.
+ */
+@DataJpaTest(properties = "application.cache.habilitado=true")
+@ActiveProfiles("test")
+@Import(CacheConfig.class)
+@EnableConfigurationProperties(ApplicationProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheConfigTest {
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterBinder hibernateCacheMetrics;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private TransactionTemplate transacao;
+
+    @BeforeEach
+    void setup() {
+        hibernateCacheMetrics.bindTo(registry);
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should read the conta from the cache in another transaction and replace it on update")
+    void conta() {
+        Long id = transacao.execute(status -> contaRepository.save(Conta.builder()
+                .descricao("Conta de luz")
+                .dataVencimento(LocalDate.of(2024, 6, 10))
+                .valor(BigDecimal.TEN)
+                .situacao(ContaSituacao.PENDENTE)
+                .build()).getId());
+        double acertos = leituras("conta", "hit");
+        double faltas = leituras("conta", "miss");
+
+        transacao.executeWithoutResult(status -> contaRepository.findById(id).orElseThrow().setDescricao("Conta de água"));
+        Conta conta = transacao.execute(status -> contaRepository.findById(id).orElseThrow());
+
+        assertThat(conta.getDescricao()).isEqualTo("Conta de água");
+        assertThat(conta.getVersao()).isEqualTo(1L);
+        // a conta entrou no cache no insert e foi trocada no update: as duas leituras não foram ao banco
+        assertThat(leituras("conta", "hit")).isGreaterThan(acertos);
+        assertThat(leituras("conta", "miss")).isEqualTo(faltas);
+        assertThat(registry.get("cache.hit.ratio").tag("cache", "conta").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should load the authentication usuario and roles from the query cache from the second request on")
+    void usuarioPorUsername() {
+        transacao.executeWithoutResult(status -> {
+            Role role = new Role();
+            role.setName("ROLE_CACHE");
+            entityManager.persist(role);
+            Usuario usuario = new Usuario();
+            usuario.setUsername("cache");
+            usuario.setPassword("senha");
+            usuario.setRoles(List.of(role));
+            entityManager.persist(usuario);
+        });
+        double acertos = leituras("usuario-por-username", "hit");
+
+        Usuario primeira = transacao.execute(status -> usuarioRepository.findByUsernameFetchRoles("cache"));
+        Usuario segunda = transacao.execute(status -> usuarioRepository.findByUsernameFetchRoles("cache"));
+
+        assertThat(primeira.getRoles()).extracting(Role::getName).containsExactly("ROLE_CACHE");
+        assertThat(segunda.getRoles()).extracting(Role::getName).containsExactly("ROLE_CACHE");
+        assertThat(leituras("usuario-por-username", "hit")).isEqualTo(acertos + 1);
+    }
+
+    private double leituras(String regiao, String resultado) {
+        return registry.get("cache.gets").tag("cache", regiao).tag("result", resultado).functionCounter().count();
+    }
+}
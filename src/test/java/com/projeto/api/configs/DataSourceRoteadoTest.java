@@ -0,0 +1,170 @@
+package com.projeto.api.configs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primario e replica são dois bancos H2 em memoria, cada um com uma tabela {@code origem} que diz de qual deles a
+ * leitura veio.
+ */
+class DataSourceRoteadoTest {
+
+    private static final Duration ESPERA_APOS_FALHA = Duration.ofSeconds(30);
+
+    private final RelogioAjustavel relogio = new RelogioAjustavel();
+
+    private DataSource primario;
+    private DataSource replica;
+
+    @BeforeEach
+    void setup() {
+        primario = banco("primario");
+        replica = banco("replica");
+    }
+
+    @Test
+    @DisplayName("Should read readOnly transactions from the replica and send writes and non-transactional reads to the primary")
+    void roteamento() {
+        Roteamento roteamento = new Roteamento(replica, Duration.ZERO);
+
+        assertThat(roteamento.ler(true)).isEqualTo("replica");
+        assertThat(roteamento.ler(false)).isEqualTo("primario");
+        assertThat(roteamento.jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class)).isEqualTo("primario");
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while the replica is down and go back to the replica after the wait")
+    void replicaIndisponivel() {
+        AlternavelDataSource alternavel = new AlternavelDataSource(replica);
+        Roteamento roteamento = new Roteamento(alternavel, Duration.ZERO);
+        alternavel.disponivel = false;
+
+        assertThat(roteamento.ler(true)).isEqualTo("primario");
+
+        alternavel.disponivel = true;
+        assertThat(roteamento.ler(true)).isEqualTo("primario");
+        relogio.avancar(ESPERA_APOS_FALHA);
+        assertThat(roteamento.ler(true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should keep reads on the primary during the window after a write commits")
+    void leituraPropriasEscritas() {
+        Roteamento roteamento = new Roteamento(replica, Duration.ofSeconds(5));
+        assertThat(roteamento.ler(true)).isEqualTo("replica");
+
+        roteamento.transacao(false).executeWithoutResult(status ->
+                roteamento.jdbcTemplate.update("UPDATE origem SET nome = 'primario atualizado'"));
+
+        assertThat(roteamento.ler(true)).isEqualTo("primario atualizado");
+        relogio.avancar(Duration.ofSeconds(6));
+        assertThat(roteamento.ler(true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should not open the primary read window for a rolled back write")
+    void escritaDesfeita() {
+        Roteamento roteamento = new Roteamento(replica, Duration.ofSeconds(5));
+
+        roteamento.transacao(false).executeWithoutResult(status -> {
+            roteamento.jdbcTemplate.update("UPDATE origem SET nome = 'desfeito'");
+            status.setRollbackOnly();
+        });
+
+        assertThat(roteamento.ler(true)).isEqualTo("replica");
+    }
+
+    private static DataSource banco(String nome) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nome + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE origem (nome VARCHAR(50))");
+        jdbcTemplate.update("INSERT INTO origem (nome) VALUES (?)", nome);
+        return dataSource;
+    }
+
+    private class Roteamento {
+
+        private final DataSourceTransactionManager transactionManager;
+        private final JdbcTemplate jdbcTemplate;
+
+        Roteamento(DataSource replica, Duration janelaLeituraPropriasEscritas) {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(new DataSourceRoteado(primario, replica,
+                    ESPERA_APOS_FALHA, janelaLeituraPropriasEscritas, relogio));
+            this.transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+
+        TransactionTemplate transacao(boolean readOnly) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate;
+        }
+
+        String ler(boolean readOnly) {
+            return transacao(readOnly).execute(status ->
+                    jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class));
+        }
+    }
+
+    private static class AlternavelDataSource extends DelegatingDataSource {
+
+        private boolean disponivel = true;
+
+        AlternavelDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!disponivel) {
+                throw new SQLTransientConnectionException("replica fora do ar");
+            }
+            return super.getConnection();
+        }
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2024-06-10T12:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
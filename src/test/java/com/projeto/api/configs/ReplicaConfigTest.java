@@ -0,0 +1,89 @@
+package com.projeto.api.configs;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.repository.ContaRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JPA sobre o {@link DataSourceRoteado}, com o banco H2 do perfil de teste como primario e um segundo H2 como replica.
+ */
+@DataJpaTest(properties = {
+        "application.replica.habilitado=true",
+        "application.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "application.replica.username=sa",
+        "application.replica.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ReplicaConfig.class)
+@EnableConfigurationProperties(ApplicationProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaConfigTest {
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("dataSourceReplica")
+    private DataSource replica;
+
+    @BeforeEach
+    void setup() {
+        Flyway.configure().dataSource(replica).locations("classpath:db/migration/test").load().migrate();
+        new JdbcTemplate(replica).update("DELETE FROM contas");
+        contaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should show a conta saved on the primary in readOnly reads only once it reaches the replica")
+    void leituraPelaReplica() {
+        contaRepository.save(Conta.builder()
+                .descricao("Conta de luz")
+                .dataVencimento(LocalDate.of(2024, 6, 10))
+                .valor(BigDecimal.TEN)
+                .situacao(ContaSituacao.PENDENTE)
+                .build());
+        TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+        TransactionTemplate somenteLeitura = new TransactionTemplate(transactionManager);
+        somenteLeitura.setReadOnly(true);
+
+        assertThat(contarContas(escrita)).isEqualTo(1);
+        // os metodos de leitura do repositorio já são readOnly, mesmo fora de uma transação do serviço
+        assertThat(contaRepository.count()).isZero();
+        assertThat(contarContas(somenteLeitura)).isZero();
+
+        new JdbcTemplate(replica).update("INSERT INTO contas (id, data_vencimento, valor, descricao, situacao) "
+                + "VALUES (1, DATE '2024-06-10', 10, 'Conta de luz', 'PENDENTE')");
+        assertThat(contarContas(somenteLeitura)).isEqualTo(1);
+    }
+
+    private long contarContas(TransactionTemplate transactionTemplate) {
+        Long total = transactionTemplate.execute(status -> contaRepository.count());
+        return total;
+    }
+}
@@ -0,0 +1,51 @@
+package com.projeto.api.configs;
+
+import com.projeto.api.service.ContaImportJobService;
+import com.projeto.api.service.ContaImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(Propriedades.class, ImportacaoConfig.class, WebConfig.class)
+            .withBean(ContaImportService.class, () -> Mockito.mock(ContaImportService.class))
+            .withBean(ContaImportJobService.class)
+            .withPropertyValues("spring.task.execution.pool.core-size=2", "spring.task.execution.pool.max-size=4",
+                    "spring.task.execution.pool.queue-capacity=10");
+
+    @Test
+    @DisplayName("Should keep Boot's bounded applicationTaskExecutor as the only Executor and use it for MVC async")
+    void applicationTaskExecutor() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context.getBeansOfType(Executor.class))
+                    .containsOnlyKeys(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME);
+            ThreadPoolTaskExecutor executor = context.getBean(
+                    TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, ThreadPoolTaskExecutor.class);
+            assertThat(executor.getMaxPoolSize()).isEqualTo(4);
+            assertThat(executor.getQueueCapacity()).isEqualTo(10);
+
+            AsyncSupportConfigurer configurer = new AsyncSupportConfigurer();
+            context.getBean(WebConfig.class).configureAsyncSupport(configurer);
+            assertThat((Object) ReflectionTestUtils.invokeMethod(configurer, "getTaskExecutor")).isSameAs(executor);
+        });
+    }
+
+    @EnableConfigurationProperties(ApplicationProperties.class)
+    static class Propriedades {
+    }
+}
@@ -2,6 +2,9 @@ package com.projeto.api.repository;
 
 import com.projeto.api.domain.Conta;
 import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.CursorConta;
+import com.projeto.api.service.dto.FiltroContas;
+import com.projeto.api.web.rest.dto.ViewContaDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,12 +12,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -25,6 +32,9 @@ public class ContaRepositoryTest {
     @Autowired
     private ContaRepository contaRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Conta conta1;
     private Conta conta2;
     private Conta conta3;
@@ -79,6 +89,14 @@ public class ContaRepositoryTest {
         assertThat(newConta.getDescricao()).isEqualTo(CONTA_NOME);
         assertThat(BIG_DECIMAL_100.compareTo(newConta.getValor())).isEqualTo(0);
         assertThat(newConta.getDataVencimento()).isEqualTo(DATA);
+
+        // a versão começa em 0 e sobe a cada atualização
+        contaRepository.flush();
+        assertThat(contaRepository.findVersaoById(conta.getId())).contains(0L);
+        newConta.setDescricao(CONTA_NOME + " atualizada");
+        contaRepository.saveAndFlush(newConta);
+        assertThat(contaRepository.findVersaoById(conta.getId())).contains(1L);
+        assertThat(contaRepository.findVersaoById(-1L)).isEmpty();
     }
 
     @Test
@@ -90,7 +108,8 @@ public class ContaRepositoryTest {
         String descricao = "água";
 
         // when
-        Page<Conta> result = contaRepository.findByFilters(situacao, dateVencimento.toString(), descricao, PageRequest.of(0, 10));
+        Page<Conta> result = contaRepository.findAll(
+                ContaSpecifications.filtro(FiltroContas.of(situacao, dateVencimento, descricao)), PageRequest.of(0, 10));
 
         // then
         assertThat(result).isNotNull();
@@ -106,7 +125,8 @@ public class ContaRepositoryTest {
         String descricao = "luz";
 
         // when
-        Page<Conta> result = contaRepository.findByFilters(situacao, descricao, PageRequest.of(0, 10));
+        Page<Conta> result = contaRepository.findAll(
+                ContaSpecifications.filtro(FiltroContas.of(situacao, null, descricao)), PageRequest.of(0, 10));
 
         // then
         assertThat(result).isNotNull();
@@ -122,7 +142,8 @@ public class ContaRepositoryTest {
         String descricao = "inexistente";
 
         // when
-        Page<Conta> result = contaRepository.findByFilters(situacao, descricao, PageRequest.of(0, 10));
+        Page<Conta> result = contaRepository.findAll(
+                ContaSpecifications.filtro(FiltroContas.of(situacao, null, descricao)), PageRequest.of(0, 10));
 
         // then
         assertThat(result).isNotNull();
@@ -130,22 +151,162 @@ public class ContaRepositoryTest {
     }
 
     @Test
-    @DisplayName("Should find total valor by situacao and periodo")
-    public void findTotalValorBySituacaoAndPeriodo() {
+    @DisplayName("Should match descricao ignoring case")
+    public void findByFilters_ignorandoCaixa() {
+        // when
+        Page<Conta> result = contaRepository.findAll(
+                ContaSpecifications.filtro(FiltroContas.of(ContaSituacao.PENDENTE, null, "DE ÁGUA")), PageRequest.of(0, 10));
+
+        // then
+        assertThat(result.getContent()).containsExactly(conta1);
+    }
+
+    @Test
+    @DisplayName("Should stream accounts by filters in id order, any situacao when null")
+    public void streamByFilters() {
+        // when
+        List<Conta> todas;
+        try (Stream<Conta> stream = contaRepository.streamByFilters(FiltroContas.of(null, null, "Conta de"))) {
+            todas = stream.toList();
+        }
+        List<Conta> pendentes;
+        try (Stream<Conta> stream = contaRepository.streamByFilters(FiltroContas.of(ContaSituacao.PENDENTE, null, "Conta de"))) {
+            pendentes = stream.toList();
+        }
+
+        // then
+        assertThat(todas).containsExactly(conta1, conta2, conta3);
+        assertThat(pendentes).containsExactly(conta1, conta3);
+    }
+
+    @Test
+    @DisplayName("Should walk pending accounts by (dataVencimento, id) cursor, breaking ties by id")
+    public void findByFiltersKeyset() {
         // given
-        ContaSituacao situacao = ContaSituacao.PAGO;
-        LocalDate startDate = LocalDate.now().minusDays(1);
-        LocalDate endDate = LocalDate.now().plusDays(1);
-        conta1.setDataPagamento(startDate);
-        conta1.setSituacao(situacao);
-        conta2.setDataPagamento(endDate);
-        conta2.setSituacao(situacao);
-        contaRepository.saveAll(Arrays.asList(conta1, conta2));
+        Conta conta4 = new Conta();
+        conta4.setSituacao(ContaSituacao.PENDENTE);
+        conta4.setDescricao("Conta de gás");
+        conta4.setDataVencimento(conta1.getDataVencimento());
+        conta4.setValor(BigDecimal.valueOf(50.00));
+        contaRepository.save(conta4);
+        FiltroContas filtro = FiltroContas.of(ContaSituacao.PENDENTE, null, "Conta de");
+
+        // when
+        List<ViewContaDTO> primeira = contaRepository.findByFiltersKeyset(filtro, null, 2);
+        ViewContaDTO ultima = primeira.get(primeira.size() - 1);
+        List<ViewContaDTO> segunda = contaRepository.findByFiltersKeyset(filtro, CursorConta.depoisDe(ultima), 2);
+
+        // then
+        assertThat(primeira).extracting(ViewContaDTO::getId).containsExactly(conta1.getId(), conta4.getId());
+        assertThat(segunda).extracting(ViewContaDTO::getId).containsExactly(conta3.getId());
+    }
+
+    @Test
+    @DisplayName("Should project the page straight into the DTO with the same count as the entity page")
+    public void findViewByFilters() {
+        // given
+        PageRequest pageable = PageRequest.of(0, 1, Sort.by("dataVencimento"));
+
+        // when
+        Page<ViewContaDTO> page = contaRepository.findViewByFilters(
+                FiltroContas.of(ContaSituacao.PENDENTE, null, "conta DE"), pageable);
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).singleElement().satisfies(dto -> {
+            assertThat(dto.getId()).isEqualTo(conta1.getId());
+            assertThat(dto.getDescricao()).isEqualTo("Conta de água");
+            assertThat(dto.getValor()).isEqualByComparingTo(conta1.getValor());
+            assertThat(dto.getSituacao()).isEqualTo(ContaSituacao.PENDENTE);
+        });
+    }
+
+    @Test
+    @DisplayName("Should filter by ranges and several situacoes using only the given predicates")
+    public void findViewByFilters_intervalos() {
+        // given
+        conta2.setDataPagamento(LocalDate.now().minusDays(1));
+        contaRepository.save(conta2);
+        FiltroContas vencimentoEValor = FiltroContas.builder()
+                .situacoes(Set.of(ContaSituacao.PENDENTE, ContaSituacao.PAGO))
+                .vencimentoDe(LocalDate.now().minusDays(1))
+                .vencimentoAte(LocalDate.now().plusDays(1))
+                .valorMinimo(new BigDecimal("120"))
+                .build();
+        FiltroContas pagamento = FiltroContas.builder()
+                .pagamentoAte(LocalDate.now())
+                .build();
+        FiltroContas valorMaximo = FiltroContas.builder()
+                .situacoes(Set.of(ContaSituacao.PENDENTE))
+                .valorMaximo(new BigDecimal("150"))
+                .build();
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("id"));
+
+        // when / then
+        assertThat(contaRepository.findViewByFilters(vencimentoEValor, pageable))
+                .extracting(ViewContaDTO::getId).containsExactly(conta2.getId());
+        assertThat(contaRepository.findViewByFilters(pagamento, pageable))
+                .extracting(ViewContaDTO::getId).containsExactly(conta2.getId());
+        assertThat(contaRepository.findViewByFilters(valorMaximo, pageable))
+                .extracting(ViewContaDTO::getId).containsExactly(conta1.getId());
+        assertThat(contaRepository.countByFilters(FiltroContas.builder().build())).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should select the same contas with the SQL condition as with the specification")
+    public void sql_equivalenteAoFiltro() {
+        // given
+        conta2.setDataPagamento(LocalDate.now().minusDays(1));
+        contaRepository.saveAndFlush(conta2);
+        List<FiltroContas> filtros = List.of(
+                FiltroContas.builder().build(),
+                FiltroContas.of(ContaSituacao.PENDENTE, conta1.getDataVencimento(), "ÁGUA"),
+                FiltroContas.builder()
+                        .situacoes(Set.of(ContaSituacao.PENDENTE, ContaSituacao.PAGO))
+                        .vencimentoDe(LocalDate.now().minusDays(1))
+                        .vencimentoAte(LocalDate.now().plusDays(1))
+                        .valorMinimo(new BigDecimal("120"))
+                        .build(),
+                FiltroContas.builder().pagamentoDe(LocalDate.now().minusDays(1)).pagamentoAte(LocalDate.now()).build(),
+                FiltroContas.builder().valorMaximo(new BigDecimal("150")).descricao("conta").build());
+
+        // when / then
+        for (FiltroContas filtro : filtros) {
+            List<Object> parametros = new ArrayList<>();
+            String sql = "SELECT COUNT(*) FROM contas WHERE " + ContaSpecifications.sql(filtro, parametros);
+            assertThat(jdbcTemplate.queryForObject(sql, Long.class, parametros.toArray()))
+                    .as(filtro.toString())
+                    .isEqualTo(contaRepository.countByFilters(filtro));
+        }
+    }
+
+    @Test
+    @DisplayName("Should allocate ids in blocks of the sequence increment without colliding with another instance")
+    public void id_alocadoEmBlocos() {
+        // given: a sequence avança um bloco por nextval e outra instancia reservou o bloco seguinte
+        long incremento = jdbcTemplate.queryForObject(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'CONTA_ID_SEQ'", Long.class);
+        long blocoOutraInstancia = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR conta_id_seq", Long.class);
+
         // when
-        BigDecimal total = contaRepository.findTotalValorBySituacaoAndPeriodo(situacao, startDate, endDate);
+        List<Conta> contas = new ArrayList<>();
+        for (int i = 0; i < 2 * incremento; i++) {
+            Conta conta = new Conta();
+            conta.setSituacao(ContaSituacao.PENDENTE);
+            conta.setDescricao(CONTA_NOME + " " + i);
+            conta.setDataVencimento(DATA);
+            conta.setValor(BIG_DECIMAL_100);
+            contas.add(conta);
+        }
+        contaRepository.saveAllAndFlush(contas);
+        long proximoBloco = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR conta_id_seq", Long.class);
 
         // then
-        assertThat(total).isNotNull();
-        assertThat(total).isEqualByComparingTo(BigDecimal.valueOf(250.00)); // conta1 + conta3
+        assertThat(incremento).isEqualTo(50);
+        assertThat(contas).extracting(Conta::getId)
+                .doesNotHaveDuplicates()
+                .noneMatch(id -> id >= blocoOutraInstancia && id < blocoOutraInstancia + incremento);
+        // no maximo dois nextval para 100 contas: o resto do bloco atual e mais dois blocos
+        assertThat((proximoBloco - blocoOutraInstancia) / incremento - 1).isLessThanOrEqualTo(2);
     }
 }
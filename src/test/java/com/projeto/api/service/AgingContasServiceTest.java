@@ -0,0 +1,92 @@
+package com.projeto.api.service;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.service.dto.ContaEmAtraso;
+import com.projeto.api.service.dto.FaixaAtraso;
+import com.projeto.api.web.rest.dto.ViewAgingDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AgingContasService.class)
+class AgingContasServiceTest {
+
+    private static final LocalDate DATA_BASE = LocalDate.of(2024, 6, 30);
+
+    @Autowired
+    private AgingContasService agingContasService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @BeforeEach
+    void setup() {
+        // limites de cada faixa, uma conta a vencer e uma vencida mas paga, que ficam de fora
+        salvar("1.00", 0, ContaSituacao.PENDENTE);
+        salvar("2.00", 30, ContaSituacao.PENDENTE);
+        salvar("4.00", 31, ContaSituacao.PENDENTE);
+        salvar("8.00", 60, ContaSituacao.PENDENTE);
+        salvar("16.00", 90, ContaSituacao.PENDENTE);
+        salvar("32.00", 91, ContaSituacao.PENDENTE);
+        salvar("64.00", -1, ContaSituacao.PENDENTE);
+        salvar("128.00", 45, ContaSituacao.PAGO);
+        contaRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Should sum the overdue pending contas of every bucket in one query with all buckets present")
+    void resumo() {
+        ViewAgingDTO aging = agingContasService.resumo(DATA_BASE);
+
+        assertThat(aging.getFaixas()).extracting(ViewAgingDTO.Faixa::getFaixa).containsExactly(FaixaAtraso.values());
+        assertThat(aging.getFaixas()).extracting(faixa -> faixa.getValor().toPlainString())
+                .containsExactly("3.00", "12.00", "16.00", "32.00");
+        assertThat(aging.getFaixas()).extracting(ViewAgingDTO.Faixa::getQuantidade).containsExactly(2L, 2L, 1L, 1L);
+        assertThat(aging.getValorTotal()).isEqualByComparingTo("63.00");
+        assertThat(aging.getQuantidadeTotal()).isEqualTo(6);
+
+        ViewAgingDTO vazio = agingContasService.resumo(LocalDate.of(2000, 1, 1));
+        assertThat(vazio.getValorTotal()).isEqualByComparingTo("0");
+        assertThat(vazio.getFaixas()).allSatisfy(faixa -> assertThat(faixa.getQuantidade()).isZero());
+    }
+
+    @Test
+    @DisplayName("Should list the contas of a bucket, or all overdue ones, in dataVencimento order")
+    void contasEmAtraso() {
+        List<ContaEmAtraso> faixa = new ArrayList<>();
+        long entregues = agingContasService.contasEmAtraso(DATA_BASE, FaixaAtraso.DE_31_A_60, faixa::add);
+
+        assertThat(entregues).isEqualTo(2);
+        assertThat(faixa).extracting(ContaEmAtraso::diasAtraso).containsExactly(60L, 31L);
+        assertThat(faixa).extracting(ContaEmAtraso::faixa).containsOnly(FaixaAtraso.DE_31_A_60);
+
+        List<ContaEmAtraso> todas = new ArrayList<>();
+        agingContasService.contasEmAtraso(DATA_BASE, null, todas::add);
+        assertThat(todas).extracting(ContaEmAtraso::diasAtraso).containsExactly(91L, 90L, 60L, 31L, 30L, 0L);
+        assertThat(todas.get(0).faixa()).isEqualTo(FaixaAtraso.ACIMA_DE_90);
+    }
+
+    private void salvar(String valor, int diasAtraso, ContaSituacao situacao) {
+        contaRepository.save(Conta.builder()
+                .descricao("Conta de luz")
+                .dataVencimento(DATA_BASE.minusDays(diasAtraso))
+                .valor(new BigDecimal(valor))
+                .situacao(situacao)
+                .build());
+    }
+}
@@ -0,0 +1,112 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.LancamentoDiario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheTotalPagoServiceTest {
+
+    private static final LocalDate JANEIRO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FIM_JANEIRO = LocalDate.of(2024, 1, 31);
+    private static final LocalDate FEVEREIRO = LocalDate.of(2024, 2, 1);
+    private static final LocalDate FIM_FEVEREIRO = LocalDate.of(2024, 2, 29);
+
+    private CacheTotalPagoService cacheTotalPagoService;
+
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCacheTotalPago().setHabilitado(true);
+        cacheTotalPagoService = new CacheTotalPagoService(applicationProperties);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated period from the cache, even without paid contas")
+    void acerto() {
+        assertThat(obter(JANEIRO, FIM_JANEIRO, null)).isNull();
+        assertThat(obter(JANEIRO, FIM_JANEIRO, BigDecimal.ONE)).isNull();
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should evict only the periods containing the payment day when a paid conta is saved")
+    void descartePorDia() {
+        obter(JANEIRO, FIM_JANEIRO, BigDecimal.ONE);
+        obter(FEVEREIRO, FIM_FEVEREIRO, BigDecimal.TEN);
+
+        cacheTotalPagoService.registrar(List.of(
+                new LancamentoDiario(ContaSituacao.PAGO, LocalDate.of(2024, 2, 10), BigDecimal.ONE, 1),
+                new LancamentoDiario(ContaSituacao.PENDENTE, LocalDate.of(2024, 1, 10), BigDecimal.ONE, 1)));
+
+        assertThat(obter(JANEIRO, FIM_JANEIRO, BigDecimal.ZERO)).isEqualTo(BigDecimal.ONE);
+        assertThat(obter(FEVEREIRO, FIM_FEVEREIRO, BigDecimal.valueOf(11))).isEqualTo(BigDecimal.valueOf(11));
+        assertThat(consultas).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should run a single query for concurrent requests of the same period")
+    void consultaUnica() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<BigDecimal> primeira = CompletableFuture.supplyAsync(() ->
+                cacheTotalPagoService.obter(JANEIRO, FIM_JANEIRO, () -> {
+                    consultas.incrementAndGet();
+                    aguardar(liberar);
+                    return BigDecimal.TEN;
+                }));
+        while (consultas.get() == 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<BigDecimal> segunda = CompletableFuture.supplyAsync(() -> obter(JANEIRO, FIM_JANEIRO, BigDecimal.ONE));
+
+        liberar.countDown();
+
+        assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo(BigDecimal.TEN);
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isEqualTo(BigDecimal.TEN);
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should return but not cache a query running while a paid conta is saved")
+    void gravacaoDuranteConsulta() {
+        BigDecimal total = cacheTotalPagoService.obter(JANEIRO, FIM_JANEIRO, () -> {
+            consultas.incrementAndGet();
+            cacheTotalPagoService.registrar(List.of(
+                    new LancamentoDiario(ContaSituacao.PAGO, LocalDate.of(2023, 6, 1), BigDecimal.ONE, 1)));
+            return BigDecimal.ONE;
+        });
+
+        assertThat(total).isEqualTo(BigDecimal.ONE);
+        assertThat(obter(JANEIRO, FIM_JANEIRO, BigDecimal.TEN)).isEqualTo(BigDecimal.TEN);
+        assertThat(consultas).hasValue(2);
+    }
+
+    private BigDecimal obter(LocalDate dataInicial, LocalDate dataFinal, BigDecimal valor) {
+        return cacheTotalPagoService.obter(dataInicial, dataFinal, () -> {
+            consultas.incrementAndGet();
+            return valor;
+        });
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.projeto.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.configs.LocalDateDeserializer;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.web.rest.dto.ViewResultadoLoteDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Lote de 2 contas por bloco e no maximo 4 contas por requisição.
+ */
+@DataJpaTest(properties = {
+        "application.cadastro-lote.tamanho-lote=2",
+        "application.cadastro-lote.tamanho-maximo=4"
+})
+@ActiveProfiles("test")
+@Import({CadastroLoteContasService.class, LocalDateDeserializer.class, ContaService.class, ContagemContasService.class,
+        VersaoContasService.class, ContasDiarioService.class, IndiceValorPagoService.class, CacheTotalPagoService.class, BancoDados.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@EnableConfigurationProperties(ApplicationProperties.class)
+class CadastroLoteContasServiceTest {
+
+    @Autowired
+    private CadastroLoteContasService cadastroLoteContasService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ContasDiarioService contasDiarioService;
+
+    @Test
+    @DisplayName("Should save the valid contas of a JSON array in blocks and reject the others with their errors")
+    void arrayJson() throws IOException {
+        ViewResultadoLoteDTO resultado = cadastroLoteContasService.cadastrar(corpo("""
+                [
+                  {"dataVencimento": "13/06/2024", "valor": 100.00, "descricao": "Conta de água"},
+                  {"dataVencimento": "2024-06-14", "descricao": "Conta de luz"},
+                  {"dataVencimento": "ontem", "valor": 1.00, "descricao": "Data invalida"},
+                  {"id": 1, "dataVencimento": "15/06/2024", "valor": 30.00, "descricao": "Com id", "situacao": "PAGO"}
+                ]"""));
+
+        assertThat(resultado.getContasCriadas()).isEqualTo(1);
+        assertThat(resultado.getContasRecusadas()).isEqualTo(3);
+        assertThat(resultado.getItens()).extracting(ViewResultadoLoteDTO.Item::getIndice).containsExactly(0, 1, 2, 3);
+        assertThat(resultado.getItens().get(0).getErros()).isNull();
+        assertThat(resultado.getItens().get(1).getErros()).containsExactly("Campo valor é obrigatorio");
+        assertThat(resultado.getItens().get(2).getErros()).containsExactly("Campo dataVencimento invalido");
+        assertThat(resultado.getItens().get(3).getErros()).containsExactly("Uma nova conta não pode ter ID");
+
+        Conta conta = contaRepository.findById(resultado.getItens().get(0).getId()).orElseThrow();
+        assertThat(conta.getSituacao()).isEqualTo(ContaSituacao.PENDENTE);
+        assertThat(conta.getDataVencimento()).isEqualTo(LocalDate.of(2024, 6, 13));
+    }
+
+    @Test
+    @DisplayName("Should save NDJSON contas in blocks and post them to contas_diario")
+    void ndjson() throws IOException {
+        long antes = contaRepository.count();
+
+        ViewResultadoLoteDTO resultado = cadastroLoteContasService.cadastrar(corpo("""
+                {"dataVencimento": "01/07/2024", "dataPagamento": "01/07/2024", "valor": 10.00, "descricao": "Conta 1"}
+                {"dataVencimento": "02/07/2024", "dataPagamento": "02/07/2024", "valor": 20.00, "descricao": "Conta 2"}
+                {"dataVencimento": "03/07/2024", "dataPagamento": "03/07/2024", "valor": 30.00, "descricao": "Conta 3"}
+                """));
+
+        assertThat(resultado.getContasCriadas()).isEqualTo(3);
+        assertThat(resultado.getItens()).extracting(ViewResultadoLoteDTO.Item::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(contaRepository.count()).isEqualTo(antes + 3);
+        assertThat(contasDiarioService.totalPorPeriodo(ContaSituacao.PENDENTE, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 3)))
+                .isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    @DisplayName("Should reject a whole batch above the maximum or with malformed JSON without saving contas")
+    void loteRecusado() {
+        long antes = contaRepository.count();
+        String conta = "{\"dataVencimento\": \"01/07/2024\", \"valor\": 10.00, \"descricao\": \"Conta\"}\n";
+
+        assertThatThrownBy(() -> cadastroLoteContasService.cadastrar(corpo(conta.repeat(5))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Lote acima do maximo de 4 contas");
+        assertThatThrownBy(() -> cadastroLoteContasService.cadastrar(corpo("[" + conta + ", {\"valor\": ")))
+                .isInstanceOf(JsonProcessingException.class);
+        assertThat(contaRepository.count()).isEqualTo(antes);
+    }
+
+    private static InputStream corpo(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
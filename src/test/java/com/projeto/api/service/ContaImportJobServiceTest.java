@@ -0,0 +1,132 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.service.dto.JobImportacao;
+import com.projeto.api.service.dto.ProgressoImportacao;
+import com.projeto.api.service.dto.ResultadoImportacao;
+import com.projeto.api.service.dto.StatusImportacao;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+
+public class ContaImportJobServiceTest {
+
+    @Mock
+    private ContaImportService contaImportService;
+
+    private ContaImportJobService contaImportJobService;
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+            "descricao,dataVencimento,dataPagamento,valor,situacao\nConta 1,01/06/2023,,100,\n".getBytes());
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        contaImportJobService = new ContaImportJobService(contaImportService, new SyncTaskExecutor(), new ApplicationProperties());
+    }
+
+    @Test
+    @DisplayName("Should run submitted import and report progress")
+    void submeter() throws IOException, ImportCsvException {
+        // Given
+        AtomicReference<Path> arquivo = new AtomicReference<>();
+        Mockito.when(contaImportService.importarArquivo(any(Path.class), any(ProgressoImportacao.class)))
+                .thenAnswer(invocation -> {
+                    arquivo.set(invocation.getArgument(0));
+                    assertThat(arquivo.get()).hasBinaryContent(file.getBytes());
+                    ProgressoImportacao progresso = invocation.getArgument(1);
+                    progresso.atualizar(1, 1, 0, 0);
+                    return ResultadoImportacao.builder().linhasLidas(1).contasGravadas(1).build();
+                });
+
+        // When
+        JobImportacao job = contaImportJobService.submeter(file);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(StatusImportacao.CONCLUIDO);
+        assertThat(job.getProgresso().getContasGravadas()).isEqualTo(1);
+        assertThat(contaImportJobService.buscarPorId(job.getId())).contains(job);
+        assertThat(Files.exists(arquivo.get())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep error message when import fails")
+    void submeter_invalidCSV() throws IOException, ImportCsvException {
+        // Given
+        Mockito.when(contaImportService.importarArquivo(any(Path.class), any(ProgressoImportacao.class)))
+                .thenThrow(new ImportCsvException("Valor deve ser preenchido na linha 1"));
+
+        // When
+        JobImportacao job = contaImportJobService.submeter(file);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(StatusImportacao.ERRO);
+        assertThat(job.getMensagem()).isEqualTo("Valor deve ser preenchido na linha 1");
+    }
+
+    @Test
+    @DisplayName("Should not register import when executor queue is full")
+    void submeter_filaCheia() {
+        // Given
+        TaskExecutor cheio = task -> {
+            throw new TaskRejectedException("fila cheia");
+        };
+        contaImportJobService = new ContaImportJobService(contaImportService, cheio, new ApplicationProperties());
+
+        // When/Then
+        assertThatThrownBy(() -> contaImportJobService.submeter(file))
+                .isInstanceOf(TaskRejectedException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse files above the configured maximum size")
+    void submeter_arquivoGrande() {
+        // Given
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getImportacao().getArquivo().setTamanhoMaximo(DataSize.ofBytes(10));
+        contaImportJobService = new ContaImportJobService(contaImportService, new SyncTaskExecutor(), applicationProperties);
+
+        // When/Then
+        assertThatThrownBy(() -> contaImportJobService.submeter(file))
+                .isInstanceOf(ImportCsvException.class)
+                .hasMessage("Arquivo excede o tamanho maximo de 10B");
+        Mockito.verifyNoInteractions(contaImportService);
+    }
+
+    @Test
+    @DisplayName("Should evict finished imports after the retention period")
+    void removerExpirados() throws IOException, ImportCsvException {
+        // Given
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getImportacao().getAsync().setRetencao(Duration.ZERO);
+        contaImportJobService = new ContaImportJobService(contaImportService, new SyncTaskExecutor(), applicationProperties);
+        Mockito.when(contaImportService.importarArquivo(any(Path.class), any(ProgressoImportacao.class)))
+                .thenReturn(ResultadoImportacao.builder().build());
+        JobImportacao job = contaImportJobService.submeter(file);
+
+        // When
+        contaImportJobService.removerExpirados();
+
+        // Then
+        assertThat(contaImportJobService.buscarPorId(job.getId())).isEmpty();
+    }
+}
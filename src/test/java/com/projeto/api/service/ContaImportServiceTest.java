@@ -0,0 +1,226 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.configs.ImportacaoConfig;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.service.dto.ErroImportacao;
+import com.projeto.api.service.dto.MotorImportacao;
+import com.projeto.api.service.dto.ResultadoImportacao;
+import com.projeto.api.service.importacao.EscritorContasCopy;
+import com.projeto.api.service.importacao.EscritorContasJpa;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ContaImportService.class, ContagemContasService.class, VersaoContasService.class, ContasDiarioService.class, IndiceValorPagoService.class, CacheTotalPagoService.class, BancoDados.class, EscritorContasJpa.class, EscritorContasCopy.class, ImportacaoConfig.class})
+@EnableConfigurationProperties(ApplicationProperties.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class ContaImportServiceTest {
+
+    private static final String CABECALHO = "descricao,dataVencimento,dataPagamento,valor,situacao\n";
+
+    @Autowired
+    private ContaImportService contaImportService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ContasDiarioService contasDiarioService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @TempDir
+    Path diretorio;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties.getImportacao().setTamanhoLote(2);
+        applicationProperties.getImportacao().setMotor(MotorImportacao.JPA);
+        applicationProperties.getImportacao().getArquivo().setDiretorio(null);
+    }
+
+    @Test
+    @DisplayName("Should import Contas in batches")
+    void importarContas() throws IOException, ImportCsvException {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                (CABECALHO +
+                        "Conta 1,01/06/2023,,100,\n" +
+                        "Conta 2,02/06/2023,,200,\n" +
+                        "Conta 3,03/06/2023,03/06/2023,300,PAGO\n" +
+                        "Conta 4,04/06/2023,,400,PENDENTE\n" +
+                        "Conta 5,05/06/2023,,500,\n").getBytes());
+        long antes = contaRepository.count();
+
+        // When
+        ResultadoImportacao resultado = contaImportService.importarContas(file);
+
+        // Then
+        assertThat(resultado.getLinhasLidas()).isEqualTo(5);
+        assertThat(resultado.getContasGravadas()).isEqualTo(5);
+        assertThat(contaRepository.count()).isEqualTo(antes + 5);
+        assertThat(contasDiarioService.totalPorPeriodo(ContaSituacao.PAGO, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 30)))
+                .isEqualByComparingTo("300");
+    }
+
+    @Test
+    @DisplayName("Should skip rows imported by a previous upload")
+    void importarContas_reenvio() throws IOException, ImportCsvException {
+        // Given
+        String csv = CABECALHO +
+                "Reenvio 1,01/06/2023,,100,\n" +
+                "Reenvio 2,02/06/2023,,200,\n" +
+                "Reenvio 3,03/06/2023,,300,\n";
+        contaImportService.importarContas(new MockMultipartFile("file", "primeiro.csv", "text/csv", csv.getBytes()));
+        long antes = contaRepository.count();
+        MockMultipartFile reenvio = new MockMultipartFile("file", "reenvio.csv", "text/csv",
+                (csv + "Reenvio 4,04/06/2023,,400.00,\n" + "Reenvio 4,04/06/2023,,400,\n").getBytes());
+
+        // When
+        ResultadoImportacao resultado = contaImportService.importarContas(reenvio);
+
+        // Then
+        assertThat(resultado.getLinhasLidas()).isEqualTo(5);
+        assertThat(resultado.getContasGravadas()).isEqualTo(1);
+        assertThat(resultado.getContasIgnoradas()).isEqualTo(3);
+        assertThat(resultado.getContasDuplicadas()).isEqualTo(1);
+        assertThat(contaRepository.count()).isEqualTo(antes + 1);
+    }
+
+    @Test
+    @DisplayName("Should keep previous batches and report line when CSV is invalid")
+    void importarContas_invalidCSV() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                (CABECALHO +
+                        "Conta 1,01/06/2023,,100,\n" +
+                        "Conta 2,02/06/2023,,200,\n" +
+                        "Conta 3,2023-06-03,,300,\n").getBytes());
+        long antes = contaRepository.count();
+
+        // When/Then
+        assertThatThrownBy(() -> contaImportService.importarContas(file))
+                .isInstanceOf(ImportCsvException.class)
+                .hasMessageContaining("Formato de data Invalida na linha 3")
+                .hasMessageContaining("2 contas");
+        assertThat(contaRepository.count()).isEqualTo(antes + 2);
+    }
+
+    @Test
+    @DisplayName("Should import from a memory-mapped temp file and delete it afterwards")
+    void importarContasPorArquivo() throws IOException, ImportCsvException {
+        // Given
+        applicationProperties.getImportacao().getArquivo().setDiretorio(diretorio);
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                (CABECALHO +
+                        "Conta de água,01/06/2023,,100,\n" +
+                        "Manutenção,02/06/2023,,200,\n" +
+                        "Conta 3,03/06/2023,,300,\n").getBytes(StandardCharsets.UTF_8));
+        long antes = contaRepository.count();
+
+        // When
+        ResultadoImportacao resultado = contaImportService.importarContasPorArquivo(file);
+
+        // Then
+        assertThat(resultado.getContasGravadas()).isEqualTo(3);
+        assertThat(contaRepository.count()).isEqualTo(antes + 3);
+        assertThat(contaRepository.findAll()).extracting(Conta::getDescricao).contains("Conta de água", "Manutenção");
+        try (Stream<Path> temporarios = Files.list(diretorio)) {
+            assertThat(temporarios).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not UTF-8 when importing from disk")
+    void importarContasPorArquivo_invalidUtf8() {
+        // Given
+        applicationProperties.getImportacao().getArquivo().setDiretorio(diretorio);
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                (CABECALHO + "Manutenção,02/06/2023,,200,\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        // When/Then
+        assertThatThrownBy(() -> contaImportService.importarContasPorArquivo(file))
+                .isInstanceOf(ImportCsvException.class)
+                .hasMessageStartingWith("Arquivo com caracteres invalidos para UTF-8");
+    }
+
+    @Test
+    @DisplayName("Should report every invalid row and import only the valid ones")
+    void validarContas_importarValidas() throws IOException {
+        // Given
+        String csv = CABECALHO +
+                "Validacao 1,01/06/2023,,100,\n" +
+                "Validacao 2,2023-06-02,,200,\n" +
+                "Validacao 3,03/06/2023,,,\n" +
+                "Validacao 4,04/06/2023,,400,\n" +
+                "Validacao 5,05/06/2023,,abc,\n";
+        List<ErroImportacao> erros = new ArrayList<>();
+        long antes = contaRepository.count();
+
+        // When
+        ResultadoImportacao validacao = contaImportService.validarContas(
+                new ByteArrayInputStream(csv.getBytes()), false, erros::add);
+        long depoisValidacao = contaRepository.count();
+        ResultadoImportacao importacao = contaImportService.validarContas(
+                new ByteArrayInputStream(csv.getBytes()), true, erro -> {});
+
+        // Then
+        assertThat(erros).extracting(ErroImportacao::getLinha).containsExactly(2L, 3L, 5L);
+        assertThat(erros.get(0).getMensagem()).isEqualTo("Formato de data Invalida na linha 2");
+        assertThat(validacao.getLinhasLidas()).isEqualTo(5);
+        assertThat(validacao.getContasInvalidas()).isEqualTo(3);
+        assertThat(depoisValidacao).isEqualTo(antes);
+        assertThat(importacao.getContasGravadas()).isEqualTo(2);
+        assertThat(contaRepository.count()).isEqualTo(antes + 2);
+    }
+
+    @Test
+    @DisplayName("Should fall back to JPA batches when COPY is not supported")
+    void importarContas_copyFallback() throws IOException, ImportCsvException {
+        // Given
+        applicationProperties.getImportacao().setMotor(MotorImportacao.COPY);
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                (CABECALHO +
+                        "Conta 1,01/06/2023,,100,\n" +
+                        "Conta 2,02/06/2023,,200,\n" +
+                        "Conta 3,03/06/2023,,300,\n").getBytes());
+        long antes = contaRepository.count();
+
+        // When
+        ResultadoImportacao resultado = contaImportService.importarContas(file);
+
+        // Then
+        assertThat(resultado.getContasGravadas()).isEqualTo(3);
+        assertThat(contaRepository.count()).isEqualTo(antes + 3);
+    }
+}
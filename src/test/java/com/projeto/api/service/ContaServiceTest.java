@@ -1,8 +1,15 @@
 package com.projeto.api.service;
 
+import com.projeto.api.configs.ApplicationProperties;
 import com.projeto.api.domain.Conta;
 import com.projeto.api.domain.enumeration.ContaSituacao;
 import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.service.dto.CursorConta;
+import com.projeto.api.service.dto.FiltroContas;
+import com.projeto.api.service.dto.ModoTotal;
+import com.projeto.api.service.dto.ResultadoImportacao;
+import com.projeto.api.service.importacao.ImpressaoDigitalConta;
+import com.projeto.api.web.rest.dto.ViewContaDTO;
 import com.projeto.api.web.rest.exceptions.ImportCsvException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,15 +18,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -29,6 +42,24 @@ public class ContaServiceTest {
     @Mock
     private ContaRepository contaRepository;
 
+    @Mock
+    private ContagemContasService contagemContasService;
+
+    @Mock
+    private VersaoContasService versaoContasService;
+
+    @Mock
+    private ContasDiarioService contasDiarioService;
+
+    @Mock
+    private IndiceValorPagoService indiceValorPagoService;
+
+    @Mock
+    private CacheTotalPagoService cacheTotalPagoService;
+
+    @Spy
+    private ApplicationProperties applicationProperties = new ApplicationProperties();
+
     @InjectMocks
     private ContaService contaService;
 
@@ -71,6 +102,7 @@ public class ContaServiceTest {
         // Then
         assertThat(createdConta).isNotNull();
         assertThat(createdConta.getSituacao()).isEqualTo(ContaSituacao.PENDENTE);
+        Mockito.verify(versaoContasService).registrarAlteracao();
     }
 
     @Test
@@ -81,8 +113,10 @@ public class ContaServiceTest {
         LocalDate dataFinal = LocalDate.of(2023, 12, 31);
         BigDecimal expectedTotal = BigDecimal.valueOf(1000);
 
-        Mockito.when(contaRepository.findTotalValorBySituacaoAndPeriodo(ContaSituacao.PAGO, dataInicial, dataFinal))
+        Mockito.when(contasDiarioService.totalPorPeriodo(ContaSituacao.PAGO, dataInicial, dataFinal))
                 .thenReturn(expectedTotal);
+        Mockito.when(cacheTotalPagoService.obter(Mockito.eq(dataInicial), Mockito.eq(dataFinal), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<BigDecimal>>getArgument(2).get());
 
         // When
         BigDecimal totalPago = contaService.getTotalValorPagoPorPeriodo(dataInicial, dataFinal);
@@ -91,6 +125,24 @@ public class ContaServiceTest {
         assertThat(totalPago).isEqualTo(expectedTotal);
     }
 
+    @Test
+    @DisplayName("Should get total value paid by period from the in-memory index when it covers the period")
+    void getTotalValorPagoPorPeriodoPeloIndice() {
+        // Given
+        LocalDate dataInicial = LocalDate.of(2023, 1, 1);
+        LocalDate dataFinal = LocalDate.of(2023, 12, 31);
+
+        Mockito.when(indiceValorPagoService.atende(dataInicial, dataFinal)).thenReturn(true);
+        Mockito.when(indiceValorPagoService.total(dataInicial, dataFinal)).thenReturn(new BigDecimal("10.50"));
+
+        // When
+        BigDecimal totalPago = contaService.getTotalValorPagoPorPeriodo(dataInicial, dataFinal);
+
+        // Then
+        assertThat(totalPago).isEqualByComparingTo("10.50");
+        Mockito.verifyNoInteractions(contasDiarioService);
+    }
+
     @Test
     @DisplayName("Should update Conta successfully")
     void atualizarConta() {
@@ -113,28 +165,103 @@ public class ContaServiceTest {
         // Then
         assertThat(updatedConta).isPresent();
         assertThat(updatedConta.get().getDescricao()).isEqualTo(contaAtualizada.getDescricao());
+        Mockito.verify(versaoContasService).registrarAlteracao();
     }
 
     @Test
-    @DisplayName("Should paginate Contas with filters")
-    void buscaPaginada() {
+    @DisplayName("Should list only PENDENTE Contas unless situacoes are given")
+    void buscaPaginada_situacaoPadrao() {
         // Given
-        LocalDate dataVencimento = LocalDate.of(2023, 6, 1);
-        String descricao = "Conta";
-        ContaSituacao status = ContaSituacao.PENDENTE;
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Conta> pageMock = Mockito.mock(Page.class);
+        FiltroContas pagas = FiltroContas.builder()
+                .situacoes(Set.of(ContaSituacao.PAGO))
+                .pagamentoDe(LocalDate.of(2023, 6, 1))
+                .build();
+        Mockito.when(contaRepository.findViewByFilters(Mockito.any(), Mockito.eq(pageable))).thenReturn(Page.empty(pageable));
 
-        Mockito.when(contaRepository.findByFilters(status, dataVencimento.toString(), descricao, pageable))
-                .thenReturn(pageMock);
+        // When
+        contaService.buscaPaginada(FiltroContas.of(null, LocalDate.of(2023, 6, 1), "Conta"), pageable, ModoTotal.EXATO);
+        contaService.buscaPaginada(pagas, pageable, ModoTotal.EXATO);
+
+        // Then
+        Mockito.verify(contaRepository).findViewByFilters(
+                FiltroContas.of(ContaSituacao.PENDENTE, LocalDate.of(2023, 6, 1), "Conta"), pageable);
+        Mockito.verify(contaRepository).findViewByFilters(pagas, pageable);
+    }
+
+    @Test
+    @DisplayName("Should read a Slice without counting when no total is requested")
+    void buscaPaginada_semTotal() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<ViewContaDTO> slice = new SliceImpl<>(List.of(), pageable, false);
+        Mockito.when(contaRepository.findSliceByFilters(FiltroContas.of(ContaSituacao.PENDENTE, null, "Conta"), pageable))
+                .thenReturn(slice);
+
+        // When
+        Slice<ViewContaDTO> result = contaService.buscaPaginada(FiltroContas.of(null, null, "Conta"), pageable, ModoTotal.NENHUM);
+
+        // Then
+        assertThat(result).isSameAs(slice);
+        Mockito.verifyNoInteractions(contagemContasService);
+        Mockito.verify(contaRepository, Mockito.never()).findViewByFilters(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Should read the exact page through the DTO projection when the count cache is off")
+    void buscaPaginada_exato() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ViewContaDTO> page = new PageImpl<>(List.of(new ViewContaDTO()), pageable, 1);
+        Mockito.when(contaRepository.findViewByFilters(FiltroContas.of(ContaSituacao.PENDENTE, null, "Conta"), pageable))
+                .thenReturn(page);
 
         // When
-        Page<Conta> result = contaService.buscaPaginada(dataVencimento, descricao, status, pageable);
+        Slice<ViewContaDTO> result = contaService.buscaPaginada(FiltroContas.of(null, null, "Conta"), pageable, ModoTotal.EXATO);
 
         // Then
-        assertThat(result).isNotNull();
-        Mockito.verify(contaRepository, Mockito.times(1))
-                .findByFilters(status, dataVencimento.toString(), descricao, pageable);
+        assertThat(result).isSameAs(page);
+        Mockito.verify(contaRepository, Mockito.never()).findSliceByFilters(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Should never report an estimated total below the rows already read")
+    void buscaPaginada_estimado() {
+        // Given
+        Pageable pageable = PageRequest.of(3, 2);
+        List<ViewContaDTO> contas = List.of(new ViewContaDTO(), new ViewContaDTO());
+        FiltroContas pendentes = FiltroContas.of(ContaSituacao.PENDENTE, null, null);
+        Mockito.when(contaRepository.findSliceByFilters(pendentes, pageable))
+                .thenReturn(new SliceImpl<>(contas, pageable, true));
+        Mockito.when(contagemContasService.estimar(pendentes)).thenReturn(5L);
+
+        // When
+        Slice<ViewContaDTO> result = contaService.buscaPaginada(FiltroContas.builder().build(), pageable, ModoTotal.ESTIMADO);
+
+        // Then
+        assertThat(result).isInstanceOf(Page.class);
+        assertThat(((Page<ViewContaDTO>) result).getTotalElements()).isEqualTo(9);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra Conta to tell whether a next cursor page exists")
+    void buscaPorCursor() {
+        // Given
+        CursorConta depois = new CursorConta(LocalDate.of(2023, 6, 1), 7L);
+        List<ViewContaDTO> contas = List.of(
+                new ViewContaDTO(8L, LocalDate.of(2023, 6, 1), null, BigDecimal.TEN, "Conta 8", ContaSituacao.PENDENTE),
+                new ViewContaDTO(3L, LocalDate.of(2023, 6, 2), null, BigDecimal.TEN, "Conta 3", ContaSituacao.PENDENTE),
+                new ViewContaDTO(9L, LocalDate.of(2023, 6, 2), null, BigDecimal.TEN, "Conta 9", ContaSituacao.PENDENTE));
+        Mockito.when(contaRepository.findByFiltersKeyset(FiltroContas.of(ContaSituacao.PENDENTE, null, "Conta"), depois, 3))
+                .thenReturn(contas);
+
+        // When
+        Slice<ViewContaDTO> slice = contaService.buscaPorCursor(FiltroContas.of(null, null, "Conta"), depois, 2);
+
+        // Then
+        assertThat(slice.getContent()).containsExactly(contas.get(0), contas.get(1));
+        assertThat(slice.hasNext()).isTrue();
     }
 
     @Test
@@ -144,16 +271,63 @@ public class ContaServiceTest {
         MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
                 "descricao,valor,dataVencimento,dataPagamento,situacao\nConta 1,100,01/06/2023,,PENDENTE\n".getBytes());
 
-        Set<Conta> contasImportadas = new HashSet<>();
-        contasImportadas.add(new Conta(null, LocalDate.of(2023, 6, 1), null, BigDecimal.valueOf(100), "Conta 1", ContaSituacao.PENDENTE));
+        List<Conta> contasImportadas = List.of(new Conta(null, LocalDate.of(2023, 6, 1), null, BigDecimal.valueOf(100), "Conta 1", ContaSituacao.PENDENTE, null, null));
+
+        Mockito.when(contaRepository.saveAll(contasImportadas)).thenReturn(contasImportadas);
+
+        // When
+        ResultadoImportacao resultado = contaService.importarContas(file);
+
+        // Then
+        assertThat(resultado.getContasGravadas()).isEqualTo(contasImportadas.size());
+        assertThat(resultado.getContasIgnoradas()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop rows repeated in the same file")
+    void importarContas_repetidas() throws IOException, ImportCsvException {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                ("descricao,valor,dataVencimento,dataPagamento,situacao\n" +
+                        "Conta 1,100,01/06/2023,,PENDENTE\n" +
+                        "Conta 1,100.00,01/06/2023,,PENDENTE\n" +
+                        "Conta 2,200,02/06/2023,,PENDENTE\n" +
+                        "Conta 1,100,01/06/2023,,PENDENTE\n").getBytes());
+
+        Mockito.when(contaRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ResultadoImportacao resultado = contaService.importarContas(file);
+
+        // Then
+        assertThat(resultado.getLinhasLidas()).isEqualTo(4);
+        assertThat(resultado.getContasGravadas()).isEqualTo(2);
+        assertThat(resultado.getContasDuplicadas()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should skip rows already imported by a previous upload")
+    void importarContas_jaImportadas() throws IOException, ImportCsvException {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                ("descricao,valor,dataVencimento,dataPagamento,situacao\n" +
+                        "Conta 1,100,01/06/2023,,PENDENTE\n" +
+                        "Conta 2,200.00,02/06/2023,,PENDENTE\n").getBytes());
+
+        Conta jaImportada = new Conta(null, LocalDate.of(2023, 6, 2), null, new BigDecimal("200"), "Conta 2", ContaSituacao.PENDENTE, null, null);
+        Conta nova = new Conta(null, LocalDate.of(2023, 6, 1), null, BigDecimal.valueOf(100), "Conta 1", ContaSituacao.PENDENTE, null, null);
 
-        Mockito.when(contaRepository.saveAll(contasImportadas)).thenReturn(new ArrayList<>(contasImportadas));
+        Mockito.when(contaRepository.findImpressoesDigitaisExistentes(Mockito.anyCollection()))
+                .thenReturn(List.of(ImpressaoDigitalConta.calcular(jaImportada)));
+        Mockito.when(contaRepository.saveAll(List.of(nova))).thenReturn(List.of(nova));
 
         // When
-        Integer numContasImportadas = contaService.importarContas(file);
+        ResultadoImportacao resultado = contaService.importarContas(file);
 
         // Then
-        assertThat(numContasImportadas).isEqualTo(contasImportadas.size());
+        assertThat(resultado.getLinhasLidas()).isEqualTo(2);
+        assertThat(resultado.getContasGravadas()).isEqualTo(1);
+        assertThat(resultado.getContasIgnoradas()).isEqualTo(1);
     }
 
     @Test
@@ -183,4 +357,20 @@ public class ContaServiceTest {
                 .isInstanceOf(ImportCsvException.class)
                 .hasMessageContaining("Valor deve ser preenchido");
     }
+
+    @Test
+    @DisplayName("Should reject a file larger than the MEMORIA mode limit without saving")
+    void importarContas_acimaDoTamanhoMaximo() {
+        // Given
+        applicationProperties.getImportacao().setTamanhoMaximoMemoria(DataSize.ofBytes(10));
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                ("descricao,valor,dataVencimento,dataPagamento,situacao\n" +
+                        "Conta 1,100,01/06/2023,,PENDENTE\n").getBytes());
+
+        // When/Then
+        assertThatThrownBy(() -> contaService.importarContas(file))
+                .isInstanceOf(ImportCsvException.class)
+                .hasMessageContaining("tamanho maximo");
+        Mockito.verifyNoInteractions(contaRepository);
+    }
 }
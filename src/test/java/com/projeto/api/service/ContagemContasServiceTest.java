@@ -0,0 +1,95 @@
+package com.projeto.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.service.dto.FiltroContas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContagemContasServiceTest {
+
+    @Mock
+    private ContaRepository contaRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private BancoDados bancoDados;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private ContagemContasService contagemContasService;
+
+    private final FiltroContas filtro = FiltroContas.of(ContaSituacao.PENDENTE, LocalDate.of(2024, 6, 10), "luz");
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        applicationProperties.getListagem().getCacheContagem().setHabilitado(true);
+        contagemContasService = new ContagemContasService(contaRepository, jdbcTemplate, applicationProperties, bancoDados,
+                new ObjectMapper());
+        Mockito.when(contaRepository.countByFilters(filtro)).thenReturn(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should count once per filter until contas are written")
+    void contar_cache() {
+        // When
+        long primeira = contagemContasService.contar(filtro);
+        long segunda = contagemContasService.contar(filtro);
+        contagemContasService.invalidar();
+        long depoisDaGravacao = contagemContasService.contar(filtro);
+
+        // Then
+        assertThat(primeira).isEqualTo(3);
+        assertThat(segunda).isEqualTo(3);
+        assertThat(depoisDaGravacao).isEqualTo(4);
+        Mockito.verify(contaRepository, Mockito.times(2)).countByFilters(filtro);
+    }
+
+    @Test
+    @DisplayName("Should not cache a count that was running when contas were written")
+    void contar_gravacaoDuranteContagem() {
+        // Given
+        FiltroContas outroFiltro = FiltroContas.of(ContaSituacao.PAGO, null, null);
+        Mockito.when(contaRepository.countByFilters(outroFiltro)).thenAnswer(invocation -> {
+            contagemContasService.invalidar();
+            return 5L;
+        }).thenReturn(6L);
+
+        // When
+        long primeira = contagemContasService.contar(outroFiltro);
+        long segunda = contagemContasService.contar(outroFiltro);
+
+        // Then
+        assertThat(primeira).isEqualTo(5);
+        assertThat(segunda).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should count every time when the cache is disabled")
+    void contar_semCache() {
+        // Given
+        applicationProperties.getListagem().getCacheContagem().setHabilitado(false);
+
+        // When
+        contagemContasService.contar(filtro);
+        long segunda = contagemContasService.contar(filtro);
+
+        // Then
+        assertThat(segunda).isEqualTo(4);
+    }
+}
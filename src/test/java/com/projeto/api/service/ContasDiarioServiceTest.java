@@ -0,0 +1,97 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ContaService.class, ContagemContasService.class, VersaoContasService.class, ContasDiarioService.class, IndiceValorPagoService.class, CacheTotalPagoService.class, BancoDados.class})
+@EnableConfigurationProperties(ApplicationProperties.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ContasDiarioServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 3, 1);
+    private static final LocalDate FIM = LocalDate.of(2024, 3, 31);
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private ContasDiarioService contasDiarioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should move the paid total of the period on create and on situacao, valor and dataPagamento updates")
+    void lancamentos() {
+        Conta conta = contaService.cadastrarConta(Conta.builder()
+                .descricao("Conta de luz")
+                .dataVencimento(LocalDate.of(2024, 3, 1))
+                .dataPagamento(LocalDate.of(2024, 3, 5))
+                .valor(new BigDecimal("100.00"))
+                .build());
+        assertThat(contaService.getTotalValorPagoPorPeriodo(INICIO, FIM)).isNull();
+
+        contaService.atualizarConta(Conta.builder().id(conta.getId()).situacao(ContaSituacao.PAGO).build());
+        assertThat(contaService.getTotalValorPagoPorPeriodo(INICIO, FIM)).isEqualByComparingTo("100.00");
+
+        contaService.atualizarConta(Conta.builder().id(conta.getId()).valor(new BigDecimal("80.50")).build());
+        assertThat(contaService.getTotalValorPagoPorPeriodo(INICIO, FIM)).isEqualByComparingTo("80.50");
+
+        contaService.atualizarConta(Conta.builder().id(conta.getId()).dataPagamento(LocalDate.of(2024, 4, 2)).build());
+        assertThat(contaService.getTotalValorPagoPorPeriodo(INICIO, FIM)).isNull();
+        assertThat(contaService.getTotalValorPagoPorPeriodo(INICIO, LocalDate.of(2024, 4, 30))).isEqualByComparingTo("80.50");
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the contas, including the ones saved outside the application")
+    void reconstruir() {
+        Conta conta = contaService.cadastrarConta(Conta.builder()
+                .descricao("Conta de luz")
+                .dataVencimento(LocalDate.of(2024, 3, 1))
+                .dataPagamento(LocalDate.of(2024, 3, 5))
+                .valor(new BigDecimal("10.00"))
+                .build());
+        contaService.atualizarConta(Conta.builder().id(conta.getId()).situacao(ContaSituacao.PAGO).build());
+        contaService.cadastrarConta(Conta.builder()
+                .descricao("Conta de luz")
+                .dataVencimento(LocalDate.of(2024, 3, 1))
+                .dataPagamento(LocalDate.of(2024, 3, 5))
+                .valor(new BigDecimal("20.00"))
+                .build());
+        List<Map<String, Object>> incremental = resumo();
+        jdbcTemplate.update("INSERT INTO contas (id, data_vencimento, data_pagamento, valor, descricao, situacao, versao) "
+                + "VALUES (-1, DATE '2024-03-01', DATE '2024-03-06', 5.00, 'Fora da aplicação', 'PAGO', 0)");
+        assertThat(contaService.getTotalValorPagoPorPeriodo(INICIO, FIM)).isEqualByComparingTo("10.00");
+
+        contasDiarioService.reconstruir();
+
+        assertThat(contaService.getTotalValorPagoPorPeriodo(INICIO, FIM)).isEqualByComparingTo("15.00");
+        assertThat(resumo()).containsAll(incremental);
+    }
+
+    private List<Map<String, Object>> resumo() {
+        return jdbcTemplate.queryForList("SELECT situacao, data_pagamento, valor_total, quantidade FROM contas_diario "
+                + "WHERE quantidade > 0 ORDER BY situacao, data_pagamento");
+    }
+}
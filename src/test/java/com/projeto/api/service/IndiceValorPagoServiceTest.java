@@ -0,0 +1,113 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Indice ligado, cobrindo só 2024, com cada gravação em sua propria transação para que as variações cheguem ao
+ * indice no commit.
+ */
+@DataJpaTest(properties = {
+        "application.indice-valor-pago.habilitado=true",
+        "application.indice-valor-pago.inicio=2024-01-01",
+        "application.indice-valor-pago.fim=2024-12-31"
+})
+@ActiveProfiles("test")
+@Import({ContaService.class, ContagemContasService.class, VersaoContasService.class, ContasDiarioService.class, IndiceValorPagoService.class, CacheTotalPagoService.class, BancoDados.class})
+@EnableConfigurationProperties(ApplicationProperties.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IndiceValorPagoServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 5, 1);
+    private static final LocalDate FIM = LocalDate.of(2024, 5, 31);
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private ContasDiarioService contasDiarioService;
+
+    @Autowired
+    private IndiceValorPagoService indiceValorPagoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+
+    @BeforeEach
+    void setup() {
+        transacao = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM contas_diario");
+        jdbcTemplate.update("DELETE FROM contas");
+        indiceValorPagoService.carregar();
+    }
+
+    @Test
+    @DisplayName("Should follow committed creates and updates and ignore rolled back ones")
+    void lancamentos() {
+        Conta conta = contaService.cadastrarConta(Conta.builder()
+                .descricao("Conta de luz")
+                .dataVencimento(LocalDate.of(2024, 5, 1))
+                .dataPagamento(LocalDate.of(2024, 5, 5))
+                .valor(new BigDecimal("100.00"))
+                .build());
+        assertThat(indiceValorPagoService.atende(INICIO, FIM)).isTrue();
+        assertThat(indiceValorPagoService.total(INICIO, FIM)).isNull();
+
+        contaService.atualizarConta(Conta.builder().id(conta.getId()).situacao(ContaSituacao.PAGO).build());
+        assertThat(indiceValorPagoService.total(INICIO, FIM)).isEqualByComparingTo("100.00");
+
+        transacao.executeWithoutResult(status -> {
+            contaService.atualizarConta(Conta.builder().id(conta.getId()).valor(new BigDecimal("1.00")).build());
+            status.setRollbackOnly();
+        });
+        assertThat(indiceValorPagoService.total(INICIO, FIM)).isEqualByComparingTo("100.00");
+
+        contaService.atualizarConta(Conta.builder().id(conta.getId()).dataPagamento(LocalDate.of(2024, 6, 2)).build());
+        assertThat(indiceValorPagoService.total(INICIO, FIM)).isNull();
+        assertThat(contaService.getTotalValorPagoPorPeriodo(INICIO, LocalDate.of(2024, 6, 30)))
+                .isEqualByComparingTo("100.00")
+                .isEqualByComparingTo(contasDiarioService.totalPorPeriodo(ContaSituacao.PAGO, INICIO, LocalDate.of(2024, 6, 30)));
+    }
+
+    @Test
+    @DisplayName("Should read periods outside the index range from the database and reload the index on rebuild")
+    void foraDaFaixaEReconstrucao() {
+        jdbcTemplate.update("INSERT INTO contas (id, data_vencimento, data_pagamento, valor, descricao, situacao, versao) "
+                + "VALUES (-1, DATE '2024-05-01', DATE '2024-05-06', 5.00, 'Fora da aplicação', 'PAGO', 0)");
+        jdbcTemplate.update("INSERT INTO contas (id, data_vencimento, data_pagamento, valor, descricao, situacao, versao) "
+                + "VALUES (-2, DATE '2023-12-01', DATE '2023-12-31', 7.00, 'Fora da aplicação', 'PAGO', 0)");
+        contasDiarioService.reconstruir();
+
+        assertThat(indiceValorPagoService.total(INICIO, FIM)).isEqualByComparingTo("5.00");
+        assertThat(indiceValorPagoService.atende(LocalDate.of(2023, 12, 1), FIM)).isFalse();
+        assertThat(contaService.getTotalValorPagoPorPeriodo(LocalDate.of(2023, 12, 1), FIM)).isEqualByComparingTo("12.00");
+    }
+}
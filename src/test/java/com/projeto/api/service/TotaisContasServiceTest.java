@@ -0,0 +1,99 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.AgrupamentoPeriodo;
+import com.projeto.api.service.dto.DataReferencia;
+import com.projeto.api.web.rest.dto.ViewTotaisContasDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TotaisContasService.class, ContaService.class, ContagemContasService.class, VersaoContasService.class,
+        ContasDiarioService.class, IndiceValorPagoService.class, CacheTotalPagoService.class, BancoDados.class})
+@EnableConfigurationProperties(ApplicationProperties.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TotaisContasServiceTest {
+
+    @Autowired
+    private TotaisContasService totaisContasService;
+
+    @Autowired
+    private ContaService contaService;
+
+    @BeforeEach
+    void setup() {
+        cadastrar("10.00", LocalDate.of(2024, 1, 10), null, false);
+        cadastrar("20.00", LocalDate.of(2024, 1, 20), LocalDate.of(2024, 2, 5), true);
+        cadastrar("25.00", LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 11), true);
+        cadastrar("30.00", LocalDate.of(2024, 3, 4), null, false);
+        cadastrar("40.00", LocalDate.of(2024, 4, 1), LocalDate.of(2024, 2, 12), true);
+    }
+
+    @Test
+    @DisplayName("Should extend the period to whole months by dataVencimento with one series per situacao")
+    void vencimentoPorMes() {
+        ViewTotaisContasDTO totais = totaisContasService.totais(DataReferencia.VENCIMENTO, AgrupamentoPeriodo.MES,
+                LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 10));
+
+        assertThat(totais.getDataInicial()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(totais.getDataFinal()).isEqualTo(LocalDate.of(2024, 3, 31));
+        assertThat(totais.getPeriodos()).containsExactly(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1));
+        assertThat(totais.getSeries()).extracting(ViewTotaisContasDTO.Serie::getSituacao)
+                .containsExactly(ContaSituacao.PENDENTE, ContaSituacao.PAGO);
+        assertThat(totais.getSeries().get(0).getValores())
+                .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .containsExactly(new BigDecimal("10.00"), BigDecimal.ZERO, new BigDecimal("30.00"));
+        assertThat(totais.getSeries().get(0).getQuantidades()).containsExactly(1, 0, 1);
+        assertThat(totais.getSeries().get(1).getValores())
+                .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .containsExactly(new BigDecimal("20.00"), new BigDecimal("25.00"), BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should start weeks on Monday when grouping by dataPagamento and week")
+    void pagamentoPorSemana() {
+        ViewTotaisContasDTO totais = totaisContasService.totais(DataReferencia.PAGAMENTO, AgrupamentoPeriodo.SEMANA,
+                LocalDate.of(2024, 2, 7), LocalDate.of(2024, 2, 12));
+
+        assertThat(totais.getDataInicial()).isEqualTo(LocalDate.of(2024, 2, 5));
+        assertThat(totais.getDataFinal()).isEqualTo(LocalDate.of(2024, 2, 18));
+        assertThat(totais.getPeriodos()).containsExactly(LocalDate.of(2024, 2, 5), LocalDate.of(2024, 2, 12));
+        assertThat(totais.getSeries()).singleElement().satisfies(serie -> {
+            assertThat(serie.getSituacao()).isEqualTo(ContaSituacao.PAGO);
+            assertThat(serie.getValores())
+                    .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                    .containsExactly(new BigDecimal("45.00"), new BigDecimal("40.00"));
+            assertThat(serie.getQuantidades()).containsExactly(2, 1);
+        });
+    }
+
+    private void cadastrar(String valor, LocalDate dataVencimento, LocalDate dataPagamento, boolean pago) {
+        Conta conta = contaService.cadastrarConta(Conta.builder()
+                .descricao("Conta de luz")
+                .dataVencimento(dataVencimento)
+                .dataPagamento(dataPagamento)
+                .valor(new BigDecimal(valor))
+                .build());
+        if (pago) {
+            contaService.atualizarConta(Conta.builder().id(conta.getId()).situacao(ContaSituacao.PAGO).build());
+        }
+    }
+}
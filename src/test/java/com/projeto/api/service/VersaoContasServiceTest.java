@@ -0,0 +1,136 @@
+package com.projeto.api.service;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.repository.ContaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(VersaoContasService.class)
+@EnableConfigurationProperties(ApplicationProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VersaoContasServiceTest {
+
+    @Autowired
+    private VersaoContasService versaoContasService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should bump the version once per transaction, after commit")
+    void registrarAlteracao_umaVezPorTransacao() {
+        long inicial = versaoContasService.versaoAtual();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        transacao.executeWithoutResult(status -> {
+            contaRepository.save(novaConta("Conta de água"));
+            versaoContasService.registrarAlteracao();
+            contaRepository.save(novaConta("Conta de luz"));
+            versaoContasService.registrarAlteracao();
+            assertThat(versaoContasService.versaoAtual()).isEqualTo(inicial);
+        });
+
+        assertThat(versaoContasService.versaoAtual()).isEqualTo(inicial + 1);
+    }
+
+    @Test
+    @DisplayName("Should not bump the version for a rolled back transaction")
+    void registrarAlteracao_rollback() {
+        long inicial = versaoContasService.versaoAtual();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        transacao.executeWithoutResult(status -> {
+            contaRepository.save(novaConta("Conta de gás"));
+            versaoContasService.registrarAlteracao();
+            status.setRollbackOnly();
+        });
+
+        assertThat(versaoContasService.versaoAtual()).isEqualTo(inicial);
+    }
+
+    @Test
+    @DisplayName("Should bump the version immediately outside a transaction")
+    void registrarAlteracao_semTransacao() {
+        long inicial = versaoContasService.versaoAtual();
+
+        versaoContasService.registrarAlteracao();
+
+        assertThat(versaoContasService.versaoAtual()).isEqualTo(inicial + 1);
+    }
+
+    @Test
+    @DisplayName("Should advance the version by itself once the ETag validity expires")
+    void versaoAtual_validade() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getListagem().setValidadeEtag(Duration.ofMinutes(1));
+        RelogioAjustavel relogio = new RelogioAjustavel();
+        VersaoContasService versaoContas = new VersaoContasService(applicationProperties, relogio);
+        long inicial = versaoContas.versaoAtual();
+
+        relogio.avancar(Duration.ofSeconds(59));
+        assertThat(versaoContas.versaoAtual()).isEqualTo(inicial);
+
+        relogio.avancar(Duration.ofSeconds(1));
+        assertThat(versaoContas.versaoAtual()).isEqualTo(inicial + 1);
+        assertThat(versaoContas.versaoAtual()).isEqualTo(inicial + 1);
+    }
+
+    private static Conta novaConta(String descricao) {
+        return Conta.builder()
+                .descricao(descricao)
+                .dataVencimento(LocalDate.of(2024, 6, 10))
+                .valor(BigDecimal.TEN)
+                .situacao(ContaSituacao.PENDENTE)
+                .build();
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2024-06-10T12:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.projeto.api.service.exportacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.FormatoRelatorio;
+import com.projeto.api.service.importacao.LeitorContas;
+import com.projeto.api.service.importacao.LeitorContasNativo;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExportadorContasTest {
+
+    private final List<Conta> contas = List.of(
+            new Conta(1L, LocalDate.of(2020, 2, 20), null, new BigDecimal("100"), "Conta de água",
+                    ContaSituacao.PENDENTE, null, null),
+            new Conta(2L, LocalDate.of(2021, 3, 12), LocalDate.of(2021, 4, 12), new BigDecimal("22.50"),
+                    " IPVA, \"parcela\"\n C:\\temp", ContaSituacao.PAGO, null, null));
+
+    @Test
+    @DisplayName("Should write CSV that the importer reads back into the same contas")
+    void accept_csvIdaEVolta() throws IOException, ImportCsvException {
+        // When
+        String csv = exportar(FormatoRelatorio.CSV);
+
+        // Then
+        assertThat(csv).startsWith(ExportadorContas.CABECALHO + "Conta de água,20/02/2020,,100,PENDENTE\n");
+        List<Conta> importadas = new ArrayList<>();
+        try (LeitorContas leitor = new LeitorContasNativo(new StringReader(csv), 10, null)) {
+            List<Conta> lote;
+            while ((lote = leitor.proximoLote()) != null) {
+                importadas.addAll(lote);
+            }
+        }
+        assertThat(importadas).usingRecursiveFieldByFieldElementComparatorIgnoringFields("id")
+                .containsExactlyElementsOf(contas);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void accept_ndjson() throws IOException {
+        // When
+        String ndjson = exportar(FormatoRelatorio.NDJSON);
+
+        // Then
+        assertThat(ndjson.split("\n")).containsExactly(
+                "{\"id\":1,\"dataVencimento\":\"20/02/2020\",\"dataPagamento\":null,\"valor\":100," +
+                        "\"descricao\":\"Conta de água\",\"situacao\":\"PENDENTE\"}",
+                "{\"id\":2,\"dataVencimento\":\"12/03/2021\",\"dataPagamento\":\"12/04/2021\",\"valor\":22.50," +
+                        "\"descricao\":\" IPVA, \\\"parcela\\\"\\n C:\\\\temp\",\"situacao\":\"PAGO\"}");
+    }
+
+    private String exportar(FormatoRelatorio formato) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (ExportadorContas exportador = new ExportadorContas(saida, formato)) {
+            contas.forEach(exportador);
+            assertThat(exportador.getContas()).isEqualTo(contas.size());
+        }
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,52 @@
+package com.projeto.api.service.importacao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConjuntoImpressoesDigitaisTest {
+
+    @Test
+    @DisplayName("Should detect repeated fingerprints while growing")
+    void adicionar() {
+        // Given
+        ConjuntoImpressoesDigitais conjunto = new ConjuntoImpressoesDigitais(4);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] impressoes = new long[10_000];
+        for (int i = 0; i < impressoes.length; i++) {
+            impressoes[i] = random.nextLong();
+        }
+        impressoes[9_999] = 0L;
+
+        // When/Then
+        for (long impressao : impressoes) {
+            assertThat(conjunto.adicionar(impressao)).isTrue();
+        }
+        for (long impressao : impressoes) {
+            assertThat(conjunto.adicionar(impressao)).isFalse();
+        }
+        assertThat(conjunto.getTamanho()).isEqualTo(10_000);
+        assertThat(conjunto.isSaturado()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop storing new fingerprints when the memory cap is reached")
+    void adicionar_saturado() {
+        // Given
+        ConjuntoImpressoesDigitais conjunto = new ConjuntoImpressoesDigitais(16, 64 * Long.BYTES);
+
+        // When
+        for (long i = 1; i <= 100; i++) {
+            conjunto.adicionar(i * 31);
+        }
+
+        // Then
+        assertThat(conjunto.isSaturado()).isTrue();
+        assertThat(conjunto.getTamanho()).isEqualTo(48);
+        assertThat(conjunto.adicionar(31)).isFalse();
+        assertThat(conjunto.adicionar(100 * 31)).isTrue();
+    }
+}
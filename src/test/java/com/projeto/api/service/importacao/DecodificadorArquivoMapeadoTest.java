@@ -0,0 +1,77 @@
+package com.projeto.api.service.importacao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DecodificadorArquivoMapeadoTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Should decode multi-byte characters split across mapped windows")
+    void read_janelas() throws IOException {
+        // Given
+        String texto = "Conta de água 🚰, manutenção 100€\n".repeat(50);
+        Path arquivo = Files.writeString(diretorio.resolve("contas.csv"), texto, StandardCharsets.UTF_8);
+
+        // When
+        StringBuilder lido = new StringBuilder();
+        try (FileChannel canal = FileChannel.open(arquivo);
+             DecodificadorArquivoMapeado decodificador = new DecodificadorArquivoMapeado(canal, 7)) {
+            char[] buffer = new char[5];
+            int lidos;
+            while ((lidos = decodificador.read(buffer, 0, buffer.length)) >= 0) {
+                lido.append(buffer, 0, lidos);
+            }
+        }
+
+        // Then
+        assertThat(lido).hasToString(texto);
+    }
+
+    @Test
+    @DisplayName("Should deliver a surrogate pair one char at a time")
+    void read_umChar() throws IOException {
+        // Given
+        Path arquivo = Files.writeString(diretorio.resolve("contas.csv"), "a🚰b", StandardCharsets.UTF_8);
+
+        // When
+        StringBuilder lido = new StringBuilder();
+        try (FileChannel canal = FileChannel.open(arquivo);
+             DecodificadorArquivoMapeado decodificador = new DecodificadorArquivoMapeado(canal)) {
+            int c;
+            while ((c = decodificador.read()) >= 0) {
+                lido.append((char) c);
+            }
+        }
+
+        // Then
+        assertThat(lido).hasToString("a🚰b");
+    }
+
+    @Test
+    @DisplayName("Should reject bytes that are not UTF-8")
+    void read_invalido() throws IOException {
+        // Given
+        Path arquivo = Files.write(diretorio.resolve("contas.csv"), "Manutenção".getBytes(StandardCharsets.ISO_8859_1));
+
+        // When/Then
+        try (FileChannel canal = FileChannel.open(arquivo);
+             DecodificadorArquivoMapeado decodificador = new DecodificadorArquivoMapeado(canal)) {
+            assertThatThrownBy(() -> decodificador.read(new char[64], 0, 64))
+                    .isInstanceOf(MalformedInputException.class);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.BancoDados;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.CacheTotalPagoService;
+import com.projeto.api.service.ContasDiarioService;
+import com.projeto.api.service.IndiceValorPagoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * COPY contra um PostgreSQL de verdade, com as migrações de produção. Sem Docker o teste é ignorado.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({EscritorContasCopy.class, ContasDiarioService.class, IndiceValorPagoService.class, CacheTotalPagoService.class, BancoDados.class})
+@EnableConfigurationProperties(ApplicationProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EscritorContasCopyPostgresTest {
+
+    private static final LocalDate PAGAMENTO = LocalDate.of(2024, 5, 10);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private EscritorContasCopy escritorContasCopy;
+
+    @Autowired
+    private ContasDiarioService contasDiarioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM contas_diario");
+        jdbcTemplate.update("DELETE FROM contas");
+    }
+
+    @Test
+    @DisplayName("Should COPY a lote into contas with the column defaults and skip contas already imported")
+    void gravar() {
+        assertThat(escritorContasCopy.isSuportado()).isTrue();
+
+        assertThat(escritorContasCopy.gravar(List.of(conta("Conta de luz", "100.00"), conta("Conta de água", "50.00"))))
+                .isEqualTo(2);
+        assertThat(escritorContasCopy.gravar(List.of(conta("Conta de luz", "100.00"), conta("IPTU", "10.00"))))
+                .isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForList("SELECT versao FROM contas", Long.class)).hasSize(3).containsOnly(0L);
+        assertThat(contasDiarioService.totalPorPeriodo(ContaSituacao.PAGO, PAGAMENTO, PAGAMENTO))
+                .isEqualByComparingTo("160.00");
+    }
+
+    private static Conta conta(String descricao, String valor) {
+        return Conta.builder()
+                .descricao(descricao)
+                .dataVencimento(LocalDate.of(2024, 5, 1))
+                .dataPagamento(PAGAMENTO)
+                .valor(new BigDecimal(valor))
+                .situacao(ContaSituacao.PAGO)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EscritorContasCopyTest {
+
+    @Test
+    @DisplayName("Should write COPY csv line quoting descricao and leaving nulls empty")
+    void escreverLinha() throws IOException {
+        // Given
+        Conta conta = Conta.builder()
+                .dataVencimento(LocalDate.of(2021, 3, 12))
+                .valor(new BigDecimal("22.50"))
+                .descricao("IPVA, \"parcela\"")
+                .situacao(ContaSituacao.PENDENTE)
+                .impressaoDigital(-42L)
+                .build();
+        StringWriter writer = new StringWriter();
+
+        // When
+        EscritorContasCopy.escreverLinha(writer, 51L, conta);
+
+        // Then
+        assertThat(writer.toString()).isEqualTo("51,2021-03-12,,22.50,\"IPVA, \"\"parcela\"\"\",PENDENTE,-42\n");
+    }
+}
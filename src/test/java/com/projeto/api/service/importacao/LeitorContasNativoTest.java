@@ -0,0 +1,130 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LeitorContasNativoTest {
+
+    private static final String CABECALHO = "descricao,dataVencimento,dataPagamento,valor,situacao\n";
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should deliver batches in file order, across buffer refills")
+    void proximoLote_ordem() throws IOException, ImportCsvException {
+        // Given
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for (int i = 1; i <= 5000; i++) {
+            csv.append("Conta ").append(i).append(",01/06/2023,,").append(i).append(".5,\n");
+        }
+
+        // When
+        List<Conta> contas = lerTudo(csv.toString(), 700, pool);
+
+        // Then
+        assertThat(contas).hasSize(5000);
+        for (int i = 0; i < 5000; i++) {
+            assertThat(contas.get(i).getDescricao()).isEqualTo("Conta " + (i + 1));
+            assertThat(contas.get(i).getValor()).isEqualTo(new BigDecimal((i + 1) + ".5"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should parse the same fields as the opencsv mapping")
+    void proximoLote_campos() throws IOException, ImportCsvException {
+        // Given
+        String csv = "\uFEFFVALOR,situacao,descricao,dataVencimento,dataPagamento,extra\r\n" +
+                "\r\n" +
+                "22.50,pago,\"IPVA, \"\"parcela\"\"\n unica\",12/03/2021,12/04/2021,x\r\n" +
+                "  -100,,Conta de luz,31/04/2020,\n" +
+                "1E+2,PENDENTE,\"C:\\\\temp \\\"bkp\\\"\",29/02/2024,\n" +
+                "123456789012345678901.99,,,01/01/2024";
+
+        // When
+        List<Conta> contas = lerTudo(csv, 2, null);
+
+        // Then
+        assertThat(contas).hasSize(4);
+        assertThat(contas.get(0).getDescricao()).isEqualTo("IPVA, \"parcela\"\n unica");
+        assertThat(contas.get(0).getValor()).isEqualTo(new BigDecimal("22.50"));
+        assertThat(contas.get(0).getSituacao()).isEqualTo(ContaSituacao.PAGO);
+        assertThat(contas.get(0).getDataVencimento()).isEqualTo(LocalDate.of(2021, 3, 12));
+        assertThat(contas.get(0).getDataPagamento()).isEqualTo(LocalDate.of(2021, 4, 12));
+        assertThat(contas.get(1).getDescricao()).isEqualTo("Conta de luz");
+        assertThat(contas.get(1).getValor()).isEqualTo(new BigDecimal("-100"));
+        assertThat(contas.get(1).getSituacao()).isEqualTo(ContaSituacao.PENDENTE);
+        assertThat(contas.get(1).getDataVencimento()).isEqualTo(LocalDate.of(2020, 4, 30));
+        assertThat(contas.get(1).getDataPagamento()).isNull();
+        assertThat(contas.get(2).getDescricao()).isEqualTo("C:\\temp \"bkp\"");
+        assertThat(contas.get(2).getValor()).isEqualTo(new BigDecimal("1E+2"));
+        assertThat(contas.get(2).getDataVencimento()).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(contas.get(3).getDescricao()).isEmpty();
+        assertThat(contas.get(3).getValor()).isEqualTo(new BigDecimal("123456789012345678901.99"));
+    }
+
+    @Test
+    @DisplayName("Should report the exact line of the first invalid row")
+    void proximoLote_linhaInvalida() {
+        // Given
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for (int i = 1; i <= 50; i++) {
+            String valor = i == 37 || i == 45 ? "" : String.valueOf(i);
+            csv.append("Conta ").append(i).append(",01/06/2023,,").append(valor).append(",\n");
+            if (i == 20) {
+                csv.append("\n");
+            }
+        }
+
+        // When/Then
+        assertThatThrownBy(() -> lerTudo(csv.toString(), 5, pool))
+                .isInstanceOf(ImportCsvException.class)
+                .hasMessage("Valor deve ser preenchido na linha 37");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid dates, amounts and situations")
+    void proximoLote_camposInvalidos() {
+        assertThatThrownBy(() -> lerTudo(CABECALHO + "Conta 1,2023-06-01,,100,\n", 10, null))
+                .hasMessage("Formato de data Invalida na linha 1");
+        assertThatThrownBy(() -> lerTudo(CABECALHO + "Conta 1,32/01/2023,,100,\n", 10, null))
+                .hasMessage("Formato de data Invalida na linha 1");
+        assertThatThrownBy(() -> lerTudo(CABECALHO + "Conta 1,01/06/2023,,10a,\n", 10, null))
+                .hasMessage("Valor invalido na linha 1");
+        assertThatThrownBy(() -> lerTudo(CABECALHO + "Conta 1,01/06/2023,,100,VENCIDA\n", 10, null))
+                .hasMessage("Situacao invalida na linha 1");
+        assertThatThrownBy(() -> lerTudo(CABECALHO + "\"Conta 1,01/06/2023,,100,\n", 10, null))
+                .hasMessage("Linha mal formatada na linha 1");
+    }
+
+    private List<Conta> lerTudo(String csv, int tamanhoLote, ForkJoinPool pool) throws IOException, ImportCsvException {
+        List<Conta> contas = new ArrayList<>();
+        try (LeitorContas leitor = new LeitorContasNativo(new StringReader(csv), tamanhoLote, pool)) {
+            List<Conta> lote;
+            while ((lote = leitor.proximoLote()) != null) {
+                contas.addAll(lote);
+            }
+            assertThat(leitor.getLinhasLidas()).isEqualTo(contas.size());
+        }
+        return contas;
+    }
+}
@@ -0,0 +1,141 @@
+package com.projeto.api.service.importacao;
+
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.dto.ErroImportacao;
+import com.projeto.api.web.rest.exceptions.ImportCsvException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class LeitorContasOpenCsvTest {
+
+    private static final String CABECALHO = "descricao,dataVencimento,dataPagamento,valor,situacao\n";
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should deliver batches in file order")
+    void proximoLote_ordem() throws IOException, ImportCsvException {
+        // Given
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for (int i = 1; i <= 100; i++) {
+            csv.append("Conta ").append(i).append(",01/06/2023,,").append(i).append(",\n");
+        }
+
+        // When
+        List<Conta> contas = lerTudo(csv.toString(), 7);
+
+        // Then
+        assertThat(contas).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(contas.get(i).getDescricao()).isEqualTo("Conta " + (i + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should map columns by header name and keep quoted line breaks")
+    void proximoLote_cabecalhoEAspas() throws IOException, ImportCsvException {
+        // Given
+        String csv = "VALOR,situacao,descricao,dataVencimento,dataPagamento\n" +
+                "\n" +
+                "22.50,PAGO,\"IPVA, parcela\n unica\",12/03/2021,12/04/2021\n" +
+                "100,,Conta de luz,20/02/2020,\n";
+
+        // When
+        List<Conta> contas = lerTudo(csv, 1);
+
+        // Then
+        assertThat(contas).hasSize(2);
+        assertThat(contas.get(0).getDescricao()).isEqualTo("IPVA, parcela\n unica");
+        assertThat(contas.get(0).getValor()).isEqualByComparingTo(new BigDecimal("22.50"));
+        assertThat(contas.get(0).getSituacao()).isEqualTo(ContaSituacao.PAGO);
+        assertThat(contas.get(0).getDataPagamento()).isEqualTo(LocalDate.of(2021, 4, 12));
+        assertThat(contas.get(1).getSituacao()).isEqualTo(ContaSituacao.PENDENTE);
+    }
+
+    @Test
+    @DisplayName("Should report the exact line of the first invalid row")
+    void proximoLote_linhaInvalida() {
+        // Given
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for (int i = 1; i <= 50; i++) {
+            String valor = i == 37 || i == 45 ? "" : String.valueOf(i);
+            csv.append("Conta ").append(i).append(",01/06/2023,,").append(valor).append(",\n");
+        }
+
+        // When/Then
+        assertThatThrownBy(() -> lerTudo(csv.toString(), 5))
+                .isInstanceOf(ImportCsvException.class)
+                .hasMessage("Valor deve ser preenchido na linha 37");
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown situacao as an invalid row")
+    void proximoLote_situacaoInvalida() {
+        // Given
+        String csv = CABECALHO +
+                "Conta 1,01/06/2023,,10,PAGO\n" +
+                "Conta 2,01/06/2023,,20,QUITADA\n";
+
+        // When/Then
+        assertThatThrownBy(() -> lerTudo(csv, 5))
+                .isInstanceOf(ImportCsvException.class)
+                .hasMessage("Situacao invalida na linha 2");
+    }
+
+    @Test
+    @DisplayName("Should report an unknown situacao and keep reading when collecting errors")
+    void proximoLote_situacaoInvalidaColetada() throws IOException, ImportCsvException {
+        // Given
+        String csv = CABECALHO +
+                "Conta 1,01/06/2023,,10,PAGO\n" +
+                "Conta 2,01/06/2023,,20,QUITADA\n" +
+                "Conta 3,01/06/2023,,30,\n";
+        List<ErroImportacao> erros = new ArrayList<>();
+
+        // When
+        List<Conta> contas = new ArrayList<>();
+        try (LeitorContasOpenCsv leitor = new LeitorContasOpenCsv(new StringReader(csv), 5, pool)) {
+            leitor.coletarErros(erros::add);
+            List<Conta> lote;
+            while ((lote = leitor.proximoLote()) != null) {
+                contas.addAll(lote);
+            }
+        }
+
+        // Then
+        assertThat(contas).extracting(Conta::getDescricao).containsExactly("Conta 1", "Conta 3");
+        assertThat(erros).extracting(ErroImportacao::getLinha, ErroImportacao::getMensagem)
+                .containsExactly(tuple(2L, "Situacao invalida na linha 2"));
+    }
+
+    private List<Conta> lerTudo(String csv, int tamanhoLote) throws IOException, ImportCsvException {
+        List<Conta> contas = new ArrayList<>();
+        try (LeitorContas leitor = new LeitorContasOpenCsv(new StringReader(csv), tamanhoLote, pool)) {
+            List<Conta> lote;
+            while ((lote = leitor.proximoLote()) != null) {
+                contas.addAll(lote);
+            }
+            assertThat(leitor.getLinhasLidas()).isEqualTo(contas.size());
+        }
+        return contas;
+    }
+}
@@ -0,0 +1,59 @@
+package com.projeto.api.service.indice;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArvoreFenwickTest {
+
+    @Test
+    @DisplayName("Should match the direct sum for range sums before and after updates")
+    void intervalos() {
+        Random random = new Random(42);
+        long[] valores = new long[1000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = random.nextInt(100_000) - 20_000;
+        }
+        ArvoreFenwick fenwick = ArvoreFenwick.de(valores);
+
+        for (int rodada = 0; rodada < 2000; rodada++) {
+            int posicao = random.nextInt(valores.length);
+            long delta = random.nextInt(10_000) - 5_000;
+            valores[posicao] += delta;
+            fenwick.somar(posicao, delta);
+
+            int de = random.nextInt(valores.length);
+            int ate = de + random.nextInt(valores.length - de);
+            assertThat(fenwick.intervalo(de, ate)).isEqualTo(somaDireta(valores, de, ate));
+        }
+        assertThat(fenwick.tamanho()).isEqualTo(valores.length);
+        assertThat(fenwick.intervalo(0, valores.length - 1)).isEqualTo(somaDireta(valores, 0, valores.length - 1));
+    }
+
+    @Test
+    @DisplayName("Should build the same tree from updates as from the values")
+    void montagem() {
+        long[] valores = {5, 0, -3, 7, 11, 2, 0, 9};
+        ArvoreFenwick porAtualizacao = new ArvoreFenwick(valores.length);
+        for (int i = 0; i < valores.length; i++) {
+            porAtualizacao.somar(i, valores[i]);
+        }
+        ArvoreFenwick montada = ArvoreFenwick.de(valores);
+
+        for (int i = 0; i < valores.length; i++) {
+            assertThat(montada.prefixo(i)).isEqualTo(porAtualizacao.prefixo(i));
+        }
+        assertThat(montada.prefixo(-1)).isZero();
+    }
+
+    private static long somaDireta(long[] valores, int de, int ate) {
+        long soma = 0;
+        for (int i = de; i <= ate; i++) {
+            soma += valores[i];
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,116 @@
+package com.projeto.api.web.rest;
+
+import com.projeto.api.configs.ApplicationProperties;
+import com.projeto.api.configs.WebConfig;
+import com.projeto.api.domain.Conta;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.AgingContasService;
+import com.projeto.api.service.CadastroLoteContasService;
+import com.projeto.api.service.ContaImportJobService;
+import com.projeto.api.service.ContaImportService;
+import com.projeto.api.service.ContaService;
+import com.projeto.api.service.TotaisContasService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Respostas em streaming em um Tomcat de verdade, com o {@code application.yml} da aplicação. O timeout assincrono
+ * padrão do conector é reduzido para meio segundo, no lugar dos 30s, para que a exportação lenta o ultrapasse.
+ */
+@SpringBootTest(classes = {ContaResource.class, WebConfig.class, ContaResourceStreamingTest.TomcatAssincronoCurto.class},
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class,
+        TaskExecutionAutoConfiguration.class})
+@EnableConfigurationProperties(ApplicationProperties.class)
+class ContaResourceStreamingTest {
+
+    private static final long TIMEOUT_CONECTOR = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private ContaService contaService;
+
+    @MockBean
+    private ContaImportService contaImportService;
+
+    @MockBean
+    private ContaImportJobService contaImportJobService;
+
+    @MockBean
+    private TotaisContasService totaisContasService;
+
+    @MockBean
+    private AgingContasService agingContasService;
+
+    @MockBean
+    private CadastroLoteContasService cadastroLoteContasService;
+
+    @Test
+    @DisplayName("Should stream an export that takes longer than the servlet container's async timeout")
+    void exportar_semTimeout() throws Exception {
+        // Dados de entrada: cada conta demora mais que o timeout do conector
+        when(contaService.exportarContas(any(), any())).thenAnswer(invocation -> {
+            Consumer<Conta> destino = invocation.getArgument(1);
+            for (long id = 1; id <= 3; id++) {
+                Thread.sleep(TIMEOUT_CONECTOR);
+                destino.accept(Conta.builder()
+                        .id(id)
+                        .descricao("Conta " + id)
+                        .dataVencimento(LocalDate.of(2024, 6, 10))
+                        .valor(BigDecimal.TEN)
+                        .situacao(ContaSituacao.PENDENTE)
+                        .build());
+            }
+            return 3L;
+        });
+
+        // Execução do endpoint
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/conta/export?formato=CSV")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Verificações
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body().lines()).hasSize(4).last().asString().startsWith("Conta 3,");
+    }
+
+    @TestConfiguration
+    static class TomcatAssincronoCurto {
+
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> timeoutAssincrono() {
+            return factory -> factory.addConnectorCustomizers(connector -> connector.setAsyncTimeout(TIMEOUT_CONECTOR));
+        }
+    }
+}
@@ -1,9 +1,32 @@
 package com.projeto.api.web.rest;
 
+import com.projeto.api.configs.ApplicationProperties;
 import com.projeto.api.domain.Conta;
-import com.projeto.api.repository.ContaRepository;
+import com.projeto.api.domain.enumeration.ContaSituacao;
+import com.projeto.api.service.AgingContasService;
+import com.projeto.api.service.CadastroLoteContasService;
+import com.projeto.api.service.ContaImportJobService;
+import com.projeto.api.service.ContaImportService;
 import com.projeto.api.service.ContaService;
+import com.projeto.api.service.TotaisContasService;
+import com.projeto.api.service.dto.AgrupamentoPeriodo;
+import com.projeto.api.service.dto.ContaEmAtraso;
+import com.projeto.api.service.dto.CursorConta;
+import com.projeto.api.service.dto.DataReferencia;
+import com.projeto.api.service.dto.ErroImportacao;
+import com.projeto.api.service.dto.FaixaAtraso;
+import com.projeto.api.service.dto.FiltroContas;
+import com.projeto.api.service.dto.FormatoRelatorio;
+import com.projeto.api.service.dto.JobImportacao;
+import com.projeto.api.service.dto.ModoImportacao;
+import com.projeto.api.service.dto.ModoTotal;
+import com.projeto.api.service.dto.ResultadoImportacao;
+import com.projeto.api.web.rest.dto.FiltroContasDTO;
 import com.projeto.api.web.rest.dto.ManterContaDTO;
+import com.projeto.api.web.rest.dto.ViewContaDTO;
+import com.projeto.api.web.rest.dto.ViewJobImportacaoDTO;
+import com.projeto.api.web.rest.dto.ViewResultadoLoteDTO;
+import com.projeto.api.web.rest.dto.ViewTotaisContasDTO;
 import com.projeto.api.web.rest.dto.ViewValorTotalPeriodoDTO;
 import com.projeto.api.web.rest.dto.mapper.ContaMapper;
 import com.projeto.api.web.rest.exceptions.ImportCsvException;
@@ -13,21 +36,39 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ContaResourceTest {
@@ -39,7 +80,22 @@ class ContaResourceTest {
     private ContaService contaService;
 
     @Mock
-    private ContaRepository contaRepository;
+    private ContaImportService contaImportService;
+
+    @Mock
+    private ContaImportJobService contaImportJobService;
+
+    @Mock
+    private TotaisContasService totaisContasService;
+
+    @Mock
+    private AgingContasService agingContasService;
+
+    @Mock
+    private CadastroLoteContasService cadastroLoteContasService;
+
+    @Spy
+    private ApplicationProperties applicationProperties = new ApplicationProperties();
 
     @BeforeEach
     void setUp() {
@@ -83,6 +139,43 @@ class ContaResourceTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    @DisplayName("Should create contas in batch and return the result of each conta")
+    void cadastrarContas_success() throws IOException {
+        // Dados de entrada
+        InputStream corpo = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+        ViewResultadoLoteDTO resultado = ViewResultadoLoteDTO.builder()
+                .contasCriadas(1)
+                .contasRecusadas(1)
+                .itens(List.of(
+                        ViewResultadoLoteDTO.Item.builder().indice(0).id(7L).build(),
+                        ViewResultadoLoteDTO.Item.builder().indice(1).erros(List.of("Campo valor é obrigatorio")).build()))
+                .build();
+
+        // Mock do serviço
+        when(cadastroLoteContasService.cadastrar(corpo)).thenReturn(resultado);
+
+        // Execução do endpoint
+        ResponseEntity<ViewResultadoLoteDTO> response = contaResource.cadastrarContas(corpo);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(resultado);
+    }
+
+    @Test
+    @DisplayName("Should reject a batch above the maximum size")
+    void cadastrarContas_failure_loteAcimaDoMaximo() throws IOException {
+        // Mock do serviço
+        when(cadastroLoteContasService.cadastrar(any())).thenThrow(new IllegalArgumentException("Lote acima do maximo de 2 contas"));
+
+        // Execução do endpoint
+        ResponseEntity<ViewResultadoLoteDTO> response = contaResource.cadastrarContas(InputStream.nullInputStream());
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     @Test
     @DisplayName("Buscar conta por ID existente")
     void buscarPorId_success() {
@@ -95,7 +188,7 @@ class ContaResourceTest {
         when(contaService.buscarPorId(id)).thenReturn(Optional.of(conta));
 
         // Execução do endpoint
-        ResponseEntity<Conta> response = contaResource.buscarPorId(id);
+        ResponseEntity<Conta> response = contaResource.buscarPorId(id, null);
 
         // Verificações
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -113,13 +206,65 @@ class ContaResourceTest {
 
         // Execução do endpoint
         try {
-            contaResource.buscarPorId(id);
+            contaResource.buscarPorId(id, null);
         } catch (ResponseStatusException e) {
             // Verificações
             assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         }
     }
 
+    @Test
+    @DisplayName("Should return 304 without loading the conta when If-None-Match has the current version")
+    void buscarPorId_naoModificado() {
+        // Mock do serviço
+        when(contaService.buscarVersao(1L)).thenReturn(Optional.of(3L));
+
+        // Execução do endpoint
+        ResponseEntity<Conta> response = contaResource.buscarPorId(1L, "\"1-2\", W/\"1-3\"");
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-3\"");
+        assertThat(response.getBody()).isNull();
+        verify(contaService, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Should return the conta with the new ETag when it changed after the If-None-Match")
+    void buscarPorId_modificado() {
+        // Dados de entrada
+        Conta conta = new Conta();
+        conta.setId(1L);
+        conta.setVersao(4L);
+
+        // Mock do serviço
+        when(contaService.buscarVersao(1L)).thenReturn(Optional.of(4L));
+        when(contaService.buscarPorId(1L)).thenReturn(Optional.of(conta));
+
+        // Execução do endpoint
+        ResponseEntity<Conta> response = contaResource.buscarPorId(1L, "\"1-3\"");
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-4\"");
+        assertThat(response.getBody()).isEqualTo(conta);
+    }
+
+    @Test
+    @DisplayName("Should return 304 without fetching the page when If-None-Match has the current table version")
+    void buscaPaginada_naoModificado() {
+        // Mock do serviço
+        when(contaService.versaoContas()).thenReturn(7L);
+
+        // Execução do endpoint
+        ResponseEntity<List> response = contaResource.buscaPaginada(new FiltroContasDTO(), null, null, "\"contas-7\"", PageRequest.of(0, 20));
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"contas-7\"");
+        verify(contaService, never()).buscaPaginada(any(), any(), any());
+    }
+
     @Test
     @DisplayName("Buscar total valor pago por período")
     void getTotalValorPago() {
@@ -143,6 +288,42 @@ class ContaResourceTest {
         assertThat(response.getBody().getValorTotal()).isEqualTo(totalValor);
     }
 
+    @Test
+    @DisplayName("Should find totals grouped by period")
+    void getTotais() {
+        // Dados de entrada
+        LocalDate dataInicial = LocalDate.of(2024, 1, 15);
+        LocalDate dataFinal = LocalDate.of(2024, 3, 10);
+        ViewTotaisContasDTO totais = ViewTotaisContasDTO.builder()
+                .agrupamento(AgrupamentoPeriodo.MES)
+                .data(DataReferencia.VENCIMENTO)
+                .periodos(List.of(LocalDate.of(2024, 1, 1)))
+                .build();
+
+        // Mock do serviço
+        when(totaisContasService.totais(DataReferencia.VENCIMENTO, AgrupamentoPeriodo.MES, dataInicial, dataFinal)).thenReturn(totais);
+
+        // Execução do endpoint
+        ResponseEntity<ViewTotaisContasDTO> response = contaResource.getTotais(dataInicial, dataFinal,
+                AgrupamentoPeriodo.MES, DataReferencia.VENCIMENTO);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(totais);
+    }
+
+    @Test
+    @DisplayName("Should reject totals with the start date after the end date")
+    void getTotais_periodoInvalido() {
+        // Execução do endpoint
+        ResponseEntity<ViewTotaisContasDTO> response = contaResource.getTotais(LocalDate.of(2024, 3, 10),
+                LocalDate.of(2024, 1, 15), AgrupamentoPeriodo.DIA, DataReferencia.PAGAMENTO);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(totaisContasService, never()).totais(any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("Atualizar conta com sucesso")
     void atualizarConta_success() {
@@ -153,9 +334,6 @@ class ContaResourceTest {
 
         Conta conta = ContaMapper.fromDto(dto);
 
-        // Mock do repositório
-        when(contaRepository.existsById(id)).thenReturn(true);
-
         // Mock do serviço
         when(contaService.atualizarConta(any())).thenReturn(Optional.of(conta));
 
@@ -175,8 +353,8 @@ class ContaResourceTest {
         ManterContaDTO dto = new ManterContaDTO();
         dto.setId(id);
 
-        // Mock do repositório
-        when(contaRepository.existsById(id)).thenReturn(false);
+        // Mock do serviço
+        when(contaService.atualizarConta(any())).thenReturn(Optional.empty());
 
         // Execução do endpoint
 
@@ -192,14 +370,21 @@ class ContaResourceTest {
         MultipartFile file = mock(MultipartFile.class);
 
         // Mock do serviço
-        when(contaService.importarContas(file)).thenReturn(10); // Simula 10 contas importadas com sucesso
+        when(contaService.importarContas(file)).thenReturn(ResultadoImportacao.builder() // Simula 10 contas importadas com sucesso
+                .linhasLidas(12)
+                .contasGravadas(10)
+                .contasIgnoradas(1)
+                .contasDuplicadas(1)
+                .build());
 
         // Execução do endpoint
-        ResponseEntity<Integer> response = contaResource.importByCsv(file);
+        ResponseEntity<Integer> response = contaResource.importByCsv(file, null);
 
         // Verificações
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(10);
+        assertThat(response.getHeaders().getFirst("X-Contas-Ignoradas")).isEqualTo("1");
+        assertThat(response.getHeaders().getFirst("X-Contas-Duplicadas")).isEqualTo("1");
     }
 
     @Test
@@ -212,12 +397,273 @@ class ContaResourceTest {
         when(contaService.importarContas(file)).thenThrow(new ImportCsvException("Erro ao importar CSV"));
 
         // Execução do endpoint
-        ResponseEntity<Integer> response = contaResource.importByCsv(file);
+        ResponseEntity<Integer> response = contaResource.importByCsv(file, null);
 
         // Verificações
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    @DisplayName("Should import contas from CSV in streaming mode")
+    void importByCsv_streaming() throws IOException, ImportCsvException {
+        // Dados de entrada
+        MultipartFile file = mock(MultipartFile.class);
+
+        // Mock do serviço de importação
+        when(contaImportService.importarContas(file)).thenReturn(ResultadoImportacao.builder()
+                .linhasLidas(12)
+                .contasGravadas(12)
+                .build());
+
+        // Execução do endpoint
+        ResponseEntity<Integer> response = contaResource.importByCsv(file, ModoImportacao.STREAMING);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Should import with the mode configured in application.importacao.modo when none is given")
+    void importByCsv_modoConfigurado() throws IOException, ImportCsvException {
+        // Dados de entrada
+        MultipartFile file = mock(MultipartFile.class);
+        applicationProperties.getImportacao().setModo(ModoImportacao.STREAMING);
+
+        // Mock do serviço de importação
+        when(contaImportService.importarContas(file)).thenReturn(ResultadoImportacao.builder()
+                .linhasLidas(3)
+                .contasGravadas(3)
+                .build());
+
+        // Execução do endpoint
+        ResponseEntity<Integer> response = contaResource.importByCsv(file, null);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(3);
+        verify(contaService, never()).importarContas(any());
+    }
+
+    @Test
+    @DisplayName("Should validate the CSV and stream the error report as NDJSON")
+    void validarCsv_ndjson() throws IOException {
+        // Dados de entrada
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+
+        // Mock do serviço de importação
+        when(contaImportService.validarContas(any(InputStream.class), eq(false), any())).thenAnswer(invocation -> {
+            Consumer<ErroImportacao> erros = invocation.getArgument(2);
+            erros.accept(new ErroImportacao(3, "Valor deve ser preenchido na linha 3"));
+            erros.accept(new ErroImportacao(7, "Formato de data Invalida na linha 7"));
+            return ResultadoImportacao.builder().linhasLidas(10).contasInvalidas(2).build();
+        });
+
+        // Execução do endpoint
+        ResponseEntity<StreamingResponseBody> response = contaResource.validarCsv(file, FormatoRelatorio.NDJSON, false);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"linha\":3,\"mensagem\":\"Valor deve ser preenchido na linha 3\"}\n" +
+                "{\"linha\":7,\"mensagem\":\"Formato de data Invalida na linha 7\"}\n");
+    }
+
+    @Test
+    @DisplayName("Should import the valid lines and return the counts in headers with the error report")
+    void validarCsv_importar() throws IOException {
+        // Dados de entrada
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+
+        // Mock do serviço de importação
+        when(contaImportService.validarContas(any(InputStream.class), eq(true), any())).thenAnswer(invocation -> {
+            Consumer<ErroImportacao> erros = invocation.getArgument(2);
+            erros.accept(new ErroImportacao(3, "Valor deve ser preenchido na linha 3"));
+            return ResultadoImportacao.builder()
+                    .linhasLidas(10)
+                    .contasGravadas(7)
+                    .contasIgnoradas(1)
+                    .contasDuplicadas(1)
+                    .contasInvalidas(1)
+                    .build();
+        });
+
+        // Execução do endpoint
+        ResponseEntity<StreamingResponseBody> response = contaResource.validarCsv(file, FormatoRelatorio.CSV, true);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst("X-Contas-Gravadas")).isEqualTo("7");
+        assertThat(response.getHeaders().getFirst("X-Contas-Ignoradas")).isEqualTo("1");
+        assertThat(response.getHeaders().getFirst("X-Contas-Duplicadas")).isEqualTo("1");
+        assertThat(response.getHeaders().getFirst("X-Contas-Invalidas")).isEqualTo("1");
+        assertThat(body.toString(StandardCharsets.UTF_8))
+                .isEqualTo("linha,mensagem\n3,\"Valor deve ser preenchido na linha 3\"\n");
+    }
+
+    @Test
+    @DisplayName("Should list by cursor with a link to the next page")
+    void buscaPaginada_cursor() {
+        // Dados de entrada
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/conta/listar");
+        request.setQueryString("descricao=Conta&size=1&after=");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        ViewContaDTO conta = new ViewContaDTO(5L, LocalDate.of(2024, 6, 10), null, BigDecimal.TEN, "Conta", ContaSituacao.PENDENTE);
+
+        // Mock do serviço
+        FiltroContasDTO filtro = new FiltroContasDTO();
+        filtro.setDescricao("Conta");
+        when(contaService.buscaPorCursor(FiltroContas.of(null, null, "Conta"), null, 1))
+                .thenReturn(new SliceImpl<>(List.of(conta), PageRequest.of(0, 1), true));
+
+        // Execução do endpoint
+        ResponseEntity<List> response;
+        try {
+            response = contaResource.buscaPaginada(filtro, "", null, null, PageRequest.of(0, 1));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // Verificações
+        String proximo = new CursorConta(LocalDate.of(2024, 6, 10), 5L).codificar();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LINK))
+                .isEqualTo("<http://localhost/api/v1/conta/listar?descricao=Conta&size=1&after=" + proximo + ">; rel=\"next\"");
+        assertThat(CursorConta.decodificar(proximo)).isEqualTo(new CursorConta(LocalDate.of(2024, 6, 10), 5L));
+    }
+
+    @Test
+    @DisplayName("Should list without a total, with a next link and no last link")
+    void buscaPaginada_semTotal() {
+        // Dados de entrada
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/conta/listar");
+        request.setQueryString("total=NENHUM&page=0&size=1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        ViewContaDTO conta = new ViewContaDTO(5L, LocalDate.of(2024, 6, 10), null, BigDecimal.TEN, "Conta", ContaSituacao.PENDENTE);
+
+        // Mock do serviço
+        when(contaService.buscaPaginada(FiltroContas.builder().build(), PageRequest.of(0, 1), ModoTotal.NENHUM))
+                .thenReturn(new SliceImpl<>(List.of(conta), PageRequest.of(0, 1), true));
+
+        // Execução do endpoint
+        ResponseEntity<List> response;
+        try {
+            response = contaResource.buscaPaginada(new FiltroContasDTO(), null, ModoTotal.NENHUM, null, PageRequest.of(0, 1));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().containsKey("X-Total-Count")).isFalse();
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"contas-0\"");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LINK))
+                .contains("rel=\"next\"")
+                .contains("rel=\"first\"")
+                .doesNotContain("rel=\"last\"");
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid cursor")
+    void buscaPaginada_cursorInvalido() {
+        // Execução do endpoint
+        ResponseEntity<List> response = contaResource.buscaPaginada(new FiltroContasDTO(), "nao-e-um-cursor", null, null, PageRequest.of(0, 20));
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Should export contas as CSV in the import layout")
+    void exportar_csv() throws IOException {
+        // Mock do serviço
+        FiltroContasDTO filtro = new FiltroContasDTO();
+        filtro.setDescricao("luz");
+        when(contaService.exportarContas(eq(FiltroContas.of(null, null, "luz")), any())).thenAnswer(invocation -> {
+            Consumer<Conta> destino = invocation.getArgument(1);
+            destino.accept(new Conta(1L, LocalDate.of(2020, 2, 20), null, new BigDecimal("100"), "Conta de luz",
+                    ContaSituacao.PENDENTE, null, null));
+            return 1L;
+        });
+
+        // Execução do endpoint
+        ResponseEntity<StreamingResponseBody> response = contaResource.exportar(filtro, FormatoRelatorio.CSV);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("text/csv");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo("attachment; filename=\"contas.csv\"");
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "descricao,dataVencimento,dataPagamento,valor,situacao\n" +
+                "Conta de luz,20/02/2020,,100,PENDENTE\n");
+    }
+
+    @Test
+    @DisplayName("Should stream the contas of an aging bucket as NDJSON")
+    void agingContas_ndjson() throws IOException {
+        // Mock do serviço
+        LocalDate dataBase = LocalDate.of(2024, 3, 31);
+        when(agingContasService.contasEmAtraso(eq(dataBase), eq(FaixaAtraso.DE_31_A_60), any())).thenAnswer(invocation -> {
+            Consumer<ContaEmAtraso> destino = invocation.getArgument(2);
+            destino.accept(new ContaEmAtraso(7L, "Conta de luz", LocalDate.of(2024, 2, 15), new BigDecimal("80.10"),
+                    45, FaixaAtraso.DE_31_A_60));
+            return 1L;
+        });
+
+        // Execução do endpoint
+        ResponseEntity<StreamingResponseBody> response = contaResource.agingContas(dataBase, FaixaAtraso.DE_31_A_60);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":7,\"descricao\":\"Conta de luz\",\"dataVencimento\":\"15/02/2024\",\"valor\":80.10," +
+                "\"diasAtraso\":45,\"faixa\":\"DE_31_A_60\"}\n");
+    }
+
+    @Test
+    @DisplayName("Should submit an asynchronous CSV import")
+    void importByCsvAsync_success() throws IOException, URISyntaxException, ImportCsvException {
+        // Dados de entrada
+        MultipartFile file = mock(MultipartFile.class);
+        JobImportacao job = new JobImportacao("job-1");
+
+        // Mock do serviço de jobs
+        when(contaImportJobService.submeter(file)).thenReturn(job);
+
+        // Execução do endpoint
+        ResponseEntity<ViewJobImportacaoDTO> response = contaResource.importByCsvAsync(file);
+
+        // Verificações
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getHeaders().getLocation()).isEqualTo(new URI("/api/v1/conta/import/job-1"));
+        assertThat(response.getBody().getId()).isEqualTo("job-1");
+    }
+
+    @Test
+    @DisplayName("Should fail with not found for an unknown import")
+    void statusImportacao_failure_notFound() {
+        // Mock do serviço de jobs
+        when(contaImportJobService.buscarPorId("x")).thenReturn(Optional.empty());
+
+        // Execução do endpoint
+        assertThatThrownBy(() -> contaResource.statusImportacao("x"))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
     // Métodos auxiliares não testados diretamente via endpoints
 
 }
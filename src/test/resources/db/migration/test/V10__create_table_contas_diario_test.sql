@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS contas_diario (
+    situacao VARCHAR(50) NOT NULL,
+    data_pagamento DATE NOT NULL,
+    valor_total DECIMAL(38, 2) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    PRIMARY KEY (situacao, data_pagamento)
+);
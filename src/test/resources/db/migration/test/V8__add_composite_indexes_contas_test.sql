@@ -0,0 +1,3 @@
+-- O H2 não tem INCLUDE; o valor entra como ultima coluna do indice
+CREATE INDEX IF NOT EXISTS idx_contas_situacao_pagamento ON contas(situacao, data_pagamento, valor);
+CREATE INDEX IF NOT EXISTS idx_contas_situacao_valor ON contas(situacao, valor);
@@ -0,0 +1,7 @@
+ALTER TABLE contas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS contas_versao (
+    id INT PRIMARY KEY,
+    versao BIGINT NOT NULL
+);
+MERGE INTO contas_versao (id, versao) KEY (id) VALUES (1, 0);